@@ -0,0 +1,59 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.configuration.AuthorSuggestProperties;
+import com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto;
+import com.store.bookstore.search.AuthorSuggestIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead latency of the author suggestion index for prefixes of growing length. Names are built from random
+ * syllables, so short prefixes match a large part of the authors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class AuthorSuggestBenchmark {
+
+    private static final String[] SYLLABLES = {"an", "be", "ca", "do", "el", "fi", "go", "ha", "ir", "jo", "ka", "le",
+            "mo", "ni", "or", "pa", "ra", "si", "to", "ul", "va", "we", "xa", "yo", "zu"};
+
+    @Param({"1000000"})
+    private int authors;
+
+    @Param({"k", "kale", "kale mo"})
+    private String prefix;
+
+    private AuthorSuggestIndex authorSuggestIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        authorSuggestIndex = new AuthorSuggestIndex(new AuthorSuggestProperties());
+        for (int i = 0; i < authors; i++) {
+            authorSuggestIndex.put(new UUID(random.nextLong(), random.nextLong()), word(random, 2), word(random, 3),
+                    random.nextInt(50));
+        }
+    }
+
+    @Benchmark
+    public List<AuthorSuggestionResponseDto> suggest() {
+        return authorSuggestIndex.suggest(prefix, 10);
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.BookStoreApplication;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.response.BookBatchResponseDto;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.service.BookBatchService;
+import com.store.bookstore.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting books one request at a time through {@link BookService#createBook} versus one
+ * {@link BookBatchService#createBooks} call, against an in-memory H2 database in a booted application context.
+ * The books table is emptied before every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchIngestionBenchmark {
+
+    @Param({"1000"})
+    private int books;
+
+    private ConfigurableApplicationContext context;
+
+    private BookRepository bookRepository;
+    private BookService bookService;
+    private BookBatchService bookBatchService;
+
+    private List<BookCreateRequestDto> requests;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///batch",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=warn");
+
+        AuthorRepository authorRepository = context.getBean(AuthorRepository.class);
+        bookRepository = context.getBean(BookRepository.class);
+        bookService = context.getBean(BookService.class);
+        bookBatchService = context.getBean(BookBatchService.class);
+
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            authors.add(authorRepository.save(new Author(null, "Name" + i, "Surname" + i, null, null, null)));
+        }
+
+        requests = new ArrayList<>(books);
+        for (int i = 0; i < books; i++) {
+            String authorId = authors.get(i % authors.size()).getId().toString();
+            requests.add(new BookCreateRequestDto("Title " + i, "Description " + i, 100 + i % 900, authorId));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearBooks() {
+        bookRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int oneAtATime() {
+        for (BookCreateRequestDto request : requests) {
+            bookService.createBook(request);
+        }
+        return requests.size();
+    }
+
+    @Benchmark
+    public BookBatchResponseDto batch() {
+        return bookBatchService.createBooks(requests);
+    }
+}
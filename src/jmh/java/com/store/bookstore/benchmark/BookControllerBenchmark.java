@@ -0,0 +1,75 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.configuration.GlobalExceptionHandler;
+import com.store.bookstore.controller.BookController;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Full Spring MVC dispatch through {@link BookController}: handler mapping, argument resolution, the service,
+ * JSON serialization and exception handling, with in-memory repositories instead of Postgres and the response cache
+ * disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookControllerBenchmark {
+
+    private MockMvc mockMvc;
+    private String bookId;
+    private String missingBookId;
+
+    @Setup
+    public void setUp() {
+        List<Author> authors = CatalogFixtures.authors(1_000, 10);
+        List<Book> books = new ArrayList<>();
+        for (Author author : authors) {
+            books.addAll(author.getBooks());
+        }
+
+        BookService bookService = new BookService(InMemoryRepositories.authors(authors), new BookMapper(), InMemoryRepositories.books(books), null,
+                CatalogFixtures.disabledCache(), (event) -> { });
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookController(bookService, null, null))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        bookId = books.get(books.size() / 2).getId().toString();
+        missingBookId = new UUID(0, 0).toString();
+    }
+
+    @Benchmark
+    public MvcResult getBook() throws Exception {
+        return mockMvc.perform(get("/book/{id}", bookId)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getBookNotFound() throws Exception {
+        return mockMvc.perform(get("/book/{id}", missingBookId)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getBooksPage() throws Exception {
+        return mockMvc.perform(get("/books").param("limit", "100")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getFullBooksPage() throws Exception {
+        return mockMvc.perform(get("/books/full").param("limit", "100")).andReturn();
+    }
+}
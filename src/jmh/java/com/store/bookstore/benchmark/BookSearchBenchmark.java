@@ -0,0 +1,61 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.search.BookSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory search index. Titles and descriptions are drawn from a skewed vocabulary, so low
+ * term numbers are common (long posting lists) and high ones are rare.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BookSearchBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    @Param({"1000000"})
+    private int books;
+
+    @Param({"w40000", "w500", "w3 w12000", "w20 w300 w45000"})
+    private String query;
+
+    private BookSearchIndex bookSearchIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        bookSearchIndex = new BookSearchIndex();
+        StringBuilder text = new StringBuilder(512);
+        for (int i = 0; i < books; i++) {
+            bookSearchIndex.index(new UUID(random.nextLong(), random.nextLong()), words(random, text, 3), words(random, text, 40));
+        }
+    }
+
+    @Benchmark
+    public List<UUID> firstPage() {
+        return bookSearchIndex.search(query, 0, 20);
+    }
+
+    @Benchmark
+    public List<UUID> tenthPage() {
+        return bookSearchIndex.search(query, 180, 20);
+    }
+
+    private static String words(Random random, StringBuilder text, int count) {
+        text.setLength(0);
+        for (int i = 0; i < count; i++) {
+            double skew = random.nextDouble();
+            text.append('w').append((int) (skew * skew * skew * VOCABULARY)).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic in-memory catalog with realistic field sizes for the benchmarks.
+ */
+public final class CatalogFixtures {
+
+    private CatalogFixtures() {
+    }
+
+    public static List<Author> authors(int count, int booksPerAuthor) {
+        Random random = new Random(42);
+        List<Author> authors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Author author = new Author(new UUID(random.nextLong(), random.nextLong()), "Name" + i, "Surname" + i, null, null, null);
+            List<Book> books = new ArrayList<>(booksPerAuthor);
+            for (int j = 0; j < booksPerAuthor; j++) {
+                books.add(new Book(new UUID(random.nextLong(), random.nextLong()), "Title " + i + "-" + j,
+                        description(random), 100 + random.nextInt(900), author, null, null));
+            }
+            author.setBooks(books);
+            authors.add(author);
+        }
+        return authors;
+    }
+
+    public static CatalogCache disabledCache() {
+        CatalogCacheProperties properties = new CatalogCacheProperties();
+        properties.setMaximumSize(0);
+        return new CatalogCache(properties, new TransactionTemplate(new NoTransactionManager()));
+    }
+
+    private static String description(Random random) {
+        StringBuilder description = new StringBuilder(400);
+        while (description.length() < 400) {
+            description.append("word").append(random.nextInt(10_000)).append(' ');
+        }
+        return description.toString();
+    }
+
+    /**
+     * The in-memory repositories need no transaction, so beginning and ending one does nothing.
+     */
+    private static final class NoTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.configuration.GlobalExceptionHandler;
+import com.store.bookstore.exception.EntityNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error body construction in {@link GlobalExceptionHandler}, including creating the exception itself since every
+ * 404 pays for the stack trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private EntityNotFoundException exception;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/book/00000000-0000-0000-0000-000000000000"));
+        exception = new EntityNotFoundException("Book not found with ID: 00000000-0000-0000-0000-000000000000");
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> errorBody() {
+        return handler.handleEntityNotFoundException(exception, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> throwAndHandle() {
+        return handler.handleEntityNotFoundException(new EntityNotFoundException("Book not found with ID: 00000000-0000-0000-0000-000000000000"), request);
+    }
+}
@@ -0,0 +1,170 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.dto.version.RowVersionDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Repository stubs backed by a sorted map, so benchmarks measure the service and web layers without a database.
+ * Only the query methods the services call are implemented; anything else throws. The {@code find*Response*}
+ * projection queries return the stored entities mapped to their response DTOs, and the {@code find*Version*} queries
+ * their row versions, one per related row for the full views.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static BookRepository books(Collection<Book> books) {
+        return create(BookRepository.class, books, Book::getId, Book::setId, new BookMapper()::toResponseDto,
+                InMemoryRepositories::fullVersions);
+    }
+
+    public static AuthorRepository authors(Collection<Author> authors) {
+        return create(AuthorRepository.class, authors, Author::getId, Author::setId, new AuthorMapper(new BookMapper())::toResponseDto,
+                InMemoryRepositories::fullVersions);
+    }
+
+    private static List<RowVersionDto> fullVersions(Book book) {
+        Author author = book.getAuthor();
+        if (author == null) {
+            return List.of(new RowVersionDto(book.getId().toString(), book.getVersion(), book.getUpdatedAt()));
+        }
+        return List.of(new RowVersionDto(book.getId().toString(), book.getVersion(), book.getUpdatedAt(),
+                author.getId().toString(), author.getVersion(), author.getUpdatedAt()));
+    }
+
+    private static List<RowVersionDto> fullVersions(Author author) {
+        if (author.getBooks() == null || author.getBooks().isEmpty()) {
+            return List.of(new RowVersionDto(author.getId().toString(), author.getVersion(), author.getUpdatedAt()));
+        }
+        return author.getBooks().stream()
+                .sorted(Comparator.comparing(Book::getId))
+                .map((book) -> new RowVersionDto(author.getId().toString(), author.getVersion(), author.getUpdatedAt(),
+                        book.getId().toString(), book.getVersion(), book.getUpdatedAt()))
+                .toList();
+    }
+
+    private static <R, E> R create(Class<R> repositoryType, Collection<E> entities, Function<E, UUID> idOf, IdSetter<E> setId,
+                                  Function<E, ?> toResponse, Function<E, List<RowVersionDto>> toVersions) {
+        NavigableMap<UUID, E> store = new TreeMap<>();
+        for (E entity : entities) {
+            store.put(idOf.apply(entity), entity);
+        }
+        InvocationHandler handler = new StoreHandler<>(store, idOf, setId, toResponse, toVersions);
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler));
+    }
+
+    private interface IdSetter<E> {
+        void set(E entity, UUID id);
+    }
+
+    private record StoreHandler<E>(NavigableMap<UUID, E> store, Function<E, UUID> idOf, IdSetter<E> setId,
+                                  Function<E, ?> toResponse, Function<E, List<RowVersionDto>> toVersions)
+            implements InvocationHandler {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            switch (name) {
+                case "toString":
+                    return "InMemoryRepository" + store.keySet();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "count":
+                    return (long) store.size();
+                case "existsById":
+                    return store.containsKey((UUID) args[0]);
+                case "save":
+                    E entity = (E) args[0];
+                    if (idOf.apply(entity) == null) {
+                        setId.set(entity, UUID.randomUUID());
+                    }
+                    store.put(idOf.apply(entity), entity);
+                    return entity;
+                case "deleteById":
+                    store.remove((UUID) args[0]);
+                    return null;
+                default:
+                    break;
+            }
+
+            if (name.startsWith("exists")) {
+                return false;
+            }
+            if (name.startsWith("findResponse")) {
+                Object result = find(name, args);
+                if (result instanceof Optional<?> found) {
+                    return found.map((entity) -> toResponse.apply((E) entity));
+                }
+                return ((List<E>) result).stream().map(toResponse).toList();
+            }
+            if (name.contains("Version")) {
+                Object result = find(name, args);
+                List<E> found = result instanceof Optional<?> single ? ((Optional<E>) single).stream().toList() : (List<E>) result;
+                Function<E, List<RowVersionDto>> rows = name.contains("FullVersion")
+                        ? toVersions
+                        : (entity) -> toVersions.apply(entity).stream()
+                                .limit(1)
+                                .map((row) -> new RowVersionDto(row.getId(), row.getVersion(), row.getUpdatedAt()))
+                                .toList();
+                List<RowVersionDto> versions = found.stream().flatMap((entity) -> rows.apply(entity).stream()).toList();
+                if (method.getReturnType() == Optional.class) {
+                    return versions.stream().findFirst();
+                }
+                return versions;
+            }
+            return find(name, args);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object find(String name, Object[] args) {
+            if (name.startsWith("find") && name.endsWith("ById")) {
+                return Optional.ofNullable(store.get((UUID) args[0]));
+            }
+            if (name.startsWith("find") && name.endsWith("ByIdIn")) {
+                List<E> result = new ArrayList<>();
+                for (UUID id : (Collection<UUID>) args[0]) {
+                    E found = store.get(id);
+                    if (found != null) {
+                        result.add(found);
+                    }
+                }
+                return result;
+            }
+            if (name.startsWith("find") && name.contains("ByIdGreaterThan")) {
+                return firstN(store.tailMap((UUID) args[0], false).values(), args[1]);
+            }
+            if (name.startsWith("find") && name.endsWith("OrderByIdAsc")) {
+                return firstN(store.values(), args[0]);
+            }
+            throw new UnsupportedOperationException("Not stubbed: " + name);
+        }
+
+        private List<E> firstN(Collection<E> values, Object limit) {
+            int max = limit instanceof Limit pageLimit ? pageLimit.max() : (Integer) limit;
+            List<E> result = new ArrayList<>(max);
+            for (E value : values) {
+                if (result.size() == max) {
+                    break;
+                }
+                result.add(value);
+            }
+            return result;
+        }
+    }
+}
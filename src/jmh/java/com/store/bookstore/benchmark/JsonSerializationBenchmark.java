@@ -0,0 +1,53 @@
+package com.store.bookstore.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of an /authors/full page, using an ObjectMapper configured the way Spring Boot builds it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int authors;
+
+    @Param({"10"})
+    private int booksPerAuthor;
+
+    private ObjectMapper objectMapper;
+    private PageResponseDto<AuthorFullResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        AuthorMapper authorMapper = new AuthorMapper(new BookMapper());
+        List<AuthorFullResponseDto> items = new ArrayList<>(authors);
+        for (Author author : CatalogFixtures.authors(authors, booksPerAuthor)) {
+            items.add(authorMapper.toFullResponseDto(author));
+        }
+        page = new PageResponseDto<>(items, "cursor");
+    }
+
+    @Benchmark
+    public byte[] serializeAuthorsFull() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,90 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps one page of the list endpoints with the hand-written mappers and with the reflective ModelMapper they
+ * replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"100"})
+    private int pageSize;
+
+    @Param({"10"})
+    private int booksPerAuthor;
+
+    private ModelMapper modelMapper;
+    private AuthorMapper authorMapper;
+    private BookMapper bookMapper;
+
+    private List<Author> authors;
+    private List<Book> books;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        bookMapper = new BookMapper();
+        authorMapper = new AuthorMapper(bookMapper);
+
+        authors = CatalogFixtures.authors(pageSize, booksPerAuthor);
+        books = new ArrayList<>();
+        for (Author author : authors) {
+            books.addAll(author.getBooks());
+        }
+        books = books.subList(0, pageSize);
+    }
+
+    @Benchmark
+    public List<AuthorFullResponseDto> authorsFullModelMapper() {
+        List<AuthorFullResponseDto> dtos = new ArrayList<>(authors.size());
+        for (Author author : authors) {
+            dtos.add(modelMapper.map(author, AuthorFullResponseDto.class));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<AuthorFullResponseDto> authorsFullMapper() {
+        List<AuthorFullResponseDto> dtos = new ArrayList<>(authors.size());
+        for (Author author : authors) {
+            dtos.add(authorMapper.toFullResponseDto(author));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<BookFullResponseDto> booksFullModelMapper() {
+        List<BookFullResponseDto> dtos = new ArrayList<>(books.size());
+        for (Book book : books) {
+            dtos.add(modelMapper.map(book, BookFullResponseDto.class));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<BookFullResponseDto> booksFullMapper() {
+        List<BookFullResponseDto> dtos = new ArrayList<>(books.size());
+        for (Book book : books) {
+            dtos.add(bookMapper.toFullResponseDto(book));
+        }
+        return dtos;
+    }
+}
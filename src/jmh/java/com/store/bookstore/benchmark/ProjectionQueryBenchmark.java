@@ -0,0 +1,145 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.BookStoreApplication;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading managed entities and mapping them to response DTOs versus selecting the DTOs directly with constructor
+ * projections, against an in-memory H2 database in a booted application context. Run with {@code -prof gc} to compare
+ * the bytes allocated per lookup. The cache in front of the services is bypassed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionQueryBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+
+    private BookRepository bookRepository;
+    private AuthorRepository authorRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    private final BookMapper bookMapper = new BookMapper();
+    private final AuthorMapper authorMapper = new AuthorMapper(bookMapper);
+
+    private UUID bookId;
+    private UUID authorId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///projection",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--bookstore.search.build-on-startup=false",
+                        "--bookstore.suggest.build-on-startup=false",
+                        "--logging.level.root=warn");
+
+        bookRepository = context.getBean(BookRepository.class);
+        authorRepository = context.getBean(AuthorRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            authors.add(authorRepository.save(new Author(null, "Name" + i, "Surname" + i, null, null, null)));
+        }
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            books.add(new Book(null, "Title " + i, "Description of book " + i, 100 + i, authors.get(i % authors.size()), null, null));
+        }
+        bookRepository.saveAll(books);
+
+        bookId = books.get(books.size() / 2).getId();
+        authorId = authors.get(authors.size() / 2).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookResponseDto bookByIdEntity() {
+        return bookMapper.toResponseDto(bookRepository.findById(bookId).orElseThrow());
+    }
+
+    @Benchmark
+    public BookResponseDto bookByIdProjection() {
+        return bookRepository.findResponseById(bookId).orElseThrow();
+    }
+
+    @Benchmark
+    public List<BookResponseDto> bookPageEntity() {
+        // Same shape as the repository's derived page queries before the projection replaced them
+        return readOnlyTransaction.execute((status) -> entityManager
+                .createQuery("select b from Book b order by b.id", Book.class)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultList().stream()
+                .map(bookMapper::toResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BookResponseDto> bookPageProjection() {
+        return bookRepository.findResponsesByOrderByIdAsc(Limit.of(PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public AuthorResponseDto authorByIdEntity() {
+        return authorMapper.toResponseDto(authorRepository.findById(authorId).orElseThrow());
+    }
+
+    @Benchmark
+    public AuthorResponseDto authorByIdProjection() {
+        return authorRepository.findResponseById(authorId).orElseThrow();
+    }
+
+    @Benchmark
+    public List<AuthorResponseDto> authorPageEntity() {
+        return authorRepository.findAllByOrderByIdAsc(Limit.of(PAGE_SIZE + 1)).stream()
+                .map(authorMapper::toResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<AuthorResponseDto> authorPageProjection() {
+        return authorRepository.findResponsesByOrderByIdAsc(Limit.of(PAGE_SIZE + 1));
+    }
+}
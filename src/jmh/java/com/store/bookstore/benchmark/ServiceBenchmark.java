@@ -0,0 +1,91 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.service.AuthorService;
+import com.store.bookstore.service.BookService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done by the services for single lookups and list pages, with in-memory repositories.
+ * The response cache is disabled so single lookups are mapped on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"100"})
+    private int pageSize;
+
+    private AuthorService authorService;
+    private BookService bookService;
+
+    private String authorId;
+    private String bookId;
+
+    @Setup
+    public void setUp() {
+        List<Author> authors = CatalogFixtures.authors(1_000, 10);
+        List<Book> books = new ArrayList<>();
+        for (Author author : authors) {
+            books.addAll(author.getBooks());
+        }
+
+        AuthorRepository authorRepository = InMemoryRepositories.authors(authors);
+        BookRepository bookRepository = InMemoryRepositories.books(books);
+        BookMapper bookMapper = new BookMapper();
+        CatalogCache catalogCache = CatalogFixtures.disabledCache();
+
+        AuthorNameFilterProperties authorNameFilterProperties = new AuthorNameFilterProperties();
+        authorService = new AuthorService(authorRepository, new AuthorMapper(bookMapper), bookRepository, null, catalogCache,
+                new AuthorNameFilter(authorNameFilterProperties), authorNameFilterProperties, (event) -> { });
+        bookService = new BookService(authorRepository, bookMapper, bookRepository, null, catalogCache, (event) -> { });
+
+        authorId = authors.get(authors.size() / 2).getId().toString();
+        bookId = books.get(books.size() / 2).getId().toString();
+    }
+
+    @Benchmark
+    public BookFullResponseDto getBookWithAuthors() {
+        return bookService.getBookWithAuthors(bookId);
+    }
+
+    @Benchmark
+    public AuthorFullResponseDto getAuthorWithBooks() {
+        return authorService.getAuthorWithBooks(authorId);
+    }
+
+    @Benchmark
+    public PageResponseDto<BookResponseDto> getBooksWithoutAuthors() {
+        return bookService.getBooksWithoutAuthors(null, pageSize);
+    }
+
+    @Benchmark
+    public PageResponseDto<BookFullResponseDto> getBooksWithAuthors() {
+        return bookService.getBooksWithAuthors(null, pageSize);
+    }
+
+    @Benchmark
+    public PageResponseDto<AuthorFullResponseDto> getAuthorsWithBooks() {
+        return authorService.getAuthorsWithBooks(null, pageSize);
+    }
+}
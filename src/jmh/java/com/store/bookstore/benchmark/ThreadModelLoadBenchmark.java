@@ -0,0 +1,107 @@
+package com.store.bookstore.benchmark;
+
+import com.store.bookstore.BookStoreApplication;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the servlet stack on platform versus virtual request threads. The application is booted on a random
+ * port against an in-memory H2 database and 64 client threads page through {@code GET /books} and
+ * {@code GET /authors} over HTTP, which are not cached and take a connection from the pool on every request.
+ * <p>
+ * The burst is larger than both the Tomcat pool and the connection pool, as in production: on platform threads the
+ * excess requests queue in Tomcat, on virtual threads they all get a thread and wait for a connection instead.
+ * Run with {@code -bm thrpt} or {@code -bm sample} to get only throughput or only the latency percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(64)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class ThreadModelLoadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private HttpRequest booksRequest;
+    private HttpRequest authorsRequest;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=32",
+                        "--spring.datasource.hikari.maximum-pool-size=8",
+                        "--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///load",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=warn");
+
+        AuthorRepository authorRepository = context.getBean(AuthorRepository.class);
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            authors.add(authorRepository.save(new Author(null, "Name" + i, "Surname" + i, null, null, null)));
+        }
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            books.add(new Book(null, "Title " + i, "Description of book " + i, 100 + i, authors.get(i % authors.size()), null, null));
+        }
+        bookRepository.saveAll(books);
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        booksRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/books?limit=20")).GET().build();
+        authorsRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/authors?limit=20")).GET().build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int booksPage() throws IOException, InterruptedException {
+        return send(booksRequest);
+    }
+
+    @Benchmark
+    public int authorsPage() throws IOException, InterruptedException {
+        return send(authorsRequest);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
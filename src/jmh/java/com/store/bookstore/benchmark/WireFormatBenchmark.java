@@ -0,0 +1,92 @@
+package com.store.bookstore.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode cost of /authors/full and /books/full pages in each negotiable format, with the ObjectMappers Spring MVC
+ * builds for its message converters. {@code json-gzip} adds the compression Tomcat applies to JSON responses. The
+ * encoded size of both pages is printed once per format in the setup, as the bytes each response puts on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "json-gzip", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+
+    private PageResponseDto<AuthorFullResponseDto> authorsPage;
+    private PageResponseDto<BookFullResponseDto> booksPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json", "json-gzip" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException(format);
+        };
+        gzip = format.endsWith("-gzip");
+
+        BookMapper bookMapper = new BookMapper();
+        AuthorMapper authorMapper = new AuthorMapper(bookMapper);
+        List<Author> authors = CatalogFixtures.authors(100, 10);
+        List<AuthorFullResponseDto> authorItems = new ArrayList<>(authors.size());
+        List<BookFullResponseDto> bookItems = new ArrayList<>();
+        for (Author author : authors) {
+            authorItems.add(authorMapper.toFullResponseDto(author));
+            for (Book book : author.getBooks()) {
+                bookItems.add(bookMapper.toFullResponseDto(book));
+            }
+        }
+        authorsPage = new PageResponseDto<>(authorItems, "cursor");
+        booksPage = new PageResponseDto<>(bookItems.subList(0, 1000), "cursor");
+
+        System.out.printf("%nWire size as %s: authors/full %d bytes, books/full %d bytes%n",
+                format, encodeAuthorsFull().length, encodeBooksFull().length);
+    }
+
+    @Benchmark
+    public byte[] encodeAuthorsFull() throws IOException {
+        return encode(authorsPage);
+    }
+
+    @Benchmark
+    public byte[] encodeBooksFull() throws IOException {
+        return encode(booksPage);
+    }
+
+    private byte[] encode(Object page) throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(page);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, page);
+        }
+        return bytes.toByteArray();
+    }
+}
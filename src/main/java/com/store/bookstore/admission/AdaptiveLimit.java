@@ -0,0 +1,76 @@
+package com.store.bookstore.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adjusted by additive increase / multiplicative decrease against a latency target. A request that
+ * finishes within the target while the limit is at least half used raises the limit by {@code 1 / limit}, about one
+ * per round of requests; a slower one multiplies it by the backoff ratio. Requests that were already running at the
+ * last decrease do not decrease it again, so one slow burst backs off once rather than once per request.
+ */
+public class AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, Duration maxLatency, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid limit settings: min " + minLimit + ", max " + maxLimit + ", backoff ratio " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Admits a request unless the limit is reached. Every admitted request must be {@linkplain #release released}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request that started and finished at the given {@link System#nanoTime()} values, and adapts the
+     * limit to its latency.
+     */
+    public void release(long startNanos, long endNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (endNanos - startNanos > maxLatencyNanos) {
+                if (startNanos > lastDecreaseNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = endNanos;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
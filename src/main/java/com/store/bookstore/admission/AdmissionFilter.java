@@ -0,0 +1,182 @@
+package com.store.bookstore.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.bookstore.configuration.AdmissionControlProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Admits requests to the catalog routes against the {@link AdaptiveLimit} of their budget, so that a slow database
+ * shrinks the number of requests competing for it instead of queueing them in Tomcat and the connection pool. Requests
+ * over the limit are answered right away with 503 and {@code Retry-After}. Expensive routes and bulk writes get
+ * budgets of their own, so they cannot crowd out the cheap ones. A request counts against the budget with the most
+ * specific matching pattern.
+ * <p>
+ * Runs right after the observation filter, so rejected requests still show up in the HTTP server metrics. Each
+ * budget's limit, requests in flight and rejections are published as {@value #METRIC_PREFIX}.* meters tagged with the
+ * budget name.
+ */
+public class AdmissionFilter extends OncePerRequestFilter implements Ordered, MeterBinder {
+
+    static final String METRIC_PREFIX = "bookstore.admission";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final List<Budget> budgets = new ArrayList<>();
+
+    private final long retryAfterSeconds;
+
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(AdmissionControlProperties properties, ObjectMapper objectMapper) {
+        properties.getBudgets().forEach((name, budget) -> budgets.add(new Budget(name, budget.getPaths(), budget.getMethods(),
+                new AdaptiveLimit(budget.getInitialLimit(), budget.getMinLimit(), budget.getMaxLimit(), budget.getMaxLatency(), budget.getBackoffRatio()))));
+        this.retryAfterSeconds = Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Budget budget = budgetOf(request);
+        if (budget == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!budget.limit.tryAcquire()) {
+            budget.rejected.incrementAndGet();
+            reject(request, response, budget);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(budget.limit, startNanos));
+            } else {
+                budget.limit.release(startNanos, System.nanoTime());
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Budget budget : budgets) {
+            Gauge.builder(METRIC_PREFIX + ".limit", budget.limit, AdaptiveLimit::getLimit)
+                    .tag("budget", budget.name)
+                    .description("Concurrent requests currently admitted")
+                    .register(registry);
+            Gauge.builder(METRIC_PREFIX + ".in.flight", budget.limit, AdaptiveLimit::getInFlight)
+                    .tag("budget", budget.name)
+                    .description("Admitted requests still running")
+                    .register(registry);
+            FunctionCounter.builder(METRIC_PREFIX + ".rejected", budget.rejected, AtomicLong::get)
+                    .tag("budget", budget.name)
+                    .description("Requests rejected with 503 because the limit was reached")
+                    .register(registry);
+        }
+    }
+
+    private Budget budgetOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Comparator<String> specificity = pathMatcher.getPatternComparator(path);
+        Budget match = null;
+        String matchPattern = null;
+        for (Budget budget : budgets) {
+            if (!budget.methods.isEmpty() && !budget.methods.contains(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : budget.paths) {
+                if (!pathMatcher.match(pattern, path)) {
+                    continue;
+                }
+                int comparison = match == null ? -1 : specificity.compare(pattern, matchPattern);
+                if (comparison < 0 || (comparison == 0 && match.methods.isEmpty() && !budget.methods.isEmpty())) {
+                    match = budget;
+                    matchPattern = pattern;
+                }
+            }
+        }
+        return match;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Budget budget) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", "Too many concurrent " + budget.name + " requests, limit is " + budget.limit.getLimit());
+        body.put("path", request.getRequestURI());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private record Budget(String name, List<String> paths, Set<String> methods, AdaptiveLimit limit, AtomicLong rejected) {
+
+        private Budget(String name, List<String> paths, List<String> methods, AdaptiveLimit limit) {
+            this(name, List.copyOf(paths), methods.stream().map((method) -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet()),
+                    limit, new AtomicLong());
+        }
+    }
+
+    /**
+     * Releases the permit of a request that went asynchronous once the response is complete.
+     */
+    private record ReleasingListener(AdaptiveLimit limit, long startNanos) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limit.release(startNanos, System.nanoTime());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.store.bookstore.cache;
+
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of the (name, surname) pairs of all authors, so creating an author with a name that is definitely new
+ * skips the existence query. A name the filter reports as possibly taken is still checked against the database, and
+ * the unique constraint on the author table stays the final word either way.
+ * <p>
+ * Bits are only ever set, with lock-free atomic updates, so writers never block readers. Renamed and deleted authors
+ * keep their bits: they can only turn into false positives, which cost one query, until the filter is rebuilt on the
+ * next start. Until it is loaded, every name is reported as possibly taken.
+ */
+@Component
+public class AuthorNameFilter {
+
+    private final AuthorNameFilterProperties properties;
+
+    private volatile Bits bits;
+
+    private volatile boolean loaded;
+
+    public AuthorNameFilter(AuthorNameFilterProperties properties) {
+        this.properties = properties;
+        this.bits = Bits.sized(1, properties.getFalsePositiveRate());
+    }
+
+    /**
+     * Replaces the filter with an empty one sized for {@code storedAuthors}, still answering "possibly taken" until
+     * {@link #finishLoad()}. Authors written while the caller loads the stored names are added by the change events.
+     */
+    public void startLoad(long storedAuthors) {
+        loaded = false;
+        bits = Bits.sized(Math.max(properties.getExpectedAuthors(), 2 * storedAuthors), properties.getFalsePositiveRate());
+    }
+
+    public void finishLoad() {
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void add(String name, String surname) {
+        bits.add(hash(name, surname));
+    }
+
+    /**
+     * {@code false} only when no author was ever stored with this name and surname.
+     */
+    public boolean mightContain(String name, String surname) {
+        return !loaded || bits.mightContain(hash(name, surname));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.getType() != ChangeType.DELETED && event.getName() != null && event.getSurname() != null) {
+            add(event.getName(), event.getSurname());
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over both parts and a separator, finished with the MurmurHash3 mixer so that all bits depend on
+     * every character.
+     */
+    private static long hash(String name, String surname) {
+        long hash = 0xcbf29ce484222325L;
+        hash = fnv(hash, String.valueOf(name));
+        hash = (hash ^ 0xFFFF) * 0x100000001b3L;
+        hash = fnv(hash, String.valueOf(surname));
+        return mix(hash);
+    }
+
+    private static long fnv(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Bit array probed at {@code hashes} positions derived from one 64-bit hash by double hashing.
+     */
+    private record Bits(AtomicLongArray words, long size, int hashes) {
+
+        static Bits sized(long expected, double falsePositiveRate) {
+            long n = Math.max(1, expected);
+            long size = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+            int hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+            return new Bits(new AtomicLongArray(Math.toIntExact((size + 63) / 64)), size, hashes);
+        }
+
+        void add(long hash) {
+            long step = step(hash);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash + i * step, size);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0) {
+                    long witness = words.compareAndExchange(word, current, current | mask);
+                    if (witness == current) {
+                        break;
+                    }
+                    current = witness;
+                }
+            }
+        }
+
+        boolean mightContain(long hash) {
+            long step = step(hash);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash + i * step, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long step(long hash) {
+            return mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.store.bookstore.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.cache.response.CacheStatsResponseDto;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import com.store.bookstore.replica.ReplicaRouting;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of mapped response DTOs for the single-entity lookups, keyed by entity id.
+ * <p>
+ * Each view has its own bounded Caffeine cache, whose W-TinyLFU policy keeps frequently requested titles resident
+ * instead of whatever was read last. Entries are evicted after commit of any write that changes them; the TTL bounds
+ * staleness for writes made outside the services. Misses are loaded from the primary, each in its own read-only
+ * transaction, so a hit touches neither a transaction nor an entity manager; callers must not open one around it.
+ */
+@Component
+public class CatalogCache {
+
+    private final boolean enabled;
+
+    private final Cache<UUID, BookResponseDto> books;
+    private final Cache<UUID, BookFullResponseDto> fullBooks;
+    private final Cache<UUID, AuthorResponseDto> authors;
+    private final Cache<UUID, AuthorFullResponseDto> fullAuthors;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CatalogCache(CatalogCacheProperties properties, TransactionTemplate transactionTemplate) {
+        this.enabled = properties.getMaximumSize() > 0;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.books = build(properties);
+        this.fullBooks = build(properties);
+        this.authors = build(properties);
+        this.fullAuthors = build(properties);
+    }
+
+    public BookResponseDto getBook(UUID id, Function<UUID, BookResponseDto> loader) {
+        return get(books, id, loader);
+    }
+
+    public BookFullResponseDto getFullBook(UUID id, Function<UUID, BookFullResponseDto> loader) {
+        return get(fullBooks, id, loader);
+    }
+
+    public AuthorResponseDto getAuthor(UUID id, Function<UUID, AuthorResponseDto> loader) {
+        return get(authors, id, loader);
+    }
+
+    public AuthorFullResponseDto getFullAuthor(UUID id, Function<UUID, AuthorFullResponseDto> loader) {
+        return get(fullAuthors, id, loader);
+    }
+
+    /**
+     * Cached views without loading them on a miss, {@code null} then.
+     */
+    public BookResponseDto peekBook(UUID id) {
+        return books.getIfPresent(id);
+    }
+
+    public BookFullResponseDto peekFullBook(UUID id) {
+        return fullBooks.getIfPresent(id);
+    }
+
+    public AuthorResponseDto peekAuthor(UUID id) {
+        return authors.getIfPresent(id);
+    }
+
+    public AuthorFullResponseDto peekFullAuthor(UUID id) {
+        return fullAuthors.getIfPresent(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        UUID bookId = event.getBookId();
+        if (bookId != null) {
+            books.invalidate(bookId);
+            fullBooks.invalidate(bookId);
+        }
+
+        // The owner's full view lists the book, so it changes with it
+        if (event.getAuthorId() != null) {
+            fullAuthors.invalidate(event.getAuthorId());
+        } else if (bookId != null && event.getType() != ChangeType.CREATED) {
+            String id = bookId.toString();
+            fullAuthors.asMap().values().removeIf((author) -> author.getBooks() != null
+                    && author.getBooks().stream().anyMatch((book) -> id.equals(book.getId())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        UUID authorId = event.getAuthorId();
+        if (authorId == null) {
+            return;
+        }
+
+        authors.invalidate(authorId);
+        fullAuthors.invalidate(authorId);
+
+        // Full book views embed the author's name
+        if (event.getType() != ChangeType.CREATED) {
+            String id = authorId.toString();
+            fullBooks.asMap().values().removeIf((book) -> book.getAuthor() != null && id.equals(book.getAuthor().getId()));
+        }
+    }
+
+    public Map<String, CacheStatsResponseDto> stats() {
+        Map<String, CacheStatsResponseDto> stats = new LinkedHashMap<>();
+        caches().forEach((name, cache) -> {
+            CacheStats cacheStats = cache.stats();
+            stats.put(name, new CacheStatsResponseDto(cache.estimatedSize(), cacheStats.hitCount(), cacheStats.missCount(),
+                    cacheStats.hitRate(), cacheStats.evictionCount()));
+        });
+        return stats;
+    }
+
+    public Map<String, Cache<UUID, ?>> caches() {
+        Map<String, Cache<UUID, ?>> caches = new LinkedHashMap<>();
+        caches.put("books", books);
+        caches.put("fullBooks", fullBooks);
+        caches.put("authors", authors);
+        caches.put("fullAuthors", fullAuthors);
+        return caches;
+    }
+
+    private <V> V get(Cache<UUID, V> cache, UUID id, Function<UUID, V> loader) {
+        if (!enabled) {
+            return load(id, loader);
+        }
+        // A value evicted by a write must not be reloaded from a replica that has not applied the write yet
+        return cache.get(id, (key) -> ReplicaRouting.onPrimary(() -> load(key, loader)));
+    }
+
+    private <V> V load(UUID id, Function<UUID, V> loader) {
+        return readOnlyTransaction.execute((status) -> loader.apply(id));
+    }
+
+    private static <V> Cache<UUID, V> build(CatalogCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+}
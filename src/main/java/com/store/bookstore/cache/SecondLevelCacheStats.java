@@ -0,0 +1,49 @@
+package com.store.bookstore.cache;
+
+import com.store.bookstore.dto.cache.response.CacheStatsResponseDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hit and miss counters of Hibernate's second-level cache regions, read from the session factory statistics. Empty
+ * when the second-level cache is disabled.
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Statistics per region, keyed by {@code secondLevel.<region>}. The query results region counts cached query
+     * lookups; a hit there still loads the entities from their own regions.
+     */
+    public Map<String, CacheStatsResponseDto> stats() {
+        Map<String, CacheStatsResponseDto> stats = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = region.equals(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+                    ? statistics.getQueryRegionStatistics(region)
+                    : statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            long size = regionStatistics.getElementCountInMemory();
+            stats.put("secondLevel." + region, new CacheStatsResponseDto(size < 0 ? null : size, hits, misses,
+                    hits + misses == 0 ? 1.0 : (double) hits / (hits + misses), null));
+        }
+        return stats;
+    }
+}
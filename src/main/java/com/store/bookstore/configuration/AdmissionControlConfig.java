@@ -0,0 +1,20 @@
+package com.store.bookstore.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.bookstore.admission.AdmissionFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the filter admitting catalog requests against adaptive concurrency limits.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookstore.admission", name = "enabled", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionFilter admissionFilter(AdmissionControlProperties properties, ObjectMapper objectMapper) {
+        return new AdmissionFilter(properties, objectMapper);
+    }
+}
@@ -0,0 +1,65 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "bookstore.admission")
+@Getter
+@Setter
+public class AdmissionControlProperties {
+    /**
+     * Whether requests to the catalog routes are admitted against an adaptive concurrency limit.
+     */
+    private boolean enabled = true;
+    /**
+     * Value of the {@code Retry-After} header of rejected requests, rounded up to whole seconds.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+    /**
+     * Concurrency budgets by name. A request counts against the budget with the most specific path pattern matching
+     * it, ranked like Spring MVC ranks handler mappings, so {@code /books/full} wins over {@code /books/**} whatever
+     * the order. On equally specific patterns a budget restricted to the request's method wins, then the one declared
+     * first. Requests matching no budget are not limited.
+     */
+    private Map<String, Budget> budgets = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Budget {
+        /**
+         * Ant-style path patterns of the requests sharing this budget.
+         */
+        private List<String> paths = new ArrayList<>();
+        /**
+         * HTTP methods of the requests sharing this budget, any method when empty.
+         */
+        private List<String> methods = new ArrayList<>();
+        /**
+         * Concurrent requests admitted before any latency was observed.
+         */
+        private int initialLimit = 20;
+        /**
+         * Lowest the limit shrinks to, however slow requests get.
+         */
+        private int minLimit = 1;
+        /**
+         * Highest the limit grows to, however fast requests are.
+         */
+        private int maxLimit = 200;
+        /**
+         * Latency target: a request slower than this shrinks the limit, faster ones let it grow back.
+         */
+        private Duration maxLatency = Duration.ofMillis(500);
+        /**
+         * Factor the limit is multiplied with when a request exceeds the latency target.
+         */
+        private double backoffRatio = 0.9;
+    }
+}
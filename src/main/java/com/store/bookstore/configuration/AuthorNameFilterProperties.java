@@ -0,0 +1,25 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "bookstore.author-filter")
+@Getter
+@Setter
+public class AuthorNameFilterProperties {
+    /**
+     * Load all author names into the filter once the application is ready. Until then every name is checked against
+     * the database.
+     */
+    private boolean buildOnStartup = true;
+    /**
+     * Number of authors the filter is sized for. A larger catalog sizes it to twice the stored count, leaving room for
+     * the authors created until the next restart.
+     */
+    private long expectedAuthors = 1_000_000;
+    /**
+     * Share of new names the filter wrongly reports as possibly taken, each costing one existence query.
+     */
+    private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,19 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "bookstore.suggest")
+@Getter
+@Setter
+public class AuthorSuggestProperties {
+    /**
+     * Load all authors into the suggestion index once the application is ready.
+     */
+    private boolean buildOnStartup = true;
+    /**
+     * Most suggestions returned for one prefix, also the number of authors ranked at every trie node.
+     */
+    private int maxSuggestions = 10;
+}
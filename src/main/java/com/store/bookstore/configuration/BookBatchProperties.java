@@ -0,0 +1,19 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "bookstore.batch")
+@Getter
+@Setter
+public class BookBatchProperties {
+    /**
+     * Books inserted per transaction. Keep it a multiple of hibernate.jdbc.batch_size.
+     */
+    private int chunkSize = 500;
+    /**
+     * Maximum number of books accepted by one batch request.
+     */
+    private int maxItems = 10_000;
+}
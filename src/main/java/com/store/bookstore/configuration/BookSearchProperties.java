@@ -0,0 +1,19 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "bookstore.search")
+@Getter
+@Setter
+public class BookSearchProperties {
+    /**
+     * Load all books into the search index once the application is ready.
+     */
+    private boolean buildOnStartup = true;
+    /**
+     * Deepest result reachable through paging, later hits are not ranked.
+     */
+    private int maxResults = 1_000;
+}
@@ -0,0 +1,21 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "bookstore.cache")
+@Getter
+@Setter
+public class CatalogCacheProperties {
+    /**
+     * Maximum number of entries per cached view (book, full book, author, full author). 0 disables caching.
+     */
+    private long maximumSize = 10_000;
+    /**
+     * How long an entry is served after it was loaded, bounding staleness for writes that bypass the services.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
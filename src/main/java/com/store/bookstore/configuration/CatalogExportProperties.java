@@ -0,0 +1,29 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "bookstore.export")
+@Getter
+@Setter
+public class CatalogExportProperties {
+    /**
+     * Directory the export files are written to, created on first use.
+     */
+    private Path directory = Path.of("exports");
+    /**
+     * Exports running at the same time.
+     */
+    private int concurrency = 1;
+    /**
+     * Exports waiting for a free slot before new ones are rejected.
+     */
+    private int queueCapacity = 10;
+    /**
+     * Finished jobs kept for the status and download endpoints. Files of older jobs are deleted.
+     */
+    private int retainedJobs = 100;
+}
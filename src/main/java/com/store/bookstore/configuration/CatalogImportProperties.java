@@ -0,0 +1,23 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "bookstore.import")
+@Getter
+@Setter
+public class CatalogImportProperties {
+    /**
+     * Rows committed per transaction.
+     */
+    private int chunkSize = 1_000;
+    /**
+     * Authors remembered between chunks, least recently used ones are looked up again when seen.
+     */
+    private int authorCacheSize = 100_000;
+    /**
+     * Rows between two progress log lines.
+     */
+    private int progressInterval = 100_000;
+}
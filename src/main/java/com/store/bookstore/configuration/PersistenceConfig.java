@@ -0,0 +1,79 @@
+package com.store.bookstore.configuration;
+
+import com.store.bookstore.replica.ReadWriteRoutingDataSource;
+import com.store.bookstore.replica.ReadYourWritesFilter;
+import com.store.bookstore.replica.ReplicaAwareTransactionManager;
+import com.store.bookstore.replica.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA and R2DBC share the application. Spring Boot backs off from the JDBC data source as soon as an R2DBC connection
+ * factory exists, and only creates the JPA transaction manager when no other transaction manager does, so both are
+ * declared here. {@code @Transactional} service methods and transaction templates stay on JPA; reactive reads do not
+ * use transactions.
+ * <p>
+ * With read replicas configured, the data source routes read-only transactions to them. The primary and replica
+ * pools are built inside the one data source bean, so the statement tracking proxy wraps it once and sees every
+ * statement, wherever it runs. Reads routed to a replica don't fill the second-level cache.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class PersistenceConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, ReadReplicaProperties replicaProperties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        if (replicaProperties.getUrls().isEmpty()) {
+            return primary;
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaProperties.getUrls()) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .username(replicaProperties.getUsername() != null ? replicaProperties.getUsername() : properties.determineUsername())
+                    .password(replicaProperties.getPassword() != null ? replicaProperties.getPassword() : properties.determinePassword())
+                    .build();
+            Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setPoolName((primary.getPoolName() != null ? primary.getPoolName() : "HikariPool") + "-replica-" + replicas.size());
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, new ReplicaPool(primary, replicas,
+                replicaProperties.getHealthCheckInterval(), replicaProperties.getHealthCheckTimeout()));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadReplicaProperties replicaProperties) {
+        return new ReadYourWritesFilter(!replicaProperties.getUrls().isEmpty(), replicaProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory, ReadReplicaProperties replicaProperties) {
+        if (replicaProperties.getUrls().isEmpty()) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+        return new ReplicaAwareTransactionManager(entityManagerFactory);
+    }
+}
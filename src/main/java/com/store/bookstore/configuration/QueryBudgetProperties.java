@@ -0,0 +1,37 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "bookstore.query-budget")
+@Getter
+@Setter
+public class QueryBudgetProperties {
+    /**
+     * Whether SQL statements are tracked per HTTP request. Turning it off also removes the data source proxy.
+     */
+    private boolean enabled = true;
+    /**
+     * Requests executing more statements than this are logged with the statements they ran.
+     */
+    private int maxStatements = 20;
+    /**
+     * Requests spending more time than this in the database are logged with the statements they ran.
+     */
+    private Duration maxTime = Duration.ofMillis(500);
+    /**
+     * Single statements slower than this are logged.
+     */
+    private Duration slowQuery = Duration.ofMillis(200);
+    /**
+     * Whether responses carry the statement count and database time as headers. Meant for non-production profiles.
+     */
+    private boolean exposeHeaders = false;
+    /**
+     * Maximum number of distinct SQL strings kept per request for logging; further statements are only counted.
+     */
+    private int maxLoggedStatements = 50;
+}
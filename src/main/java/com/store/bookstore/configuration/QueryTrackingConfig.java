@@ -0,0 +1,43 @@
+package com.store.bookstore.configuration;
+
+import com.store.bookstore.query.QueryBudgetFilter;
+import com.store.bookstore.query.QueryTrackingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes every JDBC data source through a datasource-proxy that reports executed statements to the
+ * {@link com.store.bookstore.query.QueryTracker}, and registers the filter enforcing the per-request budget. R2DBC
+ * reads are not counted.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookstore.query-budget", name = "enabled", matchIfMissing = true)
+public class QueryTrackingConfig {
+
+    @Bean
+    public static BeanPostProcessor queryTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new QueryTrackingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public QueryBudgetFilter queryBudgetFilter(QueryBudgetProperties properties) {
+        return new QueryBudgetFilter(properties);
+    }
+}
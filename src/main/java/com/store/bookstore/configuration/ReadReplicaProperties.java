@@ -0,0 +1,45 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "bookstore.read-replicas")
+@Getter
+@Setter
+public class ReadReplicaProperties {
+    /**
+     * JDBC URLs of the read replicas. Read-only transactions are spread over them round-robin; without any, all
+     * traffic goes to the primary.
+     */
+    private List<String> urls = new ArrayList<>();
+    /**
+     * Login of the replicas, the primary's when not set.
+     */
+    private String username;
+    /**
+     * Password of the replicas, the primary's when not set.
+     */
+    private String password;
+    /**
+     * Connection pool size of each replica; the other pool settings are the primary's.
+     */
+    private int maximumPoolSize = 20;
+    /**
+     * How often every replica is checked for a valid connection. A replica marked down is only used again after a
+     * successful check.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    /**
+     * How long a health check waits for a replica to validate a connection.
+     */
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    /**
+     * How long a client that wrote keeps reading from the primary, covering the replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,70 @@
+package com.store.bookstore.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache backed by bounded Caffeine caches through JCache. Every region is created here with
+ * its size and TTL, and Hibernate fails to start on a region that was not, so an entity annotated with an unknown
+ * region cannot silently get an unbounded cache.
+ * <p>
+ * Entities are cached {@code READ_WRITE}: writes through Hibernate invalidate the affected entries after commit. JPQL
+ * {@code UPDATE} and {@code DELETE} statements empty the whole regions of the entity and the collections holding it,
+ * which is why single-row patches and deletes go through {@code SingleRowWrite} instead. The update timestamps region that guards cached query
+ * results is never bounded, since losing a timestamp could serve stale results.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookstore.second-level-cache", name = "enabled", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    static final List<String> REGIONS = List.of("author", "book", "author.books",
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    /**
+     * A cache manager of its own, so application contexts sharing the class loader (as in tests) do not share regions.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("bookstore-second-level-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : REGIONS) {
+            SecondLevelCacheProperties.Region settings = properties.getRegions().getOrDefault(region, new SecondLevelCacheProperties.Region());
+            long maximumSize = settings.getMaximumSize() != null ? settings.getMaximumSize() : properties.getMaximumSize();
+            long ttl = (settings.getTtl() != null ? settings.getTtl() : properties.getTtl()).toNanos();
+            cacheManager.createCache(region, new CaffeineConfiguration<>()
+                    .setStoreByValue(false)
+                    .setMaximumSize(OptionalLong.of(maximumSize))
+                    .setExpireAfterWrite(OptionalLong.of(ttl)));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>()
+                .setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return (hibernateProperties) -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Books are written from their owning side, the author's cached collection has to be evicted with them
+            hibernateProperties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.store.bookstore.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "bookstore.second-level-cache")
+@Getter
+@Setter
+public class SecondLevelCacheProperties {
+    /**
+     * Cache entities, the author's book collection and cacheable query results in Hibernate's second-level cache.
+     */
+    private boolean enabled = true;
+    /**
+     * Maximum number of entries of a region without its own setting.
+     */
+    private long maximumSize = 10_000;
+    /**
+     * How long an entry of a region without its own setting is served after it was cached, bounding staleness for
+     * writes that bypass Hibernate.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+    /**
+     * Settings of single regions by name: {@code author}, {@code book}, {@code author.books} and
+     * {@code default-query-results-region}. Unset values fall back to the defaults above.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+        /**
+         * Maximum number of entries in the region.
+         */
+        private Long maximumSize;
+        /**
+         * How long an entry is served after it was cached.
+         */
+        private Duration ttl;
+    }
+}
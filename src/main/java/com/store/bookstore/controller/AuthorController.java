@@ -1,13 +1,20 @@
 package com.store.bookstore.controller;
 
+import com.store.bookstore.dto.author.response.AuthorBooksMergeResponseDto;
 import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
 import com.store.bookstore.dto.author.request.AuthorCreateRequestDto;
+import com.store.bookstore.dto.author.request.AuthorUpdateRequestDto;
 import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.page.PageResponseDto;
 import com.store.bookstore.service.AuthorService;
+import com.store.bookstore.service.AuthorSuggestService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,38 +24,75 @@ public class AuthorController {
 
     private final AuthorService authorService;
 
+    private final AuthorSuggestService authorSuggestService;
+
     @GetMapping("/author/{id}")
-    @Operation(summary = "Get author by ID", description = "Retrieve an author's details by their ID without including their books.")
-    public ResponseEntity<AuthorResponseDto> getAuthor(@PathVariable String id) {
-        AuthorResponseDto authorResponseDto =  authorService.getAuthorWithoutBooks(id);
+    @Operation(summary = "Get author by ID", description = "Retrieve an author's details by their ID without including their books. Pass 'fields' (e.g. name) to return only those fields.")
+    public ResponseEntity<AuthorResponseDto> getAuthor(@PathVariable String id,
+                                                       @RequestParam(required = false) String fields,
+                                                       WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, ConditionalRequests.AUTHOR, authorService.getAuthorVersion(id))) {
+            return null;
+        }
+
+        AuthorResponseDto authorResponseDto = authorService.getAuthorWithoutBooks(id, fields);
 
         return ResponseEntity.ok(authorResponseDto);
     }
 
     @GetMapping("/author/full/{id}")
-    @Operation(summary = "Get author by ID with books", description = "Retrieve an author's details by their ID including their books.")
-    public ResponseEntity<AuthorFullResponseDto> getAuthorFullInfo(@PathVariable String id) {
-        AuthorFullResponseDto authorFullResponseDto = authorService.getAuthorWithBooks(id);
+    @Operation(summary = "Get author by ID with books", description = "Retrieve an author's details by their ID including their books. Pass 'fields' (e.g. name,books.title) to return only those fields.")
+    public ResponseEntity<AuthorFullResponseDto> getAuthorFullInfo(@PathVariable String id,
+                                                                   @RequestParam(required = false) String fields,
+                                                                   WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, authorService.getFullAuthorVersion(id))) {
+            return null;
+        }
+
+        AuthorFullResponseDto authorFullResponseDto = authorService.getAuthorWithBooks(id, fields);
 
         return ResponseEntity.ok(authorFullResponseDto);
     }
 
     @GetMapping("/authors")
-    @Operation(summary = "Get all authors", description = "Retrieve all authors without including their books.")
-    public ResponseEntity<List<AuthorResponseDto>> getAuthors() {
-        List<AuthorResponseDto> authorResponseDtos = authorService.getAuthorsWithoutBooks();
+    @Operation(summary = "Get all authors", description = "Retrieve a page of authors without including their books. Pass the returned nextCursor as 'after' to get the next page and 'fields' to return only those fields.")
+    public ResponseEntity<PageResponseDto<AuthorResponseDto>> getAuthors(@RequestParam(required = false) String after,
+                                                                         @RequestParam(required = false) Integer limit,
+                                                                         @RequestParam(required = false) String fields,
+                                                                         WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, authorService.getAuthorPageVersion(after, limit))) {
+            return null;
+        }
+
+        PageResponseDto<AuthorResponseDto> authorResponseDtos = authorService.getAuthorsWithoutBooks(after, limit, fields);
 
         return ResponseEntity.ok(authorResponseDtos);
     }
 
     @GetMapping("/authors/full")
-    @Operation(summary = "Get all authors with books", description = "Retrieve all authors including their books.")
-    public ResponseEntity<List<AuthorFullResponseDto>> getFullAuthors() {
-        List<AuthorFullResponseDto> authorFullResponseDtos = authorService.getAuthorsWithBooks();
+    @Operation(summary = "Get all authors with books", description = "Retrieve a page of authors including their books. Pass the returned nextCursor as 'after' to get the next page and 'fields' (e.g. name,books.title) to return only those fields.")
+    public ResponseEntity<PageResponseDto<AuthorFullResponseDto>> getFullAuthors(@RequestParam(required = false) String after,
+                                                                                 @RequestParam(required = false) Integer limit,
+                                                                                 @RequestParam(required = false) String fields,
+                                                                                 WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, authorService.getFullAuthorPageVersion(after, limit))) {
+            return null;
+        }
+
+        PageResponseDto<AuthorFullResponseDto> authorFullResponseDtos = authorService.getAuthorsWithBooks(after, limit, fields);
 
         return ResponseEntity.ok(authorFullResponseDtos);
     }
 
+    @GetMapping("/authors/suggest")
+    @Operation(summary = "Suggest authors", description = "Retrieve authors whose name or surname starts with the given prefix, most books first.")
+    public ResponseEntity<List<AuthorSuggestionResponseDto>> suggestAuthors(@RequestParam String q,
+                                                                            @RequestParam(required = false) Integer limit) {
+        List<AuthorSuggestionResponseDto> authorSuggestionResponseDtos = authorSuggestService.suggestAuthors(q, limit);
+
+        return ResponseEntity.ok(authorSuggestionResponseDtos);
+    }
+
     @PostMapping("/author")
     @Operation(summary = "Create author", description = "Create a new author with their books.")
     public ResponseEntity<AuthorFullResponseDto> createAuthor(@RequestBody AuthorCreateRequestDto author) {
@@ -59,13 +103,31 @@ public class AuthorController {
 
 
     @PutMapping("/author/{id}")
-    @Operation(summary = "Update author", description = "Update an author's details by their ID.")
+    @Operation(summary = "Update author", description = "Update an author's details by their ID. Listed books are merged into the author's books as with PUT /author/{id}/books.")
     public ResponseEntity<AuthorFullResponseDto> updateAuthor(@PathVariable String id, @RequestBody AuthorCreateRequestDto author) {
         AuthorFullResponseDto savedAuthor = authorService.updateAuthor(id, author);
 
         return ResponseEntity.ok(savedAuthor);
     }
 
+    @PutMapping("/author/{id}/books")
+    @Operation(summary = "Merge author books", description = "Make an author's books match the given list. Books are matched to existing ones by id, "
+            + "or else by title, and only the books that differ are inserted, updated or deleted. Returns how many books each change touched.")
+    public ResponseEntity<AuthorBooksMergeResponseDto> mergeAuthorBooks(@PathVariable String id, @RequestBody List<BookCreateRequestDto> books) {
+        AuthorBooksMergeResponseDto merge = authorService.mergeAuthorBooks(id, books);
+
+        return ResponseEntity.ok(merge);
+    }
+
+    @PatchMapping("/author/{id}")
+    @Operation(summary = "Patch author", description = "Update only the given name fields of an author, without touching their books. "
+            + "Send the ETag of GET /author/{id} as If-Match to fail with 412 if the author changed in the meantime.")
+    public ResponseEntity<String> patchAuthor(@PathVariable String id, @RequestBody AuthorUpdateRequestDto author, WebRequest request) {
+        authorService.patchAuthor(id, author, ConditionalRequests.ifMatchVersion(request, ConditionalRequests.AUTHOR, id));
+
+        return ResponseEntity.ok("Author updated");
+    }
+
     @DeleteMapping("/author/{id}")
     @Operation(summary = "Delete author", description = "Delete an author by their ID.")
     public ResponseEntity<String> deleteAuthor(@PathVariable String id) {
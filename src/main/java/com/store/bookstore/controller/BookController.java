@@ -1,12 +1,19 @@
 package com.store.bookstore.controller;
 
 import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.request.BookUpdateRequestDto;
+import com.store.bookstore.dto.book.response.BookBatchDeleteResponseDto;
+import com.store.bookstore.dto.book.response.BookBatchResponseDto;
 import com.store.bookstore.dto.book.response.BookFullResponseDto;
 import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.service.BookBatchService;
+import com.store.bookstore.service.BookSearchService;
 import com.store.bookstore.service.BookService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,34 +24,73 @@ public class BookController {
 
     private final BookService bookService;
 
+    private final BookBatchService bookBatchService;
+
+    private final BookSearchService bookSearchService;
+
     @GetMapping("/book/{id}")
-    public ResponseEntity<BookResponseDto> getBook(@PathVariable String id) {
-        BookResponseDto bookResponseDto = bookService.getBookWithoutAuthors(id);
+    public ResponseEntity<BookResponseDto> getBook(@PathVariable String id,
+                                                   @RequestParam(required = false) String fields,
+                                                   WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, ConditionalRequests.BOOK, bookService.getBookVersion(id))) {
+            return null;
+        }
+
+        BookResponseDto bookResponseDto = bookService.getBookWithoutAuthors(id, fields);
 
         return ResponseEntity.ok(bookResponseDto);
     }
 
     @GetMapping("/book/full/{id}")
-    public ResponseEntity<BookFullResponseDto> getFullBook(@PathVariable String id) {
-        BookFullResponseDto bookFullResponseDto = bookService.getBookWithAuthors(id);
+    public ResponseEntity<BookFullResponseDto> getFullBook(@PathVariable String id,
+                                                           @RequestParam(required = false) String fields,
+                                                           WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, bookService.getFullBookVersion(id))) {
+            return null;
+        }
+
+        BookFullResponseDto bookFullResponseDto = bookService.getBookWithAuthors(id, fields);
 
         return ResponseEntity.ok(bookFullResponseDto);
     }
 
     @GetMapping("/books")
-    public ResponseEntity<List<BookResponseDto>> getBooks() {
-        List<BookResponseDto> bookResponseDtos = bookService.getBooksWithoutAuthors();
+    public ResponseEntity<PageResponseDto<BookResponseDto>> getBooks(@RequestParam(required = false) String after,
+                                                                     @RequestParam(required = false) Integer limit,
+                                                                     @RequestParam(required = false) String fields,
+                                                                     WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, bookService.getBookPageVersion(after, limit))) {
+            return null;
+        }
+
+        PageResponseDto<BookResponseDto> bookResponseDtos = bookService.getBooksWithoutAuthors(after, limit, fields);
 
         return ResponseEntity.ok(bookResponseDtos);
     }
 
     @GetMapping("/books/full")
-    public ResponseEntity<List<BookFullResponseDto>> getFullBooks() {
-        List<BookFullResponseDto> bookFullResponseDtos = bookService.getBooksWithAuthors();
+    public ResponseEntity<PageResponseDto<BookFullResponseDto>> getFullBooks(@RequestParam(required = false) String after,
+                                                                             @RequestParam(required = false) Integer limit,
+                                                                             @RequestParam(required = false) String fields,
+                                                                             WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, bookService.getFullBookPageVersion(after, limit))) {
+            return null;
+        }
+
+        PageResponseDto<BookFullResponseDto> bookFullResponseDtos = bookService.getBooksWithAuthors(after, limit, fields);
 
         return ResponseEntity.ok(bookFullResponseDtos);
     }
 
+    @GetMapping("/books/search")
+    public ResponseEntity<PageResponseDto<BookResponseDto>> searchBooks(@RequestParam String q,
+                                                                        @RequestParam(required = false) String after,
+                                                                        @RequestParam(required = false) Integer limit) {
+        PageResponseDto<BookResponseDto> bookResponseDtos = bookSearchService.searchBooks(q, after, limit);
+
+        return ResponseEntity.ok(bookResponseDtos);
+    }
+
     @PostMapping("/book")
     public ResponseEntity<String> addBook(@RequestBody BookCreateRequestDto bookRequestDto) {
         bookService.createBook(bookRequestDto);
@@ -52,6 +98,13 @@ public class BookController {
         return ResponseEntity.ok("Book created");
     }
 
+    @PostMapping("/books/batch")
+    public ResponseEntity<BookBatchResponseDto> addBooks(@RequestBody List<BookCreateRequestDto> bookRequestDtos) {
+        BookBatchResponseDto bookBatchResponseDto = bookBatchService.createBooks(bookRequestDtos);
+
+        return ResponseEntity.ok(bookBatchResponseDto);
+    }
+
     @PutMapping("/book/{id}")
     public ResponseEntity<String> updateBook(@PathVariable String id, @RequestBody BookCreateRequestDto bookRequestDto) {
         bookService.updateBook(id, bookRequestDto);
@@ -59,10 +112,24 @@ public class BookController {
         return ResponseEntity.ok("Book updated");
     }
 
+    @PatchMapping("/book/{id}")
+    public ResponseEntity<String> patchBook(@PathVariable String id, @RequestBody BookUpdateRequestDto bookRequestDto, WebRequest request) {
+        bookService.patchBook(id, bookRequestDto, ConditionalRequests.ifMatchVersion(request, ConditionalRequests.BOOK, id));
+
+        return ResponseEntity.ok("Book updated");
+    }
+
     @DeleteMapping("/book/{id}")
     public ResponseEntity<String> deleteBook(@PathVariable String id) {
         bookService.deleteBook(id);
 
         return ResponseEntity.ok("Book deleted");
     }
+
+    @DeleteMapping("/books")
+    public ResponseEntity<BookBatchDeleteResponseDto> deleteBooks(@RequestBody List<String> ids) {
+        BookBatchDeleteResponseDto bookBatchDeleteResponseDto = bookBatchService.deleteBooks(ids);
+
+        return ResponseEntity.ok(bookBatchDeleteResponseDto);
+    }
 }
@@ -0,0 +1,31 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.cache.SecondLevelCacheStats;
+import com.store.bookstore.dto.cache.response.CacheStatsResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CatalogCache catalogCache;
+
+    private final SecondLevelCacheStats secondLevelCacheStats;
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get cache statistics", description = "Retrieve size, hit, miss and eviction counters of each cached view, "
+            + "and hit and miss counters of each Hibernate second-level cache region.")
+    public ResponseEntity<Map<String, CacheStatsResponseDto>> getCacheStats() {
+        Map<String, CacheStatsResponseDto> stats = new LinkedHashMap<>(catalogCache.stats());
+        stats.putAll(secondLevelCacheStats.stats());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,58 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.dto.catalog.response.CatalogExportJobResponseDto;
+import com.store.bookstore.service.CatalogExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class CatalogExportController {
+
+    private final CatalogExportService catalogExportService;
+
+    @PostMapping("/catalog/export")
+    @Operation(summary = "Start catalog export", description = "Start a background export of all books with their authors to a gzip-compressed ndjson or csv file.")
+    public ResponseEntity<CatalogExportJobResponseDto> startExport(@RequestParam(defaultValue = "ndjson") String format) {
+        CatalogExportJobResponseDto catalogExportJobResponseDto = catalogExportService.startExport(format);
+
+        return ResponseEntity.accepted().body(catalogExportJobResponseDto);
+    }
+
+    @GetMapping("/catalog/export/{id}")
+    @Operation(summary = "Get catalog export", description = "Retrieve the status and progress of an export job by its ID.")
+    public ResponseEntity<CatalogExportJobResponseDto> getExport(@PathVariable String id) {
+        CatalogExportJobResponseDto catalogExportJobResponseDto = catalogExportService.getExport(id);
+
+        return ResponseEntity.ok(catalogExportJobResponseDto);
+    }
+
+    @GetMapping("/catalog/export/{id}/file")
+    @Operation(summary = "Download catalog export", description = "Download the gzip-compressed file of a completed export job.")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String id) {
+        Path file = catalogExportService.getExportFile(id);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    @GetMapping("/catalog/exports")
+    @Operation(summary = "Get catalog exports", description = "Retrieve all retained export jobs, newest first.")
+    public ResponseEntity<List<CatalogExportJobResponseDto>> getExports() {
+        List<CatalogExportJobResponseDto> catalogExportJobResponseDtos = catalogExportService.getExports();
+
+        return ResponseEntity.ok(catalogExportJobResponseDtos);
+    }
+}
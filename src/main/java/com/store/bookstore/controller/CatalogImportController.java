@@ -0,0 +1,31 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.dto.catalog.response.CatalogImportResponseDto;
+import com.store.bookstore.service.CatalogImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(value = "/catalog/import", consumes = "application/x-ndjson")
+    public ResponseEntity<CatalogImportResponseDto> importNdjson(InputStream body) {
+        CatalogImportResponseDto catalogImportResponseDto = catalogImportService.importNdjson(body);
+
+        return ResponseEntity.ok(catalogImportResponseDto);
+    }
+
+    @PostMapping(value = "/catalog/import", consumes = "text/csv")
+    public ResponseEntity<CatalogImportResponseDto> importCsv(InputStream body) {
+        CatalogImportResponseDto catalogImportResponseDto = catalogImportService.importCsv(body);
+
+        return ResponseEntity.ok(catalogImportResponseDto);
+    }
+}
@@ -0,0 +1,138 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.dto.version.RowVersionDto;
+import com.store.bookstore.dto.version.VersionStampDto;
+import com.store.bookstore.exception.PreconditionFailedException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Conditional GET support for the read endpoints. Handlers get the version stamp before loading anything: from the
+ * catalog cache, or else from a query reading only the ids, row versions and update timestamps of the rows behind the
+ * response. It is checked against {@code If-None-Match} and {@code If-Modified-Since}; on a match the handler returns
+ * {@code null} and Spring answers 304 without a body. Otherwise the {@code ETag} and {@code Last-Modified} headers go
+ * out with the response, which is loaded only then. Reading the stamp first means a write in between makes the tag
+ * older than the body, never newer, so the next conditional request just gets the body again. List stamps cover the
+ * rows of the page and the first row after it, which decides the next cursor.
+ * <p>
+ * The same resource can be rendered as JSON, CBOR or Smile, so the entity tag carries the format the {@code Accept}
+ * header selects and responses vary on {@code Accept}. Tags of full views and lists are weak: they identify the
+ * version of the data, not the bytes, and Tomcat never gzips a response carrying a strong tag. A single book or author
+ * gets a strong tag naming the entity, its id and its row version instead, since it is what writes are made
+ * conditional on. Such responses rarely reach the compression threshold anyway.
+ * <p>
+ * Writes to a single resource can be made conditional with {@code If-Match}, which RFC 9110 compares strongly. Only the
+ * strong tag of the same row is accepted; its row version is compared in the {@code UPDATE} itself rather than by
+ * loading the resource. Weak tags and tags of other views or rows fail with 412.
+ */
+final class ConditionalRequests {
+
+    static final String BOOK = "book";
+    static final String AUTHOR = "author";
+
+    private static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    /**
+     * Strong tag of a single row as {@link #isNotModified(WebRequest, String, RowVersionDto)} writes it: the
+     * entity, the id, the row version in base 36 and the representation suffix. Twelve digits keep the version within
+     * a long.
+     */
+    private static final Pattern ROW_TAG = Pattern.compile("\"([a-z]+)-([0-9a-fA-F-]{36})-([0-9a-z]{1,12})(?:-cbor|-smile)?\"");
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Conditional GET of a full view or list under a weak tag.
+     */
+    static boolean isNotModified(WebRequest request, VersionStampDto versionStamp) {
+        varyOnAccept(request);
+
+        return versionStamp != null && versionStamp.isPresent()
+                && request.checkNotModified("W/\"" + versionStamp.toETag() + representation(request) + "\"", versionStamp.getLastModified().toEpochMilli());
+    }
+
+    /**
+     * Conditional GET of a single {@code entity} row under a strong tag. Rows written before versioning count as
+     * version 0; missing rows and rows without an update timestamp get no tag.
+     */
+    static boolean isNotModified(WebRequest request, String entity, RowVersionDto row) {
+        varyOnAccept(request);
+        if (row == null || row.getUpdatedAt() == null) {
+            return false;
+        }
+
+        String tag = entity + "-" + row.getId() + "-" + Long.toString(row.getVersion() == null ? 0 : row.getVersion(), 36);
+        return request.checkNotModified("\"" + tag + representation(request) + "\"", row.getUpdatedAt().toEpochMilli());
+    }
+
+    /**
+     * Row version a write must still find, taken from the {@code If-Match} tag of a GET of the same {@code entity}
+     * row; {@code null} when the write is unconditional. Weak tags, tags of other views or rows and lists of tags never
+     * match.
+     */
+    static Long ifMatchVersion(WebRequest request, String entity, String id) {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        Matcher matcher = ROW_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches() || !matcher.group(1).equals(entity) || !matcher.group(2).equalsIgnoreCase(id)) {
+            throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+        }
+        return Long.parseLong(matcher.group(3), 36);
+    }
+
+    private static void varyOnAccept(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null && !response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+    }
+
+    /**
+     * Entity tag suffix of the binary format the client prefers, empty for JSON.
+     */
+    private static String representation(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(mediaTypes);
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return "-cbor";
+            }
+            if (mediaType.equalsTypeAndSubtype(APPLICATION_SMILE)) {
+                return "-smile";
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+        }
+        return "";
+    }
+}
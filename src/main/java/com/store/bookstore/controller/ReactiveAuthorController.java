@@ -0,0 +1,62 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.service.ReactiveAuthorService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the read endpoints of {@link AuthorController}. Pages are returned as JSON like there;
+ * requesting {@code application/x-ndjson} instead streams every author after the cursor, one per line.
+ */
+@RestController
+@RequestMapping("/reactive")
+@RequiredArgsConstructor
+public class ReactiveAuthorController {
+
+    private final ReactiveAuthorService authorService;
+
+    @GetMapping("/author/{id}")
+    @Operation(summary = "Get author by ID (non-blocking)", description = "Retrieve an author's details by their ID without including their books.")
+    public Mono<AuthorResponseDto> getAuthor(@PathVariable String id) {
+        return authorService.getAuthorWithoutBooks(id);
+    }
+
+    @GetMapping("/author/full/{id}")
+    @Operation(summary = "Get author by ID with books (non-blocking)", description = "Retrieve an author's details by their ID including their books.")
+    public Mono<AuthorFullResponseDto> getAuthorFullInfo(@PathVariable String id) {
+        return authorService.getAuthorWithBooks(id);
+    }
+
+    @GetMapping("/authors")
+    @Operation(summary = "Get all authors (non-blocking)", description = "Retrieve a page of authors without including their books. Pass the returned nextCursor as 'after' to get the next page.")
+    public Mono<PageResponseDto<AuthorResponseDto>> getAuthors(@RequestParam(required = false) String after,
+                                                               @RequestParam(required = false) Integer limit) {
+        return authorService.getAuthorsWithoutBooks(after, limit);
+    }
+
+    @GetMapping(value = "/authors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all authors", description = "Stream every author after the cursor as newline-delimited JSON, at the pace the client reads.")
+    public Flux<AuthorResponseDto> streamAuthors(@RequestParam(required = false) String after) {
+        return authorService.streamAuthorsWithoutBooks(after);
+    }
+
+    @GetMapping("/authors/full")
+    @Operation(summary = "Get all authors with books (non-blocking)", description = "Retrieve a page of authors including their books. Pass the returned nextCursor as 'after' to get the next page.")
+    public Mono<PageResponseDto<AuthorFullResponseDto>> getFullAuthors(@RequestParam(required = false) String after,
+                                                                       @RequestParam(required = false) Integer limit) {
+        return authorService.getAuthorsWithBooks(after, limit);
+    }
+
+    @GetMapping(value = "/authors/full", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all authors with books", description = "Stream every author after the cursor with their books as newline-delimited JSON, at the pace the client reads.")
+    public Flux<AuthorFullResponseDto> streamFullAuthors(@RequestParam(required = false) String after) {
+        return authorService.streamAuthorsWithBooks(after);
+    }
+}
@@ -0,0 +1,55 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.service.ReactiveBookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the read endpoints of {@link BookController}. Pages are returned as JSON like there;
+ * requesting {@code application/x-ndjson} instead streams every book after the cursor, one per line.
+ */
+@RestController
+@RequestMapping("/reactive")
+@RequiredArgsConstructor
+public class ReactiveBookController {
+
+    private final ReactiveBookService bookService;
+
+    @GetMapping("/book/{id}")
+    public Mono<BookResponseDto> getBook(@PathVariable String id) {
+        return bookService.getBookWithoutAuthors(id);
+    }
+
+    @GetMapping("/book/full/{id}")
+    public Mono<BookFullResponseDto> getFullBook(@PathVariable String id) {
+        return bookService.getBookWithAuthors(id);
+    }
+
+    @GetMapping("/books")
+    public Mono<PageResponseDto<BookResponseDto>> getBooks(@RequestParam(required = false) String after,
+                                                           @RequestParam(required = false) Integer limit) {
+        return bookService.getBooksWithoutAuthors(after, limit);
+    }
+
+    @GetMapping(value = "/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookResponseDto> streamBooks(@RequestParam(required = false) String after) {
+        return bookService.streamBooksWithoutAuthors(after);
+    }
+
+    @GetMapping("/books/full")
+    public Mono<PageResponseDto<BookFullResponseDto>> getFullBooks(@RequestParam(required = false) String after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        return bookService.getBooksWithAuthors(after, limit);
+    }
+
+    @GetMapping(value = "/books/full", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookFullResponseDto> streamFullBooks(@RequestParam(required = false) String after) {
+        return bookService.streamBooksWithAuthors(after);
+    }
+}
@@ -0,0 +1,17 @@
+package com.store.bookstore.dto.author.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorUpdateRequestDto {
+    private String name;
+    private String surname;
+}
@@ -0,0 +1,23 @@
+package com.store.bookstore.dto.author.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of merging a book list into an author's books: how many rows each kind of statement touched, and the books
+ * after the merge.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorBooksMergeResponseDto {
+    private Integer inserted;
+    private Integer updated;
+    private Integer deleted;
+    private Integer unchanged;
+    private List<BookResponseDto> books;
+}
@@ -1,9 +1,11 @@
 package com.store.bookstore.dto.author.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.store.bookstore.dto.book.response.BookResponseDto;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.List;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -15,4 +17,15 @@ public class AuthorFullResponseDto {
     private String name;
     private String surname;
     private List<BookResponseDto> books;
+    /**
+     * Row version and update timestamp of the author itself, for the entity tag; each book carries its own.
+     */
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Instant updatedAt;
+
+    public AuthorFullResponseDto(String id, String name, String surname, List<BookResponseDto> books) {
+        this(id, name, surname, books, null, null);
+    }
 }
@@ -0,0 +1,18 @@
+package com.store.bookstore.dto.author.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The name of an author as a patch left it, all the patch needs to publish its change event.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorPatchRowDto {
+    private String name;
+    private String surname;
+}
@@ -1,8 +1,11 @@
 package com.store.bookstore.dto.author.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+import java.time.Instant;
+
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @AllArgsConstructor
@@ -11,4 +14,15 @@ public class AuthorResponseDto {
     private String id;
     private String name;
     private String surname;
+    /**
+     * Row version and update timestamp the author was read at, for the entity tag. Not serialized.
+     */
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Instant updatedAt;
+
+    public AuthorResponseDto(String id, String name, String surname) {
+        this(id, name, surname, null, null);
+    }
 }
@@ -12,4 +12,13 @@ public class BookCreateRequestDto {
     private String description;
     private Integer pageCount;
     private String authorId;
+    /**
+     * Existing book to update when the request is merged into an author's books, see
+     * {@code AuthorService.mergeAuthorBooks}. Ignored when creating books.
+     */
+    private String id;
+
+    public BookCreateRequestDto(String title, String description, Integer pageCount, String authorId) {
+        this(title, description, pageCount, authorId, null);
+    }
 }
@@ -0,0 +1,16 @@
+package com.store.bookstore.dto.book.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookBatchDeleteResponseDto {
+    private Integer deleted;
+    private Integer failed;
+    private List<BookBatchItemResultDto> results;
+}
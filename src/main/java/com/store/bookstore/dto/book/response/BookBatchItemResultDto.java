@@ -0,0 +1,22 @@
+package com.store.bookstore.dto.book.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookBatchItemResultDto {
+    public static final String CREATED = "CREATED";
+    public static final String DELETED = "DELETED";
+    public static final String FAILED = "FAILED";
+
+    /**
+     * Position of the book in the request.
+     */
+    private Integer index;
+    private String status;
+    private String id;
+    private String message;
+}
@@ -1,9 +1,11 @@
 package com.store.bookstore.dto.book.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.store.bookstore.dto.author.response.AuthorResponseDto;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -16,4 +18,15 @@ public class BookFullResponseDto {
     private String description;
     private Integer pageCount;
     private AuthorResponseDto author;
+    /**
+     * Row version and update timestamp of the book itself, for the entity tag; the author carries its own.
+     */
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Instant updatedAt;
+
+    public BookFullResponseDto(String id, String title, String description, Integer pageCount, AuthorResponseDto author) {
+        this(id, title, description, pageCount, author, null, null);
+    }
 }
@@ -0,0 +1,20 @@
+package com.store.bookstore.dto.book.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A book id with the id of its author, all a delete needs to publish its change event.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookOwnerRowDto {
+    private UUID bookId;
+    private UUID authorId;
+}
@@ -0,0 +1,21 @@
+package com.store.bookstore.dto.book.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * The author id and text of a book as a patch left them, all the patch needs to publish its change event.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookPatchRowDto {
+    private UUID authorId;
+    private String title;
+    private String description;
+}
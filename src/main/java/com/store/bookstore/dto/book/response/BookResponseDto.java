@@ -1,8 +1,10 @@
 package com.store.bookstore.dto.book.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -14,4 +16,15 @@ public class BookResponseDto {
     private String title;
     private String description;
     private Integer pageCount;
+    /**
+     * Row version and update timestamp the view was read at. They back the entity tag and are not serialized.
+     */
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Instant updatedAt;
+
+    public BookResponseDto(String id, String title, String description, Integer pageCount) {
+        this(id, title, description, pageCount, null, null);
+    }
 }
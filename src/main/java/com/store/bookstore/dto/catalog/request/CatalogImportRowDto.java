@@ -0,0 +1,23 @@
+package com.store.bookstore.dto.catalog.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One line of a catalog import: a book together with its author. Rows without a title only create the author.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogImportRowDto {
+    private String name;
+    private String surname;
+    private String title;
+    private String description;
+    private Integer pageCount;
+}
@@ -0,0 +1,32 @@
+package com.store.bookstore.dto.catalog.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogExportJobResponseDto {
+    private String id;
+    private String format;
+    private String status;
+    private Long rowsWritten;
+    private Long totalRows;
+    private Double progress;
+    /**
+     * Name of the export file, without the server directory.
+     */
+    private String file;
+    /**
+     * Path to download the file from, once the export completed.
+     */
+    private String downloadUrl;
+    private Long bytesWritten;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.store.bookstore.dto.catalog.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * One exported book with its author, in the same shape the catalog import reads.
+ */
+@JsonPropertyOrder({"bookId", "title", "description", "pageCount", "authorId", "name", "surname"})
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogExportRowDto {
+    private UUID bookId;
+    private String title;
+    private String description;
+    private Integer pageCount;
+    private UUID authorId;
+    private String name;
+    private String surname;
+}
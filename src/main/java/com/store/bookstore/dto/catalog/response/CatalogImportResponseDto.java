@@ -0,0 +1,19 @@
+package com.store.bookstore.dto.catalog.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogImportResponseDto {
+    private long rowsRead;
+    private long rowsFailed;
+    private long authorsCreated;
+    private long booksCreated;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
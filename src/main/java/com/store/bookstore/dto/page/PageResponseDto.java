@@ -0,0 +1,18 @@
+package com.store.bookstore.dto.page;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageResponseDto<T> {
+    private List<T> items;
+    /**
+     * Opaque cursor to pass as {@code after} to fetch the next page, {@code null} on the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.store.bookstore.dto.version;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Id, row version and update timestamp of a book or author, all a conditional GET needs to tag it. Rows of the full
+ * views also carry the related row: a book's author, or one of an author's books, {@code null} when there is none.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RowVersionDto {
+    private String id;
+    private Long version;
+    private Instant updatedAt;
+    private String relatedId;
+    private Long relatedVersion;
+    private Instant relatedUpdatedAt;
+
+    public RowVersionDto(String id, Long version, Instant updatedAt) {
+        this(id, version, updatedAt, null, null, null);
+    }
+}
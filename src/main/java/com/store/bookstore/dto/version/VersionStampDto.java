@@ -0,0 +1,113 @@
+package com.store.bookstore.dto.version;
+
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Summary of the rows behind a full view or page: a digest of their ids and row versions, how many there are and when
+ * the latest one changed. Any update bumps a version and the update timestamp, and any other set of rows changes the
+ * digest, so the stamp changes whenever the response would. It is built from {@link RowVersionDto} rows, which are
+ * cheap to query, or from a cached response; both give the same stamp for the same rows. Single rows are tagged with
+ * their own version instead.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VersionStampDto {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Digest of the ids and row versions of the rows.
+     */
+    private Long version;
+    private Long count;
+    /**
+     * Latest update timestamp of the rows, {@code null} when there are none or they predate versioning.
+     */
+    private Instant lastModified;
+
+    /**
+     * Stamp of a response made of the given book and author DTOs, including the ones nested in them, or of the given
+     * row versions in query order. A row repeating the previous row's id, as an author joined to each of its books
+     * does, only adds its related row. Rows written before versioning count as version 0.
+     */
+    public static VersionStampDto ofRows(Collection<?> rows) {
+        VersionStampDto stamp = new VersionStampDto(FNV_OFFSET_BASIS, 0L, null);
+        String previousId = null;
+        for (Object row : rows) {
+            if (row instanceof RowVersionDto rowVersion) {
+                if (!rowVersion.getId().equals(previousId)) {
+                    stamp.add(rowVersion.getId(), rowVersion.getVersion(), rowVersion.getUpdatedAt());
+                }
+                if (rowVersion.getRelatedId() != null) {
+                    stamp.add(rowVersion.getRelatedId(), rowVersion.getRelatedVersion(), rowVersion.getRelatedUpdatedAt());
+                }
+                previousId = rowVersion.getId();
+            } else {
+                stamp.add(row);
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * Whether the stamp can back conditional requests. Missing rows and rows written before versioning can't.
+     */
+    public boolean isPresent() {
+        return lastModified != null && count != null && count > 0;
+    }
+
+    /**
+     * Opaque entity tag value, without the quotes and weak prefix.
+     */
+    public String toETag() {
+        return Long.toUnsignedString(version, 36) + "-" + Long.toString(count, 36) + "-"
+                + Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH, lastModified), 36);
+    }
+
+    private void add(Object row) {
+        switch (row) {
+            case BookResponseDto book -> add(book.getId(), book.getVersion(), book.getUpdatedAt());
+            case BookFullResponseDto book -> {
+                add(book.getId(), book.getVersion(), book.getUpdatedAt());
+                if (book.getAuthor() != null) {
+                    add(book.getAuthor());
+                }
+            }
+            case AuthorResponseDto author -> add(author.getId(), author.getVersion(), author.getUpdatedAt());
+            case AuthorFullResponseDto author -> {
+                add(author.getId(), author.getVersion(), author.getUpdatedAt());
+                if (author.getBooks() != null) {
+                    // In id order, as the row version queries read them
+                    author.getBooks().stream()
+                            .sorted(Comparator.comparing(BookResponseDto::getId))
+                            .forEach(this::add);
+                }
+            }
+            default -> throw new IllegalArgumentException("Not a versioned response: " + row.getClass().getName());
+        }
+    }
+
+    private void add(String id, Long rowVersion, Instant updatedAt) {
+        // FNV-1a over the id and the version, so rows moving in or out of a page change the digest
+        long digest = version;
+        for (int i = 0; i < id.length(); i++) {
+            digest = (digest ^ id.charAt(i)) * FNV_PRIME;
+        }
+        version = (digest ^ (rowVersion == null ? 0L : rowVersion)) * FNV_PRIME;
+        count++;
+        if (updatedAt != null && (lastModified == null || updatedAt.isAfter(lastModified))) {
+            lastModified = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.store.bookstore.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Published by the services whenever an author is written. Changes to the author's books are published separately
+ * as {@link BookChangedEvent}s. Listeners run after the transaction commits.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AuthorChangedEvent {
+    private final ChangeType type;
+    private final UUID authorId;
+    /**
+     * Name of the author after the change, so listeners don't have to load it again. Not set for deletions, nor for
+     * partial updates that left the name alone.
+     */
+    private final String name;
+    private final String surname;
+
+    public AuthorChangedEvent(ChangeType type, UUID authorId) {
+        this(type, authorId, null, null);
+    }
+}
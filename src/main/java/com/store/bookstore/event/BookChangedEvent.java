@@ -0,0 +1,43 @@
+package com.store.bookstore.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Published by the services whenever a book is written, including books created or removed through their author.
+ * Listeners run after the transaction commits.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookChangedEvent {
+    private final ChangeType type;
+    private final UUID bookId;
+    /**
+     * Owner of the book, {@code null} when the writer did not know it.
+     */
+    private final UUID authorId;
+    /**
+     * Whether the event carries the text of the book. It doesn't for deletions, nor for partial updates that left the
+     * text alone.
+     */
+    private final boolean textChanged;
+    /**
+     * Text of the book after the change, so listeners don't have to load it again. Either may be {@code null} even
+     * when the text changed, a book can have neither.
+     */
+    private final String title;
+    private final String description;
+
+    public BookChangedEvent(ChangeType type, UUID bookId, UUID authorId) {
+        this(type, bookId, authorId, false, null, null);
+    }
+
+    public BookChangedEvent(ChangeType type, UUID bookId, UUID authorId, String title, String description) {
+        this(type, bookId, authorId, true, title, description);
+    }
+}
@@ -0,0 +1,7 @@
+package com.store.bookstore.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
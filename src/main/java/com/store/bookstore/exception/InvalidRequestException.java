@@ -0,0 +1,11 @@
+package com.store.bookstore.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends RuntimeException{
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
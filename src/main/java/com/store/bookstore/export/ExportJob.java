@@ -0,0 +1,59 @@
+package com.store.bookstore.export;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of one export run. Written by the export thread and read by status requests, so every mutable field is
+ * volatile or atomic.
+ */
+@Getter
+public class ExportJob {
+    private final UUID id;
+    private final ExportFormat format;
+    private final Path file;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile ExportStatus status = ExportStatus.QUEUED;
+    private volatile long totalRows;
+    private volatile long bytesWritten;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ExportJob(UUID id, ExportFormat format, Path file) {
+        this.id = id;
+        this.format = format;
+        this.file = file;
+    }
+
+    public void start(long totalRows) {
+        this.totalRows = totalRows;
+        this.startedAt = Instant.now();
+        this.status = ExportStatus.RUNNING;
+    }
+
+    public void rowWritten() {
+        rowsWritten.incrementAndGet();
+    }
+
+    public void complete(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+        this.finishedAt = Instant.now();
+        this.status = ExportStatus.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = ExportStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == ExportStatus.COMPLETED || status == ExportStatus.FAILED;
+    }
+}
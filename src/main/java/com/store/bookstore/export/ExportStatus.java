@@ -0,0 +1,8 @@
+package com.store.bookstore.export;
+
+public enum ExportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,84 @@
+package com.store.bookstore.mapper;
+
+import com.store.bookstore.dto.author.request.AuthorCreateRequestDto;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain field-by-field mapping between {@link Author} and its DTOs. Books are delegated to {@link BookMapper}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorMapper {
+
+    private final BookMapper bookMapper;
+
+    public AuthorResponseDto toResponseDto(Author author) {
+        if (author == null) {
+            return null;
+        }
+
+        return new AuthorResponseDto(Ids.of(author.getId()), author.getName(), author.getSurname(),
+                author.getVersion(), author.getUpdatedAt());
+    }
+
+    public AuthorFullResponseDto toFullResponseDto(Author author) {
+        if (author == null) {
+            return null;
+        }
+
+        return new AuthorFullResponseDto(Ids.of(author.getId()), author.getName(), author.getSurname(),
+                bookMapper.toResponseDtos(author.getBooks()), author.getVersion(), author.getUpdatedAt());
+    }
+
+    /**
+     * Maps the request to a new, unsaved author. The request id is ignored since ids are generated on insert;
+     * books are linked back to the author.
+     */
+    public Author toEntity(AuthorCreateRequestDto authorDto) {
+        if (authorDto == null) {
+            return null;
+        }
+
+        Author author = new Author();
+        author.setName(authorDto.getName());
+        author.setSurname(authorDto.getSurname());
+
+        if (authorDto.getBooks() != null) {
+            author.setBooks(toBookEntities(authorDto, author));
+        }
+        return author;
+    }
+
+    /**
+     * Maps the request books to new, unsaved books belonging to the given author.
+     */
+    public List<Book> toBookEntities(AuthorCreateRequestDto authorDto, Author author) {
+        List<Book> books = new ArrayList<>(authorDto.getBooks().size());
+        for (BookCreateRequestDto bookDto : authorDto.getBooks()) {
+            books.add(toBookEntity(bookDto, author));
+        }
+        return books;
+    }
+
+    public Book toBookEntity(BookCreateRequestDto bookDto, Author author) {
+        Book book = bookMapper.toEntity(bookDto);
+        book.setAuthor(author);
+        return book;
+    }
+
+    /**
+     * See {@link BookMapper#updateEntity}.
+     */
+    public boolean updateBookEntity(Book book, BookCreateRequestDto bookDto) {
+        return bookMapper.updateEntity(book, bookDto);
+    }
+}
@@ -0,0 +1,93 @@
+package com.store.bookstore.mapper;
+
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Plain field-by-field mapping between {@link Book} and its DTOs. No reflection or type-map lookups, so the cost
+ * is one allocation per DTO plus the UUID string.
+ */
+@Component
+public class BookMapper {
+
+    public BookResponseDto toResponseDto(Book book) {
+        if (book == null) {
+            return null;
+        }
+
+        return new BookResponseDto(Ids.of(book.getId()), book.getTitle(), book.getDescription(), book.getPageCount(),
+                book.getVersion(), book.getUpdatedAt());
+    }
+
+    public BookFullResponseDto toFullResponseDto(Book book) {
+        if (book == null) {
+            return null;
+        }
+
+        return new BookFullResponseDto(Ids.of(book.getId()), book.getTitle(), book.getDescription(), book.getPageCount(),
+                toAuthorResponseDto(book.getAuthor()), book.getVersion(), book.getUpdatedAt());
+    }
+
+    public List<BookResponseDto> toResponseDtos(List<Book> books) {
+        if (books == null) {
+            return null;
+        }
+
+        List<BookResponseDto> dtos = new ArrayList<>(books.size());
+        for (Book book : books) {
+            dtos.add(toResponseDto(book));
+        }
+        return dtos;
+    }
+
+    public Book toEntity(BookCreateRequestDto bookDto) {
+        if (bookDto == null) {
+            return null;
+        }
+
+        Book book = new Book();
+        book.setTitle(bookDto.getTitle());
+        book.setDescription(bookDto.getDescription());
+        book.setPageCount(bookDto.getPageCount());
+        return book;
+    }
+
+    /**
+     * Copies the request fields onto an existing book, touching only those that differ so Hibernate's dirty check
+     * leaves unchanged books alone. Returns whether anything changed.
+     */
+    public boolean updateEntity(Book book, BookCreateRequestDto bookDto) {
+        boolean changed = false;
+        if (!Objects.equals(book.getTitle(), bookDto.getTitle())) {
+            book.setTitle(bookDto.getTitle());
+            changed = true;
+        }
+        if (!Objects.equals(book.getDescription(), bookDto.getDescription())) {
+            book.setDescription(bookDto.getDescription());
+            changed = true;
+        }
+        if (!Objects.equals(book.getPageCount(), bookDto.getPageCount())) {
+            book.setPageCount(bookDto.getPageCount());
+            changed = true;
+        }
+        return changed;
+    }
+
+    private AuthorResponseDto toAuthorResponseDto(Author author) {
+        if (author == null) {
+            return null;
+        }
+
+        return new AuthorResponseDto(Ids.of(author.getId()), author.getName(), author.getSurname(), author.getVersion(),
+                author.getUpdatedAt());
+    }
+}
@@ -0,0 +1,19 @@
+package com.store.bookstore.mapper;
+
+import java.util.UUID;
+
+/**
+ * Id conversion shared by the mappers.
+ */
+final class Ids {
+
+    private Ids() {
+    }
+
+    /**
+     * String form of the id used in responses, {@code null} for an entity that was not saved yet.
+     */
+    static String of(UUID id) {
+        return id == null ? null : id.toString();
+    }
+}
@@ -4,7 +4,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,8 +17,12 @@ import java.util.UUID;
         name = "author",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"name", "surname"})
+        },
+        indexes = {
+                @Index(name = "idx_author_updated_at", columnList = "updated_at")
         }
 )
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author")
 @RequiredArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -26,9 +34,13 @@ public class Author {
     private UUID id;
     private String name;
     private String surname;
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JoinColumn(name = "author_id")
+    @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author.books")
     @JsonIgnore
     @JsonManagedReference
     private List<Book> books;
+    @Version
+    private Long version;
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
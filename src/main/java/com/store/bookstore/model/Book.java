@@ -3,10 +3,16 @@ package com.store.bookstore.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_book_updated_at", columnList = "updated_at"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book")
 @AllArgsConstructor
 @RequiredArgsConstructor
 @Builder
@@ -19,8 +25,12 @@ public class Book {
     private String title;
     private String description;
     private Integer pageCount;
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     @JsonBackReference
     private Author author;
+    @Version
+    private Long version;
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
@@ -0,0 +1,114 @@
+package com.store.bookstore.query;
+
+import com.store.bookstore.configuration.QueryBudgetProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Tracks the SQL statements each HTTP request executes and logs requests that exceed the statement or time budget,
+ * together with the statements they ran, as well as every statement slower than the slow-query threshold. With
+ * {@code expose-headers} on, the count and the total time go out as {@value #COUNT_HEADER} and {@value #TIME_HEADER}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private final QueryBudgetProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryTracker.start(properties.getMaxLoggedStatements());
+        StatsHeaderResponse headerResponse = properties.isExposeHeaders() ? new StatsHeaderResponse(response, stats) : null;
+        try {
+            filterChain.doFilter(request, headerResponse != null ? headerResponse : response);
+        } finally {
+            QueryTracker.stop();
+            if (headerResponse != null) {
+                headerResponse.writeHeaders();
+            }
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStats stats) {
+        long totalMillis = stats.getTotalTime().toMillis();
+        if (stats.getStatementCount() > properties.getMaxStatements()
+                || stats.getTotalTime().compareTo(properties.getMaxTime()) > 0) {
+            log.warn("{} {} exceeded the query budget of {} statements / {} ms: {} statements in {} ms{}",
+                    request.getMethod(), request.getRequestURI(), properties.getMaxStatements(),
+                    properties.getMaxTime().toMillis(), stats.getStatementCount(), totalMillis, stats.describe());
+        }
+        for (QueryStats.StatementStats statement : stats.getStatements()) {
+            if (statement.getMaxTime().compareTo(properties.getSlowQuery()) > 0) {
+                log.warn("Slow query in {} {}: {} ms (threshold {} ms): {}", request.getMethod(), request.getRequestURI(),
+                        statement.getMaxTime().toMillis(), properties.getSlowQuery().toMillis(), statement.getSql());
+            }
+        }
+    }
+
+    /**
+     * Adds the stats headers just before the body is first written, when the database work of a request is done but
+     * the response is not yet committed. Responses without a body get them when the chain returns.
+     */
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+
+        private StatsHeaderResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        private void writeHeaders() {
+            if (!isCommitted()) {
+                setHeader(COUNT_HEADER, Integer.toString(stats.getStatementCount()));
+                setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.2f", stats.getTotalTime().toNanos() / 1e6));
+            }
+        }
+    }
+}
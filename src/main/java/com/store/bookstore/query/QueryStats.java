@@ -0,0 +1,99 @@
+package com.store.bookstore.query;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Statements executed within one {@link QueryTracker} scope. Identical SQL strings are grouped, so an N+1 shows up as
+ * one statement with a high count instead of as a long list.
+ */
+public class QueryStats {
+
+    private final int maxDistinctStatements;
+
+    private final Map<String, StatementStats> statements = new LinkedHashMap<>();
+
+    private int statementCount;
+
+    private long totalNanos;
+
+    QueryStats(int maxDistinctStatements) {
+        this.maxDistinctStatements = maxDistinctStatements;
+    }
+
+    void record(String sql, long elapsedNanos) {
+        statementCount++;
+        totalNanos += elapsedNanos;
+
+        StatementStats statement = statements.get(sql);
+        if (statement == null && statements.size() < maxDistinctStatements) {
+            statement = new StatementStats(sql);
+            statements.put(sql, statement);
+        }
+        if (statement != null) {
+            statement.count++;
+            statement.totalNanos += elapsedNanos;
+            statement.maxNanos = Math.max(statement.maxNanos, elapsedNanos);
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * Distinct statements in the order they were first executed.
+     */
+    public Collection<StatementStats> getStatements() {
+        return Collections.unmodifiableCollection(statements.values());
+    }
+
+    /**
+     * One line per distinct statement with its count and time, most executed first.
+     */
+    public String describe() {
+        List<StatementStats> sorted = new ArrayList<>(statements.values());
+        sorted.sort(Comparator.comparingInt(StatementStats::getCount).reversed());
+
+        StringBuilder description = new StringBuilder();
+        for (StatementStats statement : sorted) {
+            description.append(String.format(Locale.ROOT, "%n  %4dx %8.2f ms  %s", statement.count, statement.totalNanos / 1e6, statement.sql));
+        }
+        int untracked = statementCount - sorted.stream().mapToInt(StatementStats::getCount).sum();
+        if (untracked > 0) {
+            description.append(String.format(Locale.ROOT, "%n  %4dx further statements not listed", untracked));
+        }
+        return description.toString();
+    }
+
+    public static final class StatementStats {
+        private final String sql;
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Duration getTotalTime() {
+            return Duration.ofNanos(totalNanos);
+        }
+
+        public Duration getMaxTime() {
+            return Duration.ofNanos(maxNanos);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.store.bookstore.query;
+
+/**
+ * Collects the SQL statements executed on the current thread between {@link #start} and {@link #stop}. Request handling
+ * and the {@code @Transactional} service calls it makes run on the request thread, so a thread-local scope covers
+ * everything a request sends to the database. Statements executed while no scope is active are not tracked.
+ */
+public final class QueryTracker {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryTracker() {
+    }
+
+    /**
+     * Starts a new scope on this thread, replacing any active one.
+     *
+     * @param maxDistinctStatements how many different SQL strings to keep; statements beyond that are only counted
+     */
+    public static QueryStats start(int maxDistinctStatements) {
+        QueryStats stats = new QueryStats(maxDistinctStatements);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Ends the scope on this thread and returns what it collected, or {@code null} when no scope was active.
+     */
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(sql, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.store.bookstore.query;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Reports every statement executed through the proxied data source to the {@link QueryTracker} of the calling thread.
+ * A JDBC batch counts as one statement, since it is one round trip.
+ */
+public class QueryTrackingListener implements QueryExecutionListener {
+
+    private static final String START = QueryTrackingListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long elapsedNanos = start == null ? 0 : System.nanoTime() - start;
+
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : String.join("; ", queryInfoList.stream().map(QueryInfo::getQuery).toList());
+        if (execInfo.isBatch()) {
+            sql = sql + " [batch of " + execInfo.getBatchSize() + "]";
+        }
+        QueryTracker.record(sql, elapsedNanos);
+    }
+}
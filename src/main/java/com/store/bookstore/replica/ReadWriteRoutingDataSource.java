@@ -0,0 +1,38 @@
+package com.store.bookstore.replica;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sends read-only transactions to the {@link ReplicaPool} and everything else to the primary. Connections are handed
+ * out lazily and only fetched at the first statement, once the transaction manager has marked them read-only, so
+ * the target is known by the time it is chosen.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final DataSource primary;
+
+    private final ReplicaPool replicaPool;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        super(primary);
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+        setReadOnlyDataSource(replicaPool);
+    }
+
+    public ReplicaPool getReplicaPool() {
+        return replicaPool;
+    }
+
+    @Override
+    public void close() throws IOException {
+        replicaPool.close();
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.store.bookstore.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps a client's reads on the primary for a while after it wrote, so it does not read around its own write from a
+ * replica that has not caught up yet. A write request sets the {@value #COOKIE} cookie for the read-your-writes
+ * window; requests carrying it are {@linkplain ReplicaRouting pinned} to the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "bookstore-primary";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final boolean enabled;
+
+    private final int windowSeconds;
+
+    /**
+     * @param enabled whether there are replicas to keep clients away from; without them the filter does nothing
+     */
+    public ReadYourWritesFilter(boolean enabled, Duration window) {
+        this.enabled = enabled;
+        this.windowSeconds = (int) Math.max(1, window.toSeconds());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            Cookie cookie = new Cookie(COOKIE, "1");
+            cookie.setMaxAge(windowSeconds);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+
+        boolean pinned = hasCookie(request) && ReplicaRouting.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (pinned) {
+                ReplicaRouting.unpin();
+            }
+        }
+    }
+
+    private static boolean hasCookie(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.store.bookstore.replica;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA transaction manager that keeps replica reads out of Hibernate's second-level cache. Read-only transactions that
+ * are not {@linkplain ReplicaRouting pinned} run on a replica, and a lagging replica would refill the regions a write
+ * just invalidated with the old rows, to be served for the whole TTL. Their entity managers only read from the cache
+ * ({@link CacheStoreMode#BYPASS}); everything else, including the pinned {@link com.store.bookstore.cache.CatalogCache}
+ * loads, fills it from the primary as usual.
+ */
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    public ReplicaAwareTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly() && !ReplicaRouting.isPinnedToPrimary()) {
+            setStoreMode(entityManager(), CacheStoreMode.BYPASS);
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        // An entity manager bound outside the transaction outlives it, so it must not keep the mode
+        EntityManager entityManager = entityManager();
+        if (entityManager != null && entityManager.isOpen()) {
+            setStoreMode(entityManager, CacheStoreMode.USE);
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    /**
+     * Queries follow the session's cache mode, while {@code find} derives its own from the entity manager's properties,
+     * so both are set.
+     */
+    private static void setStoreMode(EntityManager entityManager, CacheStoreMode storeMode) {
+        entityManager.setProperty(STORE_MODE, storeMode);
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.fromJpaModes(CacheRetrieveMode.USE, storeMode));
+    }
+
+    private EntityManager entityManager() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder != null ? holder.getEntityManager() : null;
+    }
+}
@@ -0,0 +1,142 @@
+package com.store.bookstore.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only connections from the replicas, taken round-robin from the healthy ones. A replica is marked down when
+ * it can't connect or its connection fails validation, and up again once a background check finds a valid connection
+ * on it. A replica whose pool is merely exhausted stays up, its read just goes elsewhere. When no replica hands out a
+ * connection, or the thread is {@linkplain ReplicaRouting pinned}, connections come from the primary.
+ */
+@Slf4j
+public class ReplicaPool extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final int validationTimeoutSeconds;
+
+    private final ScheduledExecutorService healthChecks;
+
+    public ReplicaPool(DataSource primary, List<? extends DataSource> replicas, Duration healthCheckInterval, Duration healthCheckTimeout) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size()).mapToObj((index) -> new Replica(replicas.get(index), index)).toList();
+        this.validationTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-health").daemon().factory());
+        this.healthChecks.scheduleWithFixedDelay(this::checkHealth, healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReplicaRouting.isPinnedToPrimary()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException ex) {
+                    if (!isPoolExhausted(ex)) {
+                        markDown(replica, ex);
+                    }
+                }
+            }
+        }
+
+        Connection connection = primary.getConnection();
+        connection.setReadOnly(true);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica connections use the configured credentials");
+    }
+
+    /**
+     * Number of replicas currently taking reads.
+     */
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter((replica) -> replica.healthy).count();
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    throw new SQLException("Connection is not valid");
+                }
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Read replica {} is back, reads are routed to it again", replica.index);
+                }
+            } catch (SQLException ex) {
+                // A saturated pool says nothing about the replica, so its state is left as it is
+                if (!isPoolExhausted(ex)) {
+                    markDown(replica, ex);
+                }
+            } catch (RuntimeException ex) {
+                markDown(replica, ex);
+            }
+        }
+    }
+
+    /**
+     * Whether the pool timed out waiting for a free connection. Hikari reports that as a transient connection
+     * exception, and only attaches a cause when the pool also failed to open new connections to the replica.
+     */
+    private static boolean isPoolExhausted(SQLException ex) {
+        return ex instanceof SQLTransientConnectionException && ex.getCause() == null;
+    }
+
+    private void markDown(Replica replica, Exception ex) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} is down, its reads go to the other replicas or the primary: {}", replica.index, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        healthChecks.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+
+        private final int index;
+
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource, int index) {
+            this.dataSource = dataSource;
+            this.index = index;
+        }
+    }
+}
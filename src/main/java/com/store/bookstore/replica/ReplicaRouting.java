@@ -0,0 +1,55 @@
+package com.store.bookstore.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the read-only transactions of the current thread to the primary. Requests that must see their own writes and
+ * cache loads, which would otherwise keep a row a lagging replica served, run pinned. Like the
+ * {@link com.store.bookstore.query.QueryTracker}, the scope is thread-local because requests run their service calls
+ * on the request thread.
+ * <p>
+ * The choice is made when a transaction takes its first connection, so pinning only affects transactions that have
+ * not executed a statement yet.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Pins this thread to the primary until {@link #unpin()}.
+     *
+     * @return {@code false} when the thread was pinned already, in which case the caller must not unpin it
+     */
+    public static boolean pinToPrimary() {
+        if (isPinnedToPrimary()) {
+            return false;
+        }
+        PINNED.set(Boolean.TRUE);
+        return true;
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    /**
+     * Runs {@code action} pinned to the primary, restoring the previous state afterwards.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean pinned = pinToPrimary();
+        try {
+            return action.get();
+        } finally {
+            if (pinned) {
+                unpin();
+            }
+        }
+    }
+}
@@ -1,14 +1,118 @@
 package com.store.bookstore.repository;
 
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto;
+import com.store.bookstore.dto.version.RowVersionDto;
 import com.store.bookstore.model.Author;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, UUID> {
+public interface AuthorRepository extends JpaRepository<Author, UUID>, AuthorRowWrites {
+    /**
+     * Joins a name and surname into the keys taken by {@link #findByNameKeyIn}. A control character, so it can't occur
+     * in either.
+     */
+    String NAME_KEY_SEPARATOR = "\u001f";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Author> findByName(String name);
     boolean existsByNameAndSurname(String name, String surname);
+
+    /**
+     * Authors whose name and surname, joined by {@link #NAME_KEY_SEPARATOR}, are among the {@code keys}. The
+     * {@code names} of those keys let the (name, surname) unique index narrow the rows before the keys are compared.
+     */
+    @Query("select a from Author a where a.name in :names and concat(a.name, '" + NAME_KEY_SEPARATOR + "', a.surname) in :keys")
+    List<Author> findByNameKeyIn(@Param("names") Collection<String> names, @Param("keys") Collection<String> keys);
+
+    List<Author> findAllByOrderByIdAsc(Limit limit);
+    List<Author> findByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    /**
+     * Read-only views of authors for responses without their books, selected as unmanaged rows.
+     */
+    @Query("select new com.store.bookstore.dto.author.response.AuthorResponseDto(cast(a.id as String), a.name, a.surname, a.version, "
+            + "a.updatedAt) from Author a where a.id = :id")
+    Optional<AuthorResponseDto> findResponseById(@Param("id") UUID id);
+
+    @Query("select new com.store.bookstore.dto.author.response.AuthorResponseDto(cast(a.id as String), a.name, a.surname, a.version, "
+            + "a.updatedAt) from Author a order by a.id")
+    List<AuthorResponseDto> findResponsesByOrderByIdAsc(Limit limit);
+
+    @Query("select new com.store.bookstore.dto.author.response.AuthorResponseDto(cast(a.id as String), a.name, a.surname, a.version, "
+            + "a.updatedAt) from Author a where a.id > :after order by a.id")
+    List<AuthorResponseDto> findResponsesByIdGreaterThanOrderByIdAsc(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Row versions of authors, and of their books for the full views, in id order. They answer conditional GETs from
+     * the primary key and foreign key indexes and the version columns, without the text or mapping of the rows. The full
+     * pages limit the authors, not the joined rows, so they take the page size as a plain parameter.
+     */
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(a.id as String), a.version, a.updatedAt) "
+            + "from Author a where a.id = :id")
+    Optional<RowVersionDto> findVersionById(@Param("id") UUID id);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(a.id as String), a.version, a.updatedAt) "
+            + "from Author a order by a.id")
+    List<RowVersionDto> findVersionsByOrderByIdAsc(Limit limit);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(a.id as String), a.version, a.updatedAt) "
+            + "from Author a where a.id > :after order by a.id")
+    List<RowVersionDto> findVersionsByIdGreaterThanOrderByIdAsc(@Param("after") UUID after, Limit limit);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(a.id as String), a.version, a.updatedAt, "
+            + "cast(b.id as String), b.version, b.updatedAt) "
+            + "from Author a left join a.books b where a.id = :id order by b.id")
+    List<RowVersionDto> findFullVersionsById(@Param("id") UUID id);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(a.id as String), a.version, a.updatedAt, "
+            + "cast(b.id as String), b.version, b.updatedAt) "
+            + "from Author a left join a.books b "
+            + "where a.id in (select p.id from Author p order by p.id limit :limit) order by a.id, b.id")
+    List<RowVersionDto> findFullVersionsByOrderByIdAsc(@Param("limit") int limit);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(a.id as String), a.version, a.updatedAt, "
+            + "cast(b.id as String), b.version, b.updatedAt) "
+            + "from Author a left join a.books b "
+            + "where a.id in (select p.id from Author p where p.id > :after order by p.id limit :limit) order by a.id, b.id")
+    List<RowVersionDto> findFullVersionsByIdGreaterThanOrderByIdAsc(@Param("after") UUID after, @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = "books")
+    Optional<Author> findWithBooksById(UUID id);
+
+    @EntityGraph(attributePaths = "books")
+    List<Author> findWithBooksByIdIn(Collection<UUID> ids);
+
+    /**
+     * All authors with their book counts as unmanaged rows. Must be consumed inside a transaction.
+     */
+    @Query("select new com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto(cast(a.id as String), a.name, a.surname, count(b)) "
+            + "from Author a left join a.books b group by a.id, a.name, a.surname")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AuthorSuggestionResponseDto> streamSuggestionRows();
+
+    /**
+     * All authors as unmanaged rows, without their books. Must be consumed inside a transaction.
+     */
+    @Query("select new com.store.bookstore.dto.author.response.AuthorResponseDto(cast(a.id as String), a.name, a.surname) from Author a")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AuthorResponseDto> streamResponses();
+
+    @Query("select new com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto(cast(a.id as String), a.name, a.surname, count(b)) "
+            + "from Author a left join a.books b where a.id in :ids group by a.id, a.name, a.surname")
+    List<AuthorSuggestionResponseDto> findSuggestionRowsByIdIn(@Param("ids") Collection<UUID> ids);
 }
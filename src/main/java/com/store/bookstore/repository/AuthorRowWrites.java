@@ -0,0 +1,25 @@
+package com.store.bookstore.repository;
+
+import com.store.bookstore.dto.author.response.AuthorPatchRowDto;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-row writes to authors that leave the rest of the second-level cache alone, see {@link SingleRowWrite}.
+ */
+public interface AuthorRowWrites {
+
+    /**
+     * Partial update in a single statement, see {@link BookRowWrites#patch}. Returns the name of the updated author,
+     * empty when no author was updated.
+     */
+    Optional<AuthorPatchRowDto> patch(UUID id, String name, String surname, Long version, Instant updatedAt);
+
+    /**
+     * Set-based delete returning the number of deleted rows, see {@link BookRowWrites#deleteRowById}. The author's
+     * books must be deleted first.
+     */
+    int deleteRowById(UUID id);
+}
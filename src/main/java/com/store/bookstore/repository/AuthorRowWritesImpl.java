@@ -0,0 +1,44 @@
+package com.store.bookstore.repository;
+
+import com.store.bookstore.dto.author.response.AuthorPatchRowDto;
+import com.store.bookstore.model.Author;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class AuthorRowWritesImpl implements AuthorRowWrites {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<AuthorPatchRowDto> patch(UUID id, String name, String surname, Long version, Instant updatedAt) {
+        SingleRowWrite write = SingleRowWrite.returning(entityManager, "update author set name = coalesce(:name, name), "
+                + "surname = coalesce(:surname, surname), version = coalesce(version, 0) + 1, updated_at = :updatedAt "
+                + "where id = :id and (:version is null or version = :version)", "name, surname", Author.class, id);
+        write.statement()
+                .addScalar("name", StandardBasicTypes.STRING)
+                .addScalar("surname", StandardBasicTypes.STRING)
+                .setParameter("id", id, StandardBasicTypes.UUID)
+                .setParameter("name", name, StandardBasicTypes.STRING)
+                .setParameter("surname", surname, StandardBasicTypes.STRING)
+                .setParameter("version", version, StandardBasicTypes.LONG)
+                .setParameter("updatedAt", updatedAt, StandardBasicTypes.INSTANT);
+        return write.executeReturning().stream()
+                .map((row) -> (Object[]) row)
+                .map((row) -> new AuthorPatchRowDto((String) row[0], (String) row[1]))
+                .findFirst();
+    }
+
+    @Override
+    public int deleteRowById(UUID id) {
+        SingleRowWrite write = SingleRowWrite.of(entityManager, "delete from author where id = :id", Author.class, id)
+                .evictingCollection(Author.class, "books", id);
+        write.statement().setParameter("id", id, StandardBasicTypes.UUID);
+        return write.execute();
+    }
+}
@@ -1,12 +1,121 @@
 package com.store.bookstore.repository;
 
+import com.store.bookstore.dto.book.response.BookOwnerRowDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.catalog.response.CatalogExportRowDto;
+import com.store.bookstore.dto.version.RowVersionDto;
 import com.store.bookstore.model.Book;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, UUID> {
+public interface BookRepository extends JpaRepository<Book, UUID>, BookRowWrites {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Book findByTitle(String title);
+
+    /**
+     * Read-only views of books for responses without the author. Only the response columns are selected and the rows
+     * are never attached to the persistence context, so there is no entity to hydrate or dirty-check.
+     */
+    @Query("select new com.store.bookstore.dto.book.response.BookResponseDto(cast(b.id as String), b.title, b.description, b.pageCount, "
+            + "b.version, b.updatedAt) "
+            + "from Book b where b.id = :id")
+    Optional<BookResponseDto> findResponseById(@Param("id") UUID id);
+
+    @Query("select new com.store.bookstore.dto.book.response.BookResponseDto(cast(b.id as String), b.title, b.description, b.pageCount, "
+            + "b.version, b.updatedAt) "
+            + "from Book b order by b.id")
+    List<BookResponseDto> findResponsesByOrderByIdAsc(Limit limit);
+
+    @Query("select new com.store.bookstore.dto.book.response.BookResponseDto(cast(b.id as String), b.title, b.description, b.pageCount, "
+            + "b.version, b.updatedAt) "
+            + "from Book b where b.id > :after order by b.id")
+    List<BookResponseDto> findResponsesByIdGreaterThanOrderByIdAsc(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Row versions of books, and of their authors for the full views, in the order of the reads above. They answer
+     * conditional GETs from the primary key index and the version columns, without the text or mapping of the rows.
+     */
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(b.id as String), b.version, b.updatedAt) "
+            + "from Book b where b.id = :id")
+    Optional<RowVersionDto> findVersionById(@Param("id") UUID id);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(b.id as String), b.version, b.updatedAt) "
+            + "from Book b order by b.id")
+    List<RowVersionDto> findVersionsByOrderByIdAsc(Limit limit);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(b.id as String), b.version, b.updatedAt) "
+            + "from Book b where b.id > :after order by b.id")
+    List<RowVersionDto> findVersionsByIdGreaterThanOrderByIdAsc(@Param("after") UUID after, Limit limit);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(b.id as String), b.version, b.updatedAt, "
+            + "cast(a.id as String), a.version, a.updatedAt) "
+            + "from Book b left join b.author a where b.id = :id")
+    Optional<RowVersionDto> findFullVersionById(@Param("id") UUID id);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(b.id as String), b.version, b.updatedAt, "
+            + "cast(a.id as String), a.version, a.updatedAt) "
+            + "from Book b left join b.author a order by b.id")
+    List<RowVersionDto> findFullVersionsByOrderByIdAsc(Limit limit);
+
+    @Query("select new com.store.bookstore.dto.version.RowVersionDto(cast(b.id as String), b.version, b.updatedAt, "
+            + "cast(a.id as String), a.version, a.updatedAt) "
+            + "from Book b left join b.author a where b.id > :after order by b.id")
+    List<RowVersionDto> findFullVersionsByIdGreaterThanOrderByIdAsc(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Multi-row delete. Like any JPQL update or delete it makes Hibernate empty the whole {@code book} and
+     * {@code author.books} cache regions, unlike the writes of {@link BookRowWrites}.
+     */
+    @Modifying
+    @Query("delete from Book b where b.id in :ids")
+    int deleteRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select b.author.id from Book b where b.id = :id")
+    Optional<UUID> findAuthorIdById(@Param("id") UUID id);
+
+    @Query("select b.id from Book b where b.author.id = :authorId")
+    List<UUID> findIdsByAuthorId(@Param("authorId") UUID authorId);
+
+    /**
+     * Owners of the given books, locked until the transaction ends so a following {@link #deleteRowsByIdIn} deletes
+     * exactly these rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.store.bookstore.dto.book.response.BookOwnerRowDto(b.id, b.author.id) from Book b where b.id in :ids")
+    List<BookOwnerRowDto> findOwnersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = "author")
+    Optional<Book> findWithAuthorById(UUID id);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findWithAuthorAllByOrderByIdAsc(Limit limit);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findWithAuthorByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    /**
+     * Forward-only scan of all books with their authors as unmanaged rows. Must be consumed inside a transaction,
+     * which also lets the PostgreSQL driver fetch through a cursor instead of buffering the result set.
+     */
+    @Query("select new com.store.bookstore.dto.catalog.response.CatalogExportRowDto(b.id, b.title, b.description, b.pageCount, a.id, a.name, a.surname) "
+            + "from Book b join b.author a")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CatalogExportRowDto> streamExportRows();
 }
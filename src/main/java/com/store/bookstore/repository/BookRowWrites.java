@@ -0,0 +1,35 @@
+package com.store.bookstore.repository;
+
+import com.store.bookstore.dto.book.response.BookPatchRowDto;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Writes to single books, or to the known books of one author, that leave the rest of the second-level cache alone,
+ * see {@link SingleRowWrite}.
+ */
+public interface BookRowWrites {
+
+    /**
+     * Partial update in a single statement, without loading the book: {@code null} arguments leave their column as it
+     * is. The version is bumped like Hibernate would and, when {@code version} is given, only a book still at that
+     * version is updated. Returns the author id and text of the updated book, empty when no book was updated.
+     */
+    Optional<BookPatchRowDto> patch(UUID id, String title, String description, Integer pageCount, Long version, Instant updatedAt);
+
+    /**
+     * Set-based delete returning the number of deleted rows. Nothing is loaded first and nothing cascades, so the
+     * caller reads the ids its change events need beforehand. {@code authorId} is the owner whose cached book
+     * collection is evicted.
+     */
+    int deleteRowById(UUID id, UUID authorId);
+
+    /**
+     * Set-based delete of an author's books, see {@link #deleteRowById}. {@code ids} are the author's books, read
+     * beforehand; only their entries and the author's cached book collection are evicted.
+     */
+    int deleteRowsByAuthorId(UUID authorId, Collection<UUID> ids);
+}
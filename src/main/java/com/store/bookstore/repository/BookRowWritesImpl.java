@@ -0,0 +1,58 @@
+package com.store.bookstore.repository;
+
+import com.store.bookstore.dto.book.response.BookPatchRowDto;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class BookRowWritesImpl implements BookRowWrites {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<BookPatchRowDto> patch(UUID id, String title, String description, Integer pageCount, Long version,
+                                           Instant updatedAt) {
+        SingleRowWrite write = SingleRowWrite.returning(entityManager, "update book set title = coalesce(:title, title), "
+                + "description = coalesce(:description, description), page_count = coalesce(:pageCount, page_count), "
+                + "version = coalesce(version, 0) + 1, updated_at = :updatedAt "
+                + "where id = :id and (:version is null or version = :version)", "author_id, title, description", Book.class, id);
+        write.statement()
+                .addScalar("author_id", StandardBasicTypes.UUID)
+                .addScalar("title", StandardBasicTypes.STRING)
+                .addScalar("description", StandardBasicTypes.STRING)
+                .setParameter("id", id, StandardBasicTypes.UUID)
+                .setParameter("title", title, StandardBasicTypes.STRING)
+                .setParameter("description", description, StandardBasicTypes.STRING)
+                .setParameter("pageCount", pageCount, StandardBasicTypes.INTEGER)
+                .setParameter("version", version, StandardBasicTypes.LONG)
+                .setParameter("updatedAt", updatedAt, StandardBasicTypes.INSTANT);
+        return write.executeReturning().stream()
+                .map((row) -> (Object[]) row)
+                .map((row) -> new BookPatchRowDto((UUID) row[0], (String) row[1], (String) row[2]))
+                .findFirst();
+    }
+
+    @Override
+    public int deleteRowById(UUID id, UUID authorId) {
+        SingleRowWrite write = SingleRowWrite.of(entityManager, "delete from book where id = :id", Book.class, id)
+                .evictingCollection(Author.class, "books", authorId);
+        write.statement().setParameter("id", id, StandardBasicTypes.UUID);
+        return write.execute();
+    }
+
+    @Override
+    public int deleteRowsByAuthorId(UUID authorId, Collection<UUID> ids) {
+        SingleRowWrite write = SingleRowWrite.ofRows(entityManager, "delete from book where author_id = :authorId", Book.class, ids)
+                .evictingCollection(Author.class, "books", authorId);
+        write.statement().setParameter("authorId", authorId, StandardBasicTypes.UUID);
+        return write.execute();
+    }
+}
@@ -0,0 +1,162 @@
+package com.store.bookstore.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.store.bookstore.exception.InvalidRequestException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.*;
+
+/**
+ * Fields a client asked for with {@code ?fields=title,pageCount}, validated against the response DTO. Nested fields of
+ * the DTO's relation are selected with a dot ({@code books.title}), the relation name alone selects all of its fields.
+ * The {@code id} of every object is always returned, since clients need it to identify rows and pages need it for
+ * their cursor.
+ * <p>
+ * The scalar fields of the response DTOs are named after the entity attributes they come from, which lets
+ * {@link SparseFieldsetRepository} select them by name. Fields that are never serialized can't be selected.
+ */
+public final class FieldSelection {
+
+    static final String ID = "id";
+
+    private static final ClassValue<Schema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected Schema computeValue(Class<?> type) {
+            return Schema.of(type);
+        }
+    };
+
+    private final Set<String> fields;
+    private final String relation;
+    private final Set<String> relationFields;
+
+    private FieldSelection(Set<String> fields, String relation, Set<String> relationFields) {
+        this.fields = fields;
+        this.relation = relation;
+        this.relationFields = relationFields;
+    }
+
+    /**
+     * Parses a comma-separated field list against the fields of {@code dto}.
+     */
+    public static FieldSelection parse(String fields, Class<?> dto) {
+        Schema schema = SCHEMAS.get(dto);
+        Set<String> selected = new LinkedHashSet<>();
+        Set<String> selectedRelationFields = null;
+
+        for (String token : fields.split(",")) {
+            String field = token.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+
+            int dot = field.indexOf('.');
+            String head = dot < 0 ? field : field.substring(0, dot);
+            if (schema.relation != null && schema.relation.equals(head)) {
+                if (selectedRelationFields == null) {
+                    selectedRelationFields = new LinkedHashSet<>();
+                }
+                if (dot < 0) {
+                    selectedRelationFields.addAll(schema.relationFields);
+                } else {
+                    selectedRelationFields.add(validate(field.substring(dot + 1), schema.relationFields, field));
+                }
+            } else if (dot < 0 && (ID.equals(field) || schema.fields.contains(field))) {
+                selected.add(field);
+            } else {
+                throw new InvalidRequestException("Unknown field: " + field);
+            }
+        }
+
+        selected.remove(ID);
+        if (selectedRelationFields != null) {
+            selectedRelationFields.remove(ID);
+        }
+        return new FieldSelection(selected, schema.relation, selectedRelationFields);
+    }
+
+    /**
+     * Selected scalar fields, without {@code id}.
+     */
+    public Set<String> getFields() {
+        return Collections.unmodifiableSet(fields);
+    }
+
+    public boolean contains(String field) {
+        return ID.equals(field) || fields.contains(field);
+    }
+
+    /**
+     * Whether any field of the relation was selected; an unselected relation is not loaded at all.
+     */
+    public boolean isRelationSelected() {
+        return relationFields != null;
+    }
+
+    /**
+     * Selected scalar fields of the relation, without {@code id}; empty when the relation is not selected.
+     */
+    public Set<String> getRelationFields() {
+        return relationFields == null ? Set.of() : Collections.unmodifiableSet(relationFields);
+    }
+
+    public boolean containsRelationField(String field) {
+        return relationFields != null && (ID.equals(field) || relationFields.contains(field));
+    }
+
+    public String getRelation() {
+        return relation;
+    }
+
+    private static String validate(String field, Set<String> allowed, String path) {
+        if (!ID.equals(field) && !allowed.contains(field)) {
+            throw new InvalidRequestException("Unknown field: " + path);
+        }
+        return field;
+    }
+
+    /**
+     * Scalar fields of a DTO and its single relation, which is either another DTO or a list of them.
+     */
+    private record Schema(Set<String> fields, String relation, Set<String> relationFields) {
+
+        static Schema of(Class<?> dto) {
+            Set<String> fields = new LinkedHashSet<>();
+            String relation = null;
+            Set<String> relationFields = Set.of();
+
+            for (Field field : dto.getDeclaredFields()) {
+                if (!isSerialized(field)) {
+                    continue;
+                }
+                Class<?> type = field.getType();
+                if (List.class.isAssignableFrom(type)) {
+                    type = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+                }
+                if (type.getSimpleName().endsWith("Dto")) {
+                    relation = field.getName();
+                    relationFields = scalarFields(type);
+                } else if (!ID.equals(field.getName())) {
+                    fields.add(field.getName());
+                }
+            }
+            return new Schema(fields, relation, relationFields);
+        }
+
+        private static Set<String> scalarFields(Class<?> dto) {
+            Set<String> fields = new LinkedHashSet<>();
+            for (Field field : dto.getDeclaredFields()) {
+                if (isSerialized(field) && !ID.equals(field.getName())) {
+                    fields.add(field.getName());
+                }
+            }
+            return fields;
+        }
+
+        private static boolean isSerialized(Field field) {
+            return !Modifier.isStatic(field.getModifiers()) && !field.isAnnotationPresent(JsonIgnore.class);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.store.bookstore.repository;
+
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of authors over R2DBC, mapped straight to the response DTOs. Full authors are read with one join
+ * query, ordered by author, and assembled as each author's last row arrives. Each read holds a single connection, so
+ * concurrent streams can't exhaust the pool waiting on connections of their own.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveAuthorRepository {
+
+    private static final int FETCH_SIZE = 250;
+
+    private static final String AUTHOR_COLUMNS = "a.id, a.name, a.surname";
+    private static final String FULL_AUTHOR_COLUMNS = AUTHOR_COLUMNS + ", b.id as book_id, b.title, b.description, b.page_count";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<AuthorResponseDto> findById(UUID id) {
+        return databaseClient.sql("select " + AUTHOR_COLUMNS + " from author a where a.id = :id")
+                .bind("id", id)
+                .map(ReactiveAuthorRepository::toAuthor)
+                .one();
+    }
+
+    public Mono<AuthorFullResponseDto> findFullById(UUID id) {
+        return withBooks(databaseClient.sql("select " + FULL_AUTHOR_COLUMNS + " from author a left join book b on b.author_id = a.id"
+                        + " where a.id = :id order by b.id")
+                .bind("id", id))
+                .next();
+    }
+
+    /**
+     * Authors with an id greater than {@code after} (all authors when {@code null}), at most {@code limit} of them
+     * (unbounded when {@code null}).
+     */
+    public Flux<AuthorResponseDto> findAfter(UUID after, Integer limit) {
+        return page(pageQuery(after, limit), after, limit)
+                .map(ReactiveAuthorRepository::toAuthor)
+                .all();
+    }
+
+    public Flux<AuthorFullResponseDto> findFullAfter(UUID after, Integer limit) {
+        return withBooks(page("select " + FULL_AUTHOR_COLUMNS + " from (" + pageQuery(after, limit) + ") a"
+                + " left join book b on b.author_id = a.id order by a.id, b.id", after, limit));
+    }
+
+    private static String pageQuery(UUID after, Integer limit) {
+        StringBuilder sql = new StringBuilder("select " + AUTHOR_COLUMNS + " from author a");
+        if (after != null) {
+            sql.append(" where a.id > :after");
+        }
+        sql.append(" order by a.id");
+        if (limit != null) {
+            sql.append(" limit :limit");
+        }
+        return sql.toString();
+    }
+
+    private DatabaseClient.GenericExecuteSpec page(String sql, UUID after, Integer limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .filter((statement) -> statement.fetchSize(FETCH_SIZE));
+        if (after != null) {
+            spec = spec.bind("after", after);
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec;
+    }
+
+    /**
+     * Groups the rows of an author joined with their books, ordered by author, into one full author each. Authors
+     * without books come as a single row without a book.
+     */
+    private static Flux<AuthorFullResponseDto> withBooks(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.map((row) -> new AuthorBookRow(toAuthor(row), toBook(row)))
+                .all()
+                .bufferUntilChanged((row) -> row.author().getId())
+                .map((rows) -> {
+                    AuthorResponseDto author = rows.get(0).author();
+                    List<BookResponseDto> books = new ArrayList<>(rows.size());
+                    for (AuthorBookRow row : rows) {
+                        if (row.book() != null) {
+                            books.add(row.book());
+                        }
+                    }
+                    return new AuthorFullResponseDto(author.getId(), author.getName(), author.getSurname(), books);
+                });
+    }
+
+    private static AuthorResponseDto toAuthor(Readable row) {
+        return new AuthorResponseDto(row.get("id", UUID.class).toString(), row.get("name", String.class),
+                row.get("surname", String.class));
+    }
+
+    private static BookResponseDto toBook(Readable row) {
+        UUID id = row.get("book_id", UUID.class);
+        if (id == null) {
+            return null;
+        }
+        return new BookResponseDto(id.toString(), row.get("title", String.class), row.get("description", String.class),
+                row.get("page_count", Integer.class));
+    }
+
+    private record AuthorBookRow(AuthorResponseDto author, BookResponseDto book) {
+    }
+}
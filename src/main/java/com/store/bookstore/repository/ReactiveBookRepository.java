@@ -0,0 +1,92 @@
+package com.store.bookstore.repository;
+
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of books over R2DBC, mapped straight to the response DTOs. Lists are ordered by id and read
+ * {@value #FETCH_SIZE} rows at a time, so a slow subscriber holds back the database cursor instead of buffering rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+    private static final int FETCH_SIZE = 250;
+
+    private static final String BOOK_COLUMNS = "b.id, b.title, b.description, b.page_count";
+    private static final String FULL_BOOK_COLUMNS = BOOK_COLUMNS + ", a.id as author_id, a.name, a.surname";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<BookResponseDto> findById(UUID id) {
+        return databaseClient.sql("select " + BOOK_COLUMNS + " from book b where b.id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toBook)
+                .one();
+    }
+
+    public Mono<BookFullResponseDto> findFullById(UUID id) {
+        return databaseClient.sql("select " + FULL_BOOK_COLUMNS + " from book b join author a on a.id = b.author_id where b.id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toFullBook)
+                .one();
+    }
+
+    /**
+     * Books with an id greater than {@code after} (all books when {@code null}), at most {@code limit} of them
+     * (unbounded when {@code null}).
+     */
+    public Flux<BookResponseDto> findAfter(UUID after, Integer limit) {
+        return page("select " + BOOK_COLUMNS + " from book b", after, limit)
+                .map(ReactiveBookRepository::toBook)
+                .all();
+    }
+
+    public Flux<BookFullResponseDto> findFullAfter(UUID after, Integer limit) {
+        return page("select " + FULL_BOOK_COLUMNS + " from book b join author a on a.id = b.author_id", after, limit)
+                .map(ReactiveBookRepository::toFullBook)
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec page(String select, UUID after, Integer limit) {
+        StringBuilder sql = new StringBuilder(select);
+        if (after != null) {
+            sql.append(" where b.id > :after");
+        }
+        sql.append(" order by b.id");
+        if (limit != null) {
+            sql.append(" limit :limit");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter((statement) -> statement.fetchSize(FETCH_SIZE));
+        if (after != null) {
+            spec = spec.bind("after", after);
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec;
+    }
+
+    private static BookResponseDto toBook(Readable row) {
+        return new BookResponseDto(row.get("id", UUID.class).toString(), row.get("title", String.class),
+                row.get("description", String.class), row.get("page_count", Integer.class));
+    }
+
+    private static BookFullResponseDto toFullBook(Readable row) {
+        AuthorResponseDto author = new AuthorResponseDto(row.get("author_id", UUID.class).toString(),
+                row.get("name", String.class), row.get("surname", String.class));
+        return new BookFullResponseDto(row.get("id", UUID.class).toString(), row.get("title", String.class),
+                row.get("description", String.class), row.get("page_count", Integer.class), author);
+    }
+}
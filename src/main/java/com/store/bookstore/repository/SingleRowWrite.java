@@ -0,0 +1,138 @@
+package com.store.bookstore.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Update or delete of a single row, or of rows whose ids are known, that keeps the rest of the second-level cache.
+ * Hibernate can't tell which rows a JPQL update or delete touches, so after one it empties the entity's region and
+ * every collection region holding the entity. This statement is native SQL declared on a query space no region uses,
+ * and only the written rows' entries and the given collection entry are evicted: right after the statement, and again once the transaction completes, so a
+ * concurrent read of the old row can't stay cached. Cached query results over the table are invalidated as for any
+ * write.
+ * <p>
+ * A statement can also return columns of the written row, saving the read that would follow it. PostgreSQL does that
+ * with {@code returning}; H2, which lacks it, selects them from the data change delta table of the statement.
+ */
+final class SingleRowWrite {
+
+    private static final String QUERY_SPACE = "single_row_write";
+
+    private final EntityManager entityManager;
+
+    private final NativeQuery<?> statement;
+
+    private final Class<?> entityClass;
+
+    private final Collection<?> ids;
+
+    private String collectionRole;
+
+    private Object ownerId;
+
+    private SingleRowWrite(EntityManager entityManager, String sql, Class<?> entityClass, Collection<?> ids) {
+        this.entityManager = entityManager;
+        this.statement = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedQuerySpace(QUERY_SPACE);
+        this.entityClass = entityClass;
+        this.ids = ids;
+    }
+
+    /**
+     * Statement writing the row of the {@code entityClass} entity with the given {@code id}.
+     */
+    static SingleRowWrite of(EntityManager entityManager, String sql, Class<?> entityClass, Object id) {
+        return new SingleRowWrite(entityManager, sql, entityClass, List.of(id));
+    }
+
+    /**
+     * Statement writing the rows of the {@code entityClass} entities with the given {@code ids}, read beforehand. Rows
+     * the statement writes beyond them keep their cache entries, so it must not reach any.
+     */
+    static SingleRowWrite ofRows(EntityManager entityManager, String sql, Class<?> entityClass, Collection<?> ids) {
+        return new SingleRowWrite(entityManager, sql, entityClass, List.copyOf(ids));
+    }
+
+    /**
+     * Statement writing the row like {@link #of} that also returns the given {@code columns} of the row as written, read
+     * with {@link #executeReturning()}.
+     */
+    static SingleRowWrite returning(EntityManager entityManager, String sql, String columns, Class<?> entityClass, Object id) {
+        boolean h2 = entityManager.unwrap(SharedSessionContractImplementor.class).getJdbcServices().getDialect() instanceof H2Dialect;
+        String returningSql = h2 ? "select " + columns + " from final table (" + sql + ")" : sql + " returning " + columns;
+        return new SingleRowWrite(entityManager, returningSql, entityClass, List.of(id));
+    }
+
+    /**
+     * Also evicts the cached {@code role} collection of {@code ownerId}, when that is not {@code null}.
+     */
+    SingleRowWrite evictingCollection(Class<?> ownerClass, String role, Object ownerId) {
+        this.collectionRole = ownerClass.getName() + "." + role;
+        this.ownerId = ownerId;
+        return this;
+    }
+
+    NativeQuery<?> statement() {
+        return statement;
+    }
+
+    int execute() {
+        return write(statement::executeUpdate);
+    }
+
+    /**
+     * Runs a {@link #returning} statement; the list holds the written row, empty when none was.
+     */
+    List<?> executeReturning() {
+        return write(statement::getResultList);
+    }
+
+    private <T> T write(Supplier<T> action) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        CacheImplementor cache = session.getFactory().getCache();
+        TimestampsCache timestamps = session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled() ? cache.getTimestampsCache() : null;
+        String[] tables = Arrays.stream(session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass).getQuerySpaces())
+                .map(String.class::cast)
+                .toArray(String[]::new);
+
+        if (timestamps != null) {
+            timestamps.preInvalidate(tables, session);
+        }
+        T result = action.get();
+        evict(cache);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(cache);
+                    if (timestamps != null) {
+                        timestamps.invalidate(tables, session);
+                    }
+                }
+            });
+        } else if (timestamps != null) {
+            timestamps.invalidate(tables, session);
+        }
+        return result;
+    }
+
+    private void evict(CacheImplementor cache) {
+        for (Object id : ids) {
+            cache.evictEntityData(entityClass, id);
+        }
+        if (collectionRole != null && ownerId != null) {
+            cache.evictCollectionData(collectionRole, ownerId);
+        }
+    }
+}
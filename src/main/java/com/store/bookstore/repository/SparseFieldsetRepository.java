@@ -0,0 +1,154 @@
+package com.store.bookstore.repository;
+
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Reads books and authors with only the columns a {@link FieldSelection} asks for. The JPQL is generated per selection
+ * and its tuples are mapped straight to the response DTOs, so unselected columns are neither read nor serialized and
+ * nothing is attached to the persistence context. Unselected fields stay {@code null} and are left out of the JSON.
+ * The row version and update timestamp are always read along with the id, for the entity tag.
+ * <p>
+ * Every method reads the row with the given {@code id} when it is not {@code null}, and otherwise the page of rows
+ * after {@code after} (from the start when {@code null}) in id order. Like the Spring Data repositories, each method
+ * runs in a read-only transaction unless the caller already has one.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SparseFieldsetRepository {
+
+    private static final String RELATION_PREFIX = "r_";
+
+    private final EntityManager entityManager;
+
+    public List<BookResponseDto> findBooks(FieldSelection selection, UUID id, UUID after, Limit limit) {
+        return select("Book", "b", selection, null, id, after, limit).stream()
+                .map((row) -> toBook(row, selection::contains))
+                .toList();
+    }
+
+    public List<BookFullResponseDto> findFullBooks(FieldSelection selection, UUID id, UUID after, Limit limit) {
+        return select("Book", "b", selection, "b.author", id, after, limit).stream()
+                .map((row) -> {
+                    BookResponseDto book = toBook(row, selection::contains);
+                    AuthorResponseDto author = selection.isRelationSelected()
+                            ? toAuthor(row, selection::containsRelationField, RELATION_PREFIX)
+                            : null;
+                    return new BookFullResponseDto(book.getId(), book.getTitle(), book.getDescription(), book.getPageCount(), author,
+                            book.getVersion(), book.getUpdatedAt());
+                })
+                .toList();
+    }
+
+    public List<AuthorResponseDto> findAuthors(FieldSelection selection, UUID id, UUID after, Limit limit) {
+        return select("Author", "a", selection, null, id, after, limit).stream()
+                .map((row) -> toAuthor(row, selection::contains, ""))
+                .toList();
+    }
+
+    /**
+     * Authors with their selected book fields, read with one query for the authors and one for the books of all of
+     * them. Books are not read at all when none of their fields were selected.
+     */
+    public List<AuthorFullResponseDto> findFullAuthors(FieldSelection selection, UUID id, UUID after, Limit limit) {
+        List<AuthorResponseDto> authors = findAuthors(selection, id, after, limit);
+        Map<String, List<BookResponseDto>> booksByAuthor = selection.isRelationSelected() && !authors.isEmpty()
+                ? findBooksByAuthor(selection, authors.stream().map((author) -> UUID.fromString(author.getId())).toList())
+                : Map.of();
+
+        return authors.stream()
+                .map((author) -> new AuthorFullResponseDto(author.getId(), author.getName(), author.getSurname(),
+                        selection.isRelationSelected() ? booksByAuthor.getOrDefault(author.getId(), List.of()) : null,
+                        author.getVersion(), author.getUpdatedAt()))
+                .toList();
+    }
+
+    private Map<String, List<BookResponseDto>> findBooksByAuthor(FieldSelection selection, List<UUID> authorIds) {
+        StringBuilder jpql = new StringBuilder("select b.author.id as author_id, b.id as id, b.version as version, b.updatedAt as updatedAt");
+        for (String field : selection.getRelationFields()) {
+            jpql.append(", b.").append(field).append(" as ").append(field);
+        }
+        jpql.append(" from Book b where b.author.id in :authorIds order by b.id");
+
+        Map<String, List<BookResponseDto>> booksByAuthor = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(jpql.toString(), Tuple.class).setParameter("authorIds", authorIds).getResultList()) {
+            booksByAuthor.computeIfAbsent(row.get("author_id", UUID.class).toString(), (authorId) -> new ArrayList<>())
+                    .add(toBook(row, selection::containsRelationField));
+        }
+        return booksByAuthor;
+    }
+
+    /**
+     * Selects the id, version and selected fields of {@code entity}, plus those of the single-valued {@code relation}
+     * when it is given and selected.
+     */
+    private List<Tuple> select(String entity, String alias, FieldSelection selection, String relation, UUID id, UUID after, Limit limit) {
+        StringBuilder jpql = new StringBuilder("select ").append(alias).append(".id as id, ")
+                .append(alias).append(".version as version, ").append(alias).append(".updatedAt as updatedAt");
+        for (String field : selection.getFields()) {
+            jpql.append(", ").append(alias).append('.').append(field).append(" as ").append(field);
+        }
+
+        boolean joinRelation = relation != null && selection.isRelationSelected();
+        if (joinRelation) {
+            jpql.append(", r.id as ").append(RELATION_PREFIX).append("id, r.version as ").append(RELATION_PREFIX)
+                    .append("version, r.updatedAt as ").append(RELATION_PREFIX).append("updatedAt");
+            for (String field : selection.getRelationFields()) {
+                jpql.append(", r.").append(field).append(" as ").append(RELATION_PREFIX).append(field);
+            }
+        }
+
+        jpql.append(" from ").append(entity).append(' ').append(alias);
+        if (joinRelation) {
+            jpql.append(" join ").append(relation).append(" r");
+        }
+        if (id != null) {
+            jpql.append(" where ").append(alias).append(".id = :id");
+        } else if (after != null) {
+            jpql.append(" where ").append(alias).append(".id > :after");
+        }
+        jpql.append(" order by ").append(alias).append(".id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        if (id != null) {
+            query.setParameter("id", id);
+        } else {
+            if (after != null) {
+                query.setParameter("after", after);
+            }
+            if (limit.isLimited()) {
+                query.setMaxResults(limit.max());
+            }
+        }
+        return query.getResultList();
+    }
+
+    private static BookResponseDto toBook(Tuple row, Predicate<String> selected) {
+        return new BookResponseDto(row.get("id", UUID.class).toString(),
+                selected.test("title") ? row.get("title", String.class) : null,
+                selected.test("description") ? row.get("description", String.class) : null,
+                selected.test("pageCount") ? row.get("pageCount", Integer.class) : null,
+                row.get("version", Long.class), row.get("updatedAt", Instant.class));
+    }
+
+    private static AuthorResponseDto toAuthor(Tuple row, Predicate<String> selected, String prefix) {
+        return new AuthorResponseDto(row.get(prefix + "id", UUID.class).toString(),
+                selected.test("name") ? row.get(prefix + "name", String.class) : null,
+                selected.test("surname") ? row.get(prefix + "surname", String.class) : null,
+                row.get(prefix + "version", Long.class), row.get(prefix + "updatedAt", Instant.class));
+    }
+}
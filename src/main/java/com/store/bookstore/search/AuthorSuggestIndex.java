@@ -0,0 +1,529 @@
+package com.store.bookstore.search;
+
+import com.store.bookstore.configuration.AuthorSuggestProperties;
+import com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index for author type-ahead, kept as a radix tree over "name surname" and "surname name" so either can be
+ * typed first. Keys are lower-cased and stripped of accents. Every node stores the best
+ * {@code bookstore.suggest.max-suggestions} authors of its subtree ranked by book count, so a lookup only walks the
+ * typed prefix and copies that list. Children are kept in arrays sorted by their first character instead of maps.
+ * <p>
+ * Authors come from {@link AuthorChangedEvent}s; book counts follow the {@link BookChangedEvent}s of their books.
+ */
+@Component
+public class AuthorSuggestIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    /**
+     * Most books first, then alphabetically, then by id so the order is total.
+     */
+    private static final Comparator<Entry> RANK = Comparator.comparingLong((Entry entry) -> entry.bookCount).reversed()
+            .thenComparing((Entry entry) -> entry.sortKey)
+            .thenComparing((Entry entry) -> entry.id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final int topSize;
+
+    private final Node root = new Node(new char[0]);
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    /**
+     * Authors written while a rebuild is running. The rebuild skips them and reloads them at the end.
+     */
+    private volatile Set<UUID> changedDuringRebuild;
+
+    public AuthorSuggestIndex(AuthorSuggestProperties properties) {
+        this.topSize = properties.getMaxSuggestions();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.getAuthorId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            markChanged(event.getAuthorId());
+            if (event.getType() == ChangeType.DELETED) {
+                removeAuthor(event.getAuthorId());
+            } else if (event.getName() != null || event.getSurname() != null) {
+                Entry entry = entries.get(event.getAuthorId());
+                putAuthor(event.getAuthorId(), event.getName(), event.getSurname(), entry == null ? 0 : entry.bookCount);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getAuthorId() == null || event.getType() == ChangeType.UPDATED) {
+            return;
+        }
+
+        boolean created = event.getType() == ChangeType.CREATED;
+        lock.writeLock().lock();
+        try {
+            markChanged(event.getAuthorId());
+            Entry entry = entries.get(event.getAuthorId());
+            if (entry == null) {
+                // The author's own event has not arrived yet, keep the count until it does
+                if (created) {
+                    entries.put(event.getAuthorId(), new Entry(event.getAuthorId(), 1));
+                }
+                return;
+            }
+
+            entry.bookCount = Math.max(0, entry.bookCount + (created ? 1 : -1));
+            if (entry.keys != null) {
+                reposition(entry, created);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the start of a rebuild from a snapshot of the authors, see {@link #indexFromSnapshot}.
+     */
+    public void startRebuild() {
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Indexes an author read by a rebuild unless a change event touched it since the rebuild started.
+     */
+    public void indexFromSnapshot(UUID authorId, String name, String surname, long bookCount) {
+        lock.writeLock().lock();
+        try {
+            Set<UUID> changed = changedDuringRebuild;
+            if (changed == null || !changed.contains(authorId)) {
+                putAuthor(authorId, name, surname, bookCount);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ends a rebuild and returns the authors it skipped, which the caller should load again and {@link #put}.
+     */
+    public Set<UUID> finishRebuild() {
+        Set<UUID> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        return changed == null ? Collections.emptySet() : changed;
+    }
+
+    public void put(UUID authorId, String name, String surname, long bookCount) {
+        lock.writeLock().lock();
+        try {
+            putAuthor(authorId, name, surname, bookCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID authorId) {
+        lock.writeLock().lock();
+        try {
+            removeAuthor(authorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} authors whose name or surname starts with the prefix, most books first.
+     */
+    public List<AuthorSuggestionResponseDto> suggest(String prefix, int limit) {
+        char[] key = normalize(prefix).toCharArray();
+        if (key.length == 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+            while (position < key.length) {
+                int index = childIndex(node, key[position]);
+                if (index < 0) {
+                    return Collections.emptyList();
+                }
+
+                node = node.children[index];
+                for (int i = 0; i < node.label.length && position < key.length; i++, position++) {
+                    if (node.label[i] != key[position]) {
+                        return Collections.emptyList();
+                    }
+                }
+            }
+
+            int count = Math.min(limit, node.top.length);
+            List<AuthorSuggestionResponseDto> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Entry entry = node.top[i];
+                suggestions.add(new AuthorSuggestionResponseDto(entry.id.toString(), entry.name, entry.surname, entry.bookCount));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private void markChanged(UUID authorId) {
+        Set<UUID> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(authorId);
+        }
+    }
+
+    private void putAuthor(UUID authorId, String name, String surname, long bookCount) {
+        Entry entry = entries.get(authorId);
+        if (entry != null && entry.keys != null) {
+            if (Objects.equals(entry.name, name) && Objects.equals(entry.surname, surname)) {
+                if (entry.bookCount != bookCount) {
+                    boolean increased = bookCount > entry.bookCount;
+                    entry.bookCount = bookCount;
+                    reposition(entry, increased);
+                }
+                return;
+            }
+            for (char[] key : entry.keys) {
+                removeKey(key, entry);
+            }
+        }
+        if (entry == null) {
+            entry = new Entry(authorId, bookCount);
+            entries.put(authorId, entry);
+        }
+
+        String nameKey = normalize(name);
+        String surnameKey = normalize(surname);
+        String forward = normalize(nameKey + " " + surnameKey);
+        String backward = normalize(surnameKey + " " + nameKey);
+
+        entry.name = name;
+        entry.surname = surname;
+        entry.bookCount = bookCount;
+        entry.sortKey = forward;
+        entry.keys = forward.equals(backward)
+                ? new char[][]{forward.toCharArray()}
+                : new char[][]{forward.toCharArray(), backward.toCharArray()};
+        for (char[] key : entry.keys) {
+            insertKey(key, entry);
+        }
+    }
+
+    private void removeAuthor(UUID authorId) {
+        Entry entry = entries.remove(authorId);
+        if (entry == null || entry.keys == null) {
+            return;
+        }
+
+        for (char[] key : entry.keys) {
+            removeKey(key, entry);
+        }
+    }
+
+    private void insertKey(char[] key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+
+        int position = 0;
+        while (position < key.length) {
+            int index = childIndex(node, key[position]);
+            if (index < 0) {
+                Node leaf = new Node(Arrays.copyOfRange(key, position, key.length));
+                node.children = insertAt(node.children, -index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length) {
+                Node middle = new Node(Arrays.copyOf(child.label, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.children = new Node[]{child};
+                middle.top = child.top;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            position += common;
+            path.add(node);
+        }
+
+        // A new author can only enter the rankings along its own path
+        node.entries = insertSorted(node.entries, entry);
+        for (Node pathNode : path) {
+            pathNode.top = offer(pathNode.top, entry);
+        }
+    }
+
+    private void removeKey(char[] key, Entry entry) {
+        List<Node> path = findPath(key);
+        if (path == null) {
+            return;
+        }
+
+        Node last = path.get(path.size() - 1);
+        last.entries = without(last.entries, entry);
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+            int index = childIndex(parent, node.label[0]);
+            if (node.entries.length == 0 && node.children.length == 0) {
+                parent.children = removeAt(parent.children, index);
+            } else if (node.entries.length == 0 && node.children.length == 1) {
+                Node child = node.children[0];
+                char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+                System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+                child.label = label;
+                parent.children[index] = child;
+            } else {
+                updateTop(node);
+            }
+        }
+        updateTop(root);
+    }
+
+    /**
+     * Moves an author whose book count changed within the rankings along its keys. A higher count can only move it up,
+     * so it is merged into the existing lists; a lower one may let another author in, so those lists are recomputed.
+     */
+    private void reposition(Entry entry, boolean increased) {
+        for (char[] key : entry.keys) {
+            List<Node> path = findPath(key);
+            if (path == null) {
+                continue;
+            }
+
+            Node last = path.get(path.size() - 1);
+            Arrays.sort(last.entries, RANK);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node node = path.get(i);
+                if (increased) {
+                    node.top = offer(node.top, entry);
+                } else if (contains(node.top, entry)) {
+                    updateTop(node);
+                }
+            }
+        }
+    }
+
+    private List<Node> findPath(char[] key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+
+        int position = 0;
+        while (position < key.length) {
+            int index = childIndex(node, key[position]);
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+            if (commonPrefix(node.label, key, position) != node.label.length) {
+                return null;
+            }
+            position += node.label.length;
+            path.add(node);
+        }
+        return path;
+    }
+
+    /**
+     * Recomputes the best authors of a node from its own entries and the lists of its children.
+     */
+    private void updateTop(Node node) {
+        if (node.children.length == 0) {
+            node.top = node.entries.length <= topSize ? node.entries : Arrays.copyOf(node.entries, topSize);
+            return;
+        }
+
+        List<Entry> candidates = new ArrayList<>(node.entries.length + node.children.length * topSize);
+        Collections.addAll(candidates, node.entries);
+        for (Node child : node.children) {
+            Collections.addAll(candidates, child.top);
+        }
+        candidates.sort(RANK);
+
+        List<Entry> top = new ArrayList<>(topSize);
+        for (Entry candidate : candidates) {
+            if (top.size() == topSize) {
+                break;
+            }
+            // Both keys of an author can end below the same node
+            if (top.isEmpty() || top.get(top.size() - 1) != candidate) {
+                top.add(candidate);
+            }
+        }
+        node.top = top.toArray(NO_ENTRIES);
+    }
+
+    private Entry[] offer(Entry[] top, Entry entry) {
+        if (contains(top, entry)) {
+            Entry[] sorted = top.clone();
+            Arrays.sort(sorted, RANK);
+            return sorted;
+        }
+        if (top.length == topSize && RANK.compare(entry, top[top.length - 1]) > 0) {
+            return top;
+        }
+
+        Entry[] offered = insertSorted(top, entry);
+        return offered.length <= topSize ? offered : Arrays.copyOf(offered, topSize);
+    }
+
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char current = node.children[middle].label[0];
+            if (current < first) {
+                low = middle + 1;
+            } else if (current > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(char[] label, char[] key, int position) {
+        int common = 0;
+        while (common < label.length && position + common < key.length && label[common] == key[position + common]) {
+            common++;
+        }
+        return common;
+    }
+
+    private static boolean contains(Entry[] array, Entry entry) {
+        for (Entry current : array) {
+            if (current == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Entry[] insertSorted(Entry[] array, Entry entry) {
+        int index = 0;
+        while (index < array.length && RANK.compare(array[index], entry) < 0) {
+            index++;
+        }
+        Entry[] result = new Entry[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = entry;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static Entry[] without(Entry[] array, Entry entry) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == entry) {
+                Entry[] result = new Entry[array.length - 1];
+                System.arraycopy(array, 0, result, 0, i);
+                System.arraycopy(array, i + 1, result, i, array.length - i - 1);
+                return result;
+            }
+        }
+        return array;
+    }
+
+    private static Node[] insertAt(Node[] array, int index, Node node) {
+        Node[] result = new Node[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = node;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static Node[] removeAt(Node[] array, int index) {
+        Node[] result = new Node[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static final class Node {
+        private char[] label;
+        private Node[] children = NO_CHILDREN;
+        /**
+         * Authors whose key ends exactly here, ranked.
+         */
+        private Entry[] entries = NO_ENTRIES;
+        /**
+         * Best authors of the whole subtree, ranked.
+         */
+        private Entry[] top = NO_ENTRIES;
+
+        private Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Entry {
+        private final UUID id;
+        private String name;
+        private String surname;
+        private String sortKey = "";
+        private long bookCount;
+        /**
+         * Keys the author is stored under, {@code null} while only its book count is known.
+         */
+        private char[][] keys;
+
+        private Entry(UUID id, long bookCount) {
+            this.id = id;
+            this.bookCount = bookCount;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.store.bookstore.search;
+
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over book titles and descriptions, ranked with BM25.
+ * <p>
+ * Every indexed book gets an internal document number in insertion order, so each posting list is sorted by document
+ * and a query is answered by merging the lists of its terms. Title terms count twice towards the term frequency.
+ * Updates and deletions only mark the old document as deleted; the index is compacted once deleted documents make up
+ * a fifth of it. Searches share a read lock, writes take the write lock.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MIN_COMPACTION = 1_000;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "that", "the", "this", "to", "was", "with");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final Map<UUID, Integer> documents = new HashMap<>();
+
+    private final BitSet deleted = new BitSet();
+
+    private UUID[] bookIds = new UUID[1024];
+
+    private int[] lengths = new int[1024];
+
+    private int documentCount;
+
+    private int deletedCount;
+
+    private long totalLength;
+
+    /**
+     * Books written while a rebuild is running. The rebuild skips them because the event is newer than its snapshot.
+     */
+    private volatile Set<UUID> changedDuringRebuild;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getBookId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Set<UUID> changed = changedDuringRebuild;
+            if (changed != null) {
+                changed.add(event.getBookId());
+            }
+
+            if (event.getType() == ChangeType.DELETED) {
+                removeDocument(event.getBookId());
+            } else if (event.isTextChanged()) {
+                addDocument(event.getBookId(), event.getTitle(), event.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the start of a rebuild from a snapshot of the books, see {@link #indexFromSnapshot}.
+     */
+    public void startRebuild() {
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Indexes a book read by a rebuild unless a change event already indexed a newer version of it.
+     */
+    public void indexFromSnapshot(UUID bookId, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            Set<UUID> changed = changedDuringRebuild;
+            if (changed == null || !changed.contains(bookId)) {
+                addDocument(bookId, title, description);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishRebuild() {
+        changedDuringRebuild = null;
+    }
+
+    public void index(UUID bookId, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            addDocument(bookId, title, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching books for the query, best first, skipping the first {@code offset}.
+     */
+    public List<UUID> search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        int wanted = offset + limit;
+
+        lock.readLock().lock();
+        try {
+            int liveDocuments = documentCount - deletedCount;
+            if (terms.isEmpty() || liveDocuments == 0) {
+                return Collections.emptyList();
+            }
+
+            Postings[] lists = new Postings[terms.size()];
+            float[] idfs = new float[terms.size()];
+            int listCount = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                int frequency = list != null ? liveSize(list) : 0;
+                if (frequency > 0) {
+                    lists[listCount] = list;
+                    idfs[listCount] = (float) Math.log(1 + (liveDocuments - frequency + 0.5) / (frequency + 0.5));
+                    listCount++;
+                }
+            }
+            if (listCount == 0) {
+                return Collections.emptyList();
+            }
+
+            float averageLength = Math.max(1f, (float) totalLength / liveDocuments);
+            PriorityQueue<Hit> top = new PriorityQueue<>(wanted + 1, Hit.WORST_FIRST);
+            int[] positions = new int[listCount];
+
+            while (true) {
+                int document = Integer.MAX_VALUE;
+                for (int i = 0; i < listCount; i++) {
+                    if (positions[i] < lists[i].size) {
+                        document = Math.min(document, lists[i].documents[positions[i]]);
+                    }
+                }
+                if (document == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                float score = 0;
+                float norm = K1 * (1 - B + B * lengths[document] / averageLength);
+                for (int i = 0; i < listCount; i++) {
+                    Postings list = lists[i];
+                    if (positions[i] < list.size && list.documents[positions[i]] == document) {
+                        int frequency = list.frequencies[positions[i]] & 0xFF;
+                        score += idfs[i] * frequency * (K1 + 1) / (frequency + norm);
+                        positions[i]++;
+                    }
+                }
+
+                if (deleted.get(document)) {
+                    continue;
+                }
+                if (top.size() < wanted) {
+                    top.add(new Hit(document, score));
+                } else if (score > top.peek().score) {
+                    top.poll();
+                    top.add(new Hit(document, score));
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Hit.WORST_FIRST.reversed());
+            List<UUID> result = new ArrayList<>(Math.max(0, hits.size() - offset));
+            for (int i = offset; i < hits.size(); i++) {
+                result.add(bookIds[hits.get(i).document]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live documents in the posting list. Deleted documents stay in the lists until the next compaction, and
+     * counting them would rank a term that was common in replaced versions of books below its actual rarity. Counting
+     * costs no more than the merge that follows.
+     */
+    private int liveSize(Postings list) {
+        if (deletedCount == 0) {
+            return list.size;
+        }
+        int live = 0;
+        for (int i = 0; i < list.size; i++) {
+            if (!deleted.get(list.documents[i])) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Lower-cases the text and splits it into runs of letters and digits, dropping single characters and stop words.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                if (i - start > 1) {
+                    String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                    if (!STOP_WORDS.contains(token)) {
+                        tokens.add(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void addDocument(UUID bookId, String title, String description) {
+        removeDocument(bookId);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        List<String> titleTokens = tokenize(title);
+        List<String> descriptionTokens = tokenize(description);
+        for (String token : titleTokens) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : descriptionTokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        if (documentCount == bookIds.length) {
+            bookIds = Arrays.copyOf(bookIds, documentCount * 2);
+            lengths = Arrays.copyOf(lengths, documentCount * 2);
+        }
+        int document = documentCount++;
+        int length = titleTokens.size() + descriptionTokens.size();
+        bookIds[document] = bookId;
+        lengths[document] = length;
+        totalLength += length;
+        documents.put(bookId, document);
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), (term) -> new Postings()).add(document, entry.getValue());
+        }
+    }
+
+    private void removeDocument(UUID bookId) {
+        Integer document = documents.remove(bookId);
+        if (document == null) {
+            return;
+        }
+
+        deleted.set(document);
+        deletedCount++;
+        totalLength -= lengths[document];
+        bookIds[document] = null;
+
+        if (deletedCount >= MIN_COMPACTION && deletedCount * 5 >= documentCount) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live documents and drops the deleted ones from every posting list. Relative order is kept, so the
+     * posting lists stay sorted.
+     */
+    private void compact() {
+        int[] renumbered = new int[documentCount];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (deleted.get(document)) {
+                renumbered[document] = -1;
+            } else {
+                renumbered[document] = live;
+                bookIds[live] = bookIds[document];
+                lengths[live] = lengths[document];
+                documents.put(bookIds[live], live);
+                live++;
+            }
+        }
+        Arrays.fill(bookIds, live, documentCount, null);
+
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            list.renumber(renumbered);
+            if (list.size == 0) {
+                lists.remove();
+            }
+        }
+
+        log.debug("Compacted search index from {} to {} documents", documentCount, live);
+        documentCount = live;
+        deletedCount = 0;
+        deleted.clear();
+    }
+
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private byte[] frequencies = new byte[4];
+        private int size;
+
+        private void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = (byte) Math.min(frequency, 255);
+            size++;
+        }
+
+        private void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int document = renumbered[documents[i]];
+                if (document >= 0) {
+                    documents[kept] = document;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    private record Hit(int document, float score) {
+        /**
+         * Lowest score first and, on equal scores, the newest document first, so the heap evicts the worst hit.
+         */
+        private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingInt(Hit::document).reversed());
+    }
+}
@@ -1,121 +1,469 @@
 package com.store.bookstore.service;
 
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.dto.author.response.AuthorBooksMergeResponseDto;
 import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
 import com.store.bookstore.dto.author.request.AuthorCreateRequestDto;
+import com.store.bookstore.dto.author.request.AuthorUpdateRequestDto;
+import com.store.bookstore.dto.author.response.AuthorPatchRowDto;
 import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.dto.version.RowVersionDto;
+import com.store.bookstore.dto.version.VersionStampDto;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
 import com.store.bookstore.exception.EntityAlreadyExistsException;
 import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.exception.PreconditionFailedException;
+import com.store.bookstore.mapper.AuthorMapper;
 import com.store.bookstore.model.Author;
 import com.store.bookstore.model.Book;
 import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.repository.FieldSelection;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "bookstore.service", histogram = true)
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
 
-    private final ModelMapper modelMapper;
+    private final AuthorMapper authorMapper;
 
-    public AuthorResponseDto getAuthorWithoutBooks(String id){
-        Author author = authorRepository
-                .findById(UUID.fromString(id))
-                .orElseThrow(() -> new EntityNotFoundException("Author not found with ID: " + id));
+    private final BookRepository bookRepository;
 
-        return modelMapper.map(author, AuthorResponseDto.class);
-    }
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+
+    private final CatalogCache catalogCache;
+
+    private final AuthorNameFilter authorNameFilter;
+
+    private final AuthorNameFilterProperties authorNameFilterProperties;
+
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Loads the names of all stored authors into the {@link AuthorNameFilter}.
+     */
     @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildNameFilter() {
+        if (!authorNameFilterProperties.isBuildOnStartup()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        authorNameFilter.startLoad(authorRepository.count());
+        try (Stream<AuthorResponseDto> rows = authorRepository.streamResponses()) {
+            rows.forEach((row) -> authorNameFilter.add(row.getName(), row.getSurname()));
+        }
+        authorNameFilter.finishLoad();
+        log.info("Author name filter built in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    public AuthorResponseDto getAuthorWithoutBooks(String id){
+        return catalogCache.getAuthor(UUID.fromString(id), (authorId) -> {
+            return authorRepository
+                    .findResponseById(authorId)
+                    .orElseThrow(() -> new EntityNotFoundException("Author not found with ID: " + id));
+        });
+    }
+
     public AuthorFullResponseDto getAuthorWithBooks(String id){
-        Author author = authorRepository
-                .findById(UUID.fromString(id))
+        return catalogCache.getFullAuthor(UUID.fromString(id), (authorId) -> {
+            Author author = authorRepository
+                    .findWithBooksById(authorId)
+                    .orElseThrow(() -> new EntityNotFoundException("Author not found with ID: " + id));
+
+            return authorMapper.toFullResponseDto(author);
+        });
+    }
+
+    @ReadOnlyTransactional
+    public PageResponseDto<AuthorResponseDto> getAuthorsWithoutBooks(String after, Integer limit) {
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        List<AuthorResponseDto> authors = findAuthorResponsePage(after, pageSize);
+
+        return KeysetPagination.toPage(authors, pageSize, (author) -> UUID.fromString(author.getId()), Function.identity());
+    }
+
+    @ReadOnlyTransactional
+    public PageResponseDto<AuthorFullResponseDto> getAuthorsWithBooks(String after, Integer limit) {
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        List<Author> authors = findAuthorPage(after, pageSize);
+
+        // Initializes the books of every author on the page with a single join query instead of one select per author.
+        // The returned authors are the same managed instances, so the result itself is not needed.
+        if (!authors.isEmpty()) {
+            authorRepository.findWithBooksByIdIn(authors.stream().map(Author::getId).toList());
+        }
+
+        return KeysetPagination.toPage(authors, pageSize, Author::getId, authorMapper::toFullResponseDto);
+    }
+
+    /**
+     * Sparse variants of the reads above: only the requested {@code fields} are selected, bypassing the cache. A
+     * {@code null} field list returns the full view.
+     */
+    public AuthorResponseDto getAuthorWithoutBooks(String id, String fields) {
+        if (fields == null) {
+            return getAuthorWithoutBooks(id);
+        }
+
+        FieldSelection selection = FieldSelection.parse(fields, AuthorResponseDto.class);
+        return sparseFieldsetRepository.findAuthors(selection, UUID.fromString(id), null, Limit.unlimited()).stream()
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Author not found with ID: " + id));
+    }
+
+    public AuthorFullResponseDto getAuthorWithBooks(String id, String fields) {
+        if (fields == null) {
+            return getAuthorWithBooks(id);
+        }
 
-        return modelMapper.map(author, AuthorFullResponseDto.class);
+        FieldSelection selection = FieldSelection.parse(fields, AuthorFullResponseDto.class);
+        return sparseFieldsetRepository.findFullAuthors(selection, UUID.fromString(id), null, Limit.unlimited()).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Author not found with ID: " + id));
     }
 
-    public List<AuthorResponseDto> getAuthorsWithoutBooks() {
-        List<Author> authors = authorRepository
-                .findAll();
+    @ReadOnlyTransactional
+    public PageResponseDto<AuthorResponseDto> getAuthorsWithoutBooks(String after, Integer limit, String fields) {
+        if (fields == null) {
+            return getAuthorsWithoutBooks(after, limit);
+        }
+
+        FieldSelection selection = FieldSelection.parse(fields, AuthorResponseDto.class);
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        List<AuthorResponseDto> authors = sparseFieldsetRepository.findAuthors(selection, null, decodeAfter(after), KeysetPagination.lookahead(pageSize));
 
-        if (authors.isEmpty()){
-            throw new EntityNotFoundException("Authors not found");
+        return KeysetPagination.toPage(authors, pageSize, (author) -> UUID.fromString(author.getId()), Function.identity());
+    }
+
+    @ReadOnlyTransactional
+    public PageResponseDto<AuthorFullResponseDto> getAuthorsWithBooks(String after, Integer limit, String fields) {
+        if (fields == null) {
+            return getAuthorsWithBooks(after, limit);
         }
 
-        return authors.stream().map((author) -> {
-            return modelMapper.map(author, AuthorResponseDto.class);
-        }).collect(Collectors.toList());
+        FieldSelection selection = FieldSelection.parse(fields, AuthorFullResponseDto.class);
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        List<AuthorFullResponseDto> authors = sparseFieldsetRepository.findFullAuthors(selection, null, decodeAfter(after), KeysetPagination.lookahead(pageSize));
+
+        return KeysetPagination.toPage(authors, pageSize, (author) -> UUID.fromString(author.getId()), Function.identity());
     }
 
-    @Transactional
-    public List<AuthorFullResponseDto> getAuthorsWithBooks() {
-        List<Author> authors = authorRepository.findAll();
+    /**
+     * Versions of the reads above for conditional GETs, taken from the cached response when there is one and otherwise
+     * read without the rows themselves, so a request that turns out not modified loads nothing else. A page stamp also
+     * covers the lookahead author, which decides the next cursor. The author version is {@code null} when there is no
+     * such author.
+     */
+    public RowVersionDto getAuthorVersion(String id) {
+        UUID authorId = UUID.fromString(id);
+        AuthorResponseDto cached = catalogCache.peekAuthor(authorId);
+        if (cached != null) {
+            return new RowVersionDto(cached.getId(), cached.getVersion(), cached.getUpdatedAt());
+        }
 
-        if (authors.isEmpty()){
-            throw new EntityNotFoundException("Authors not found");
+        return authorRepository.findVersionById(authorId).orElse(null);
+    }
+
+    public VersionStampDto getFullAuthorVersion(String id) {
+        UUID authorId = UUID.fromString(id);
+        AuthorFullResponseDto cached = catalogCache.peekFullAuthor(authorId);
+        if (cached != null) {
+            return VersionStampDto.ofRows(List.of(cached));
         }
 
-        return authors.stream().map((author) -> {
-            return modelMapper.map(author, AuthorFullResponseDto.class);
-        }).collect(Collectors.toList());
+        return VersionStampDto.ofRows(authorRepository.findFullVersionsById(authorId));
     }
 
+    @ReadOnlyTransactional
+    public VersionStampDto getAuthorPageVersion(String after, Integer limit) {
+        Limit lookahead = KeysetPagination.lookahead(KeysetPagination.resolveLimit(limit));
+        if (after == null) {
+            return VersionStampDto.ofRows(authorRepository.findVersionsByOrderByIdAsc(lookahead));
+        }
+
+        return VersionStampDto.ofRows(authorRepository.findVersionsByIdGreaterThanOrderByIdAsc(KeysetPagination.decodeCursor(after), lookahead));
+    }
+
+    @ReadOnlyTransactional
+    public VersionStampDto getFullAuthorPageVersion(String after, Integer limit) {
+        int lookahead = KeysetPagination.lookahead(KeysetPagination.resolveLimit(limit)).max();
+        if (after == null) {
+            return VersionStampDto.ofRows(authorRepository.findFullVersionsByOrderByIdAsc(lookahead));
+        }
+
+        return VersionStampDto.ofRows(authorRepository.findFullVersionsByIdGreaterThanOrderByIdAsc(KeysetPagination.decodeCursor(after), lookahead));
+    }
+
+    /**
+     * Inserts the author and its books; a name that is already taken is rejected by the unique constraint in the same
+     * {@code INSERT}, so concurrent creates cannot both pass. The existence query only runs for names the
+     * {@link AuthorNameFilter} cannot rule out, answering the common duplicate without a failed insert.
+     */
     @Transactional
     public AuthorFullResponseDto createAuthor(AuthorCreateRequestDto authorDto) {
-        Author authorEntity = modelMapper.map(authorDto, Author.class);
-        if (authorRepository.existsByNameAndSurname(authorEntity.getName(), authorEntity.getSurname())) {
-            throw new EntityAlreadyExistsException("Author already exists with name: " + authorEntity.getName() + " and surname: " + authorEntity.getSurname());
+        Author authorEntity = authorMapper.toEntity(authorDto);
+        if (authorNameFilter.mightContain(authorEntity.getName(), authorEntity.getSurname())
+                && authorRepository.existsByNameAndSurname(authorEntity.getName(), authorEntity.getSurname())) {
+            throw alreadyExists(authorEntity.getName(), authorEntity.getSurname());
         }
 
-        if (authorDto.getBooks() != null) {
-            List<Book> books = authorDto.getBooks().stream().map((bookDto) ->  {
-                Book book = modelMapper.map(bookDto, Book.class);
-                book.setAuthor(authorEntity);
-                return book;
-            }).toList();
-
-            authorEntity.setBooks(books);
+        Author savedAuthor;
+        try {
+            savedAuthor = authorRepository.saveAndFlush(authorEntity);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw alreadyExists(authorEntity.getName(), authorEntity.getSurname());
+            }
+            throw ex;
         }
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.CREATED, authorEntity.getId(), authorEntity.getName(), authorEntity.getSurname()));
+        publishBookEvents(ChangeType.CREATED, authorEntity);
 
-        Author savedAuthor = authorRepository.save(authorEntity);
-        return modelMapper.map(savedAuthor, AuthorFullResponseDto.class);
+        return authorMapper.toFullResponseDto(savedAuthor);
     }
 
+    /**
+     * Replaces the author's name and, when the request lists books, merges them into the author's books like
+     * {@link #mergeAuthorBooks}, so unchanged books keep their identity and rows.
+     */
     @Transactional
     public AuthorFullResponseDto updateAuthor(String id, AuthorCreateRequestDto authorDto) {
-        Author author = authorRepository
-                .findById(UUID.fromString(id))
+        Author author = (authorDto.getBooks() == null ? authorRepository.findById(UUID.fromString(id)) : authorRepository.findWithBooksById(UUID.fromString(id)))
                 .orElseThrow(() -> new EntityNotFoundException("Author not found with ID: " + id));
 
         author.setName(authorDto.getName());
         author.setSurname(authorDto.getSurname());
 
         if (authorDto.getBooks() != null) {
-            List<Book> books = authorDto.getBooks().stream().map((bookDto) -> {
-                Book book = modelMapper.map(bookDto, Book.class);
-                book.setAuthor(author);
-                return book;
-            }).collect(Collectors.toList());
-            author.setBooks(books);
+            mergeBooks(author, authorDto.getBooks());
         }
 
         Author updatedAuthor = authorRepository.save(author);
-        return modelMapper.map(updatedAuthor, AuthorFullResponseDto.class);
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.UPDATED, author.getId(), author.getName(), author.getSurname()));
+
+        return authorMapper.toFullResponseDto(updatedAuthor);
     }
 
-    public void deleteAuthor(String id) {
+    /**
+     * Makes the author's books match {@code bookDtos}, writing only the rows that differ. Requested books are matched
+     * to existing ones by id, or else by title; matched books are updated in place when a field changed, unmatched
+     * requested books are inserted and unmatched existing books are deleted.
+     */
+    @Transactional
+    public AuthorBooksMergeResponseDto mergeAuthorBooks(String id, List<BookCreateRequestDto> bookDtos) {
         Author author = authorRepository
-                .findById(UUID.fromString(id))
+                .findWithBooksById(UUID.fromString(id))
                 .orElseThrow(() -> new EntityNotFoundException("Author not found with ID: " + id));
 
-        authorRepository.delete(author);
+        AuthorBooksMergeResponseDto merge = mergeBooks(author, bookDtos);
+        merge.setBooks(authorMapper.toFullResponseDto(author).getBooks());
+        return merge;
+    }
+
+    /**
+     * Applies the non-null name fields of the request with a single UPDATE, without loading the author or its books.
+     * With an {@code expectedVersion} the author is only updated while it is still at that version.
+     */
+    @Transactional
+    public void patchAuthor(String id, AuthorUpdateRequestDto authorDto, Long expectedVersion) {
+        UUID authorId = UUID.fromString(id);
+        AuthorPatchRowDto patched;
+        try {
+            patched = authorRepository.patch(authorId, authorDto.getName(), authorDto.getSurname(), expectedVersion, Instant.now())
+                    .orElse(null);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new EntityAlreadyExistsException("Another author already has the name of author with ID: " + id);
+            }
+            throw ex;
+        }
+
+        if (patched == null) {
+            if (expectedVersion != null && authorRepository.existsById(authorId)) {
+                throw new PreconditionFailedException("Author was modified, current version is not " + expectedVersion);
+            }
+            throw new EntityNotFoundException("Author not found with ID: " + id);
+        }
+
+        // The suggest index needs the full name, which the UPDATE returns including the part the patch left alone
+        if (authorDto.getName() == null && authorDto.getSurname() == null) {
+            eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.UPDATED, authorId));
+            return;
+        }
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.UPDATED, authorId, patched.getName(), patched.getSurname()));
+    }
+
+    /**
+     * Deletes the author and all of its books with two set-based DELETEs instead of cascading row by row. The book ids
+     * are read beforehand for the change events and so only those books leave the second-level cache; an author
+     * without books needs no book DELETE.
+     */
+    @Transactional
+    public void deleteAuthor(String id) {
+        UUID authorId = UUID.fromString(id);
+        List<UUID> bookIds = bookRepository.findIdsByAuthorId(authorId);
+
+        if (!bookIds.isEmpty()) {
+            bookRepository.deleteRowsByAuthorId(authorId, bookIds);
+        }
+        if (authorRepository.deleteRowById(authorId) == 0) {
+            throw new EntityNotFoundException("Author not found with ID: " + id);
+        }
+
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.DELETED, authorId));
+        for (UUID bookId : bookIds) {
+            eventPublisher.publishEvent(new BookChangedEvent(ChangeType.DELETED, bookId, authorId));
+        }
+    }
+
+    private List<AuthorResponseDto> findAuthorResponsePage(String after, int pageSize) {
+        if (after == null) {
+            return authorRepository.findResponsesByOrderByIdAsc(KeysetPagination.lookahead(pageSize));
+        }
+
+        return authorRepository.findResponsesByIdGreaterThanOrderByIdAsc(KeysetPagination.decodeCursor(after), KeysetPagination.lookahead(pageSize));
+    }
+
+    private List<Author> findAuthorPage(String after, int pageSize) {
+        if (after == null) {
+            return authorRepository.findAllByOrderByIdAsc(KeysetPagination.lookahead(pageSize));
+        }
+
+        return authorRepository.findByIdGreaterThanOrderByIdAsc(KeysetPagination.decodeCursor(after), KeysetPagination.lookahead(pageSize));
+    }
+
+    private static UUID decodeAfter(String after) {
+        return after == null ? null : KeysetPagination.decodeCursor(after);
+    }
+
+    private AuthorBooksMergeResponseDto mergeBooks(Author author, List<BookCreateRequestDto> bookDtos) {
+        if (author.getBooks() == null) {
+            author.setBooks(new ArrayList<>());
+        }
+
+        // Books are compared by identity, so a book matched once is out of the running for later requested books
+        Set<Book> unmatched = Collections.newSetFromMap(new IdentityHashMap<>());
+        unmatched.addAll(author.getBooks());
+        Map<UUID, Book> byId = new HashMap<>();
+        for (Book book : author.getBooks()) {
+            byId.put(book.getId(), book);
+        }
+
+        List<BookCreateRequestDto> requested = bookDtos.stream().filter(Objects::nonNull).toList();
+        Book[] matches = new Book[requested.size()];
+        for (int i = 0; i < requested.size(); i++) {
+            String bookId = requested.get(i).getId();
+            if (bookId != null) {
+                Book book = byId.get(parseBookId(bookId));
+                if (book == null || !unmatched.remove(book)) {
+                    throw new InvalidRequestException("Book " + bookId + " does not belong to author " + author.getId());
+                }
+                matches[i] = book;
+            }
+        }
+        for (int i = 0; i < requested.size(); i++) {
+            if (matches[i] == null && requested.get(i).getId() == null) {
+                matches[i] = takeByTitle(unmatched, requested.get(i).getTitle());
+            }
+        }
+
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        for (int i = 0; i < requested.size(); i++) {
+            BookCreateRequestDto bookDto = requested.get(i);
+            Book book = matches[i];
+            if (book == null) {
+                book = authorMapper.toBookEntity(bookDto, author);
+                bookRepository.save(book);
+                author.getBooks().add(book);
+                eventPublisher.publishEvent(new BookChangedEvent(ChangeType.CREATED, book.getId(), author.getId(), book.getTitle(), book.getDescription()));
+                inserted++;
+            } else if (authorMapper.updateBookEntity(book, bookDto)) {
+                eventPublisher.publishEvent(new BookChangedEvent(ChangeType.UPDATED, book.getId(), author.getId(), book.getTitle(), book.getDescription()));
+                updated++;
+            } else {
+                unchanged++;
+            }
+        }
+
+        // Removing them from the collection deletes them through orphan removal
+        author.getBooks().removeAll(unmatched);
+        for (Book book : unmatched) {
+            eventPublisher.publishEvent(new BookChangedEvent(ChangeType.DELETED, book.getId(), author.getId()));
+        }
+
+        return new AuthorBooksMergeResponseDto(inserted, updated, unmatched.size(), unchanged, null);
+    }
+
+    private static Book takeByTitle(Set<Book> unmatched, String title) {
+        for (Iterator<Book> iterator = unmatched.iterator(); iterator.hasNext(); ) {
+            Book book = iterator.next();
+            if (Objects.equals(book.getTitle(), title)) {
+                iterator.remove();
+                return book;
+            }
+        }
+        return null;
+    }
+
+    private static UUID parseBookId(String bookId) {
+        try {
+            return UUID.fromString(bookId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid book ID: " + bookId);
+        }
+    }
+
+    private static EntityAlreadyExistsException alreadyExists(String name, String surname) {
+        return new EntityAlreadyExistsException("Author already exists with name: " + name + " and surname: " + surname);
+    }
+
+    /**
+     * Whether the write failed on a unique constraint; on the author table the only one is (name, surname).
+     */
+    private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
+
+    private void publishBookEvents(ChangeType type, Author author) {
+        if (author == null || author.getBooks() == null) {
+            return;
+        }
+
+        for (Book book : author.getBooks()) {
+            eventPublisher.publishEvent(new BookChangedEvent(type, book.getId(), author.getId(), book.getTitle(), book.getDescription()));
+        }
     }
 }
@@ -0,0 +1,82 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.configuration.AuthorSuggestProperties;
+import com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.search.AuthorSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Author type-ahead served from {@link AuthorSuggestIndex}, without touching the database per request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthorSuggestService {
+
+    private final AuthorSuggestIndex authorSuggestIndex;
+
+    private final AuthorRepository authorRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AuthorSuggestProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        if (!properties.isBuildOnStartup()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        authorSuggestIndex.startRebuild();
+        Set<UUID> changed;
+        try {
+            transactionTemplate.executeWithoutResult((status) -> {
+                try (Stream<AuthorSuggestionResponseDto> rows = authorRepository.streamSuggestionRows()) {
+                    rows.forEach((row) -> authorSuggestIndex.indexFromSnapshot(UUID.fromString(row.getId()), row.getName(),
+                            row.getSurname(), row.getBookCount()));
+                }
+            });
+        } finally {
+            changed = authorSuggestIndex.finishRebuild();
+        }
+
+        // Authors written during the load were skipped, their current state is read once more
+        if (!changed.isEmpty()) {
+            Set<UUID> missing = new HashSet<>(changed);
+            for (AuthorSuggestionResponseDto row : authorRepository.findSuggestionRowsByIdIn(changed)) {
+                UUID authorId = UUID.fromString(row.getId());
+                authorSuggestIndex.put(authorId, row.getName(), row.getSurname(), row.getBookCount());
+                missing.remove(authorId);
+            }
+            missing.forEach(authorSuggestIndex::remove);
+        }
+        log.info("Author suggestion index built with {} authors in {} ms", authorSuggestIndex.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    public List<AuthorSuggestionResponseDto> suggestAuthors(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidRequestException("Suggestion prefix must not be empty");
+        }
+        if (limit != null && (limit < 1 || limit > properties.getMaxSuggestions())) {
+            throw new InvalidRequestException("Limit must be between 1 and " + properties.getMaxSuggestions() + ", got: " + limit);
+        }
+
+        return authorSuggestIndex.suggest(prefix, limit == null ? properties.getMaxSuggestions() : limit);
+    }
+}
@@ -0,0 +1,231 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.configuration.BookBatchProperties;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.response.BookBatchDeleteResponseDto;
+import com.store.bookstore.dto.book.response.BookBatchItemResultDto;
+import com.store.bookstore.dto.book.response.BookBatchResponseDto;
+import com.store.bookstore.dto.book.response.BookOwnerRowDto;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many books per request. All referenced authors are resolved with one IN query, and books are inserted in
+ * chunks of {@code bookstore.batch.chunk-size}, one transaction per chunk, so Hibernate sends them as JDBC batches.
+ * A failing chunk is rolled back and reported without affecting the chunks before or after it.
+ * <p>
+ * Batch deletes use the same chunks, each deleted with one set-based DELETE after reading the owners of its books.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookBatchService {
+
+    private final AuthorRepository authorRepository;
+
+    private final BookRepository bookRepository;
+
+    private final BookMapper bookMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BookBatchProperties properties;
+
+    public BookBatchResponseDto createBooks(List<BookCreateRequestDto> bookRequestDtos) {
+        if (bookRequestDtos.size() > properties.getMaxItems()) {
+            throw new InvalidRequestException("Batch must not contain more than " + properties.getMaxItems() + " books, got: " + bookRequestDtos.size());
+        }
+
+        BookBatchItemResultDto[] results = new BookBatchItemResultDto[bookRequestDtos.size()];
+        Map<UUID, Author> authors = findAuthors(bookRequestDtos);
+
+        List<Book> chunk = new ArrayList<>(properties.getChunkSize());
+        List<Integer> chunkIndexes = new ArrayList<>(properties.getChunkSize());
+        for (int index = 0; index < bookRequestDtos.size(); index++) {
+            BookCreateRequestDto bookRequestDto = bookRequestDtos.get(index);
+            UUID authorId = parseAuthorId(bookRequestDto);
+            if (authorId == null) {
+                results[index] = failed(index, "Invalid author ID: " + (bookRequestDto == null ? null : bookRequestDto.getAuthorId()));
+                continue;
+            }
+
+            Author author = authors.get(authorId);
+            if (author == null) {
+                results[index] = failed(index, "Can't create book without author. Author not found with ID: " + bookRequestDto.getAuthorId());
+                continue;
+            }
+
+            Book book = bookMapper.toEntity(bookRequestDto);
+            book.setAuthor(author);
+            chunk.add(book);
+            chunkIndexes.add(index);
+
+            if (chunk.size() == properties.getChunkSize()) {
+                saveChunk(chunk, chunkIndexes, results);
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, chunkIndexes, results);
+        }
+
+        int created = 0;
+        for (BookBatchItemResultDto result : results) {
+            if (BookBatchItemResultDto.CREATED.equals(result.getStatus())) {
+                created++;
+            }
+        }
+        return new BookBatchResponseDto(created, results.length - created, Arrays.asList(results));
+    }
+
+    public BookBatchDeleteResponseDto deleteBooks(List<String> ids) {
+        if (ids.size() > properties.getMaxItems()) {
+            throw new InvalidRequestException("Batch must not contain more than " + properties.getMaxItems() + " books, got: " + ids.size());
+        }
+
+        BookBatchItemResultDto[] results = new BookBatchItemResultDto[ids.size()];
+        Set<UUID> seen = new HashSet<>();
+        Map<UUID, Integer> chunk = new LinkedHashMap<>();
+        for (int index = 0; index < ids.size(); index++) {
+            UUID bookId = parseId(ids.get(index));
+            if (bookId == null) {
+                results[index] = failed(index, "Invalid book ID: " + ids.get(index));
+                continue;
+            }
+            if (!seen.add(bookId)) {
+                results[index] = failed(index, "Duplicate book ID: " + ids.get(index));
+                continue;
+            }
+
+            chunk.put(bookId, index);
+            if (chunk.size() == properties.getChunkSize()) {
+                deleteChunk(chunk, ids, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deleteChunk(chunk, ids, results);
+        }
+
+        int deleted = 0;
+        for (BookBatchItemResultDto result : results) {
+            if (BookBatchItemResultDto.DELETED.equals(result.getStatus())) {
+                deleted++;
+            }
+        }
+        return new BookBatchDeleteResponseDto(deleted, results.length - deleted, Arrays.asList(results));
+    }
+
+    private void deleteChunk(Map<UUID, Integer> chunk, List<String> ids, BookBatchItemResultDto[] results) {
+        List<BookOwnerRowDto> owners;
+        try {
+            owners = transactionTemplate.execute((status) -> {
+                List<BookOwnerRowDto> rows = bookRepository.findOwnersByIdIn(chunk.keySet());
+                if (!rows.isEmpty()) {
+                    bookRepository.deleteRowsByIdIn(rows.stream().map(BookOwnerRowDto::getBookId).toList());
+                }
+                for (BookOwnerRowDto row : rows) {
+                    eventPublisher.publishEvent(new BookChangedEvent(ChangeType.DELETED, row.getBookId(), row.getAuthorId()));
+                }
+                return rows;
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Batch delete chunk of {} books starting at index {} was rolled back", chunk.size(), chunk.values().iterator().next(), e);
+            for (Integer index : chunk.values()) {
+                results[index] = failed(index, "Chunk rolled back: " + e.getMostSpecificCause().getMessage());
+            }
+            return;
+        }
+
+        Set<UUID> deleted = new HashSet<>();
+        for (BookOwnerRowDto owner : owners) {
+            deleted.add(owner.getBookId());
+        }
+        for (Map.Entry<UUID, Integer> entry : chunk.entrySet()) {
+            int index = entry.getValue();
+            results[index] = deleted.contains(entry.getKey())
+                    ? new BookBatchItemResultDto(index, BookBatchItemResultDto.DELETED, ids.get(index), null)
+                    : failed(index, "Book not found with ID: " + ids.get(index));
+        }
+    }
+
+    private Map<UUID, Author> findAuthors(List<BookCreateRequestDto> bookRequestDtos) {
+        Set<UUID> authorIds = new HashSet<>();
+        for (BookCreateRequestDto bookRequestDto : bookRequestDtos) {
+            UUID authorId = parseAuthorId(bookRequestDto);
+            if (authorId != null) {
+                authorIds.add(authorId);
+            }
+        }
+
+        if (authorIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return authorRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+    }
+
+    private void saveChunk(List<Book> chunk, List<Integer> chunkIndexes, BookBatchItemResultDto[] results) {
+        try {
+            transactionTemplate.executeWithoutResult((status) -> {
+                bookRepository.saveAll(chunk);
+                for (Book book : chunk) {
+                    eventPublisher.publishEvent(new BookChangedEvent(ChangeType.CREATED, book.getId(), book.getAuthor().getId(),
+                            book.getTitle(), book.getDescription()));
+                }
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Batch chunk of {} books starting at index {} was rolled back", chunk.size(), chunkIndexes.get(0), e);
+            for (Integer index : chunkIndexes) {
+                results[index] = failed(index, "Chunk rolled back: " + e.getMostSpecificCause().getMessage());
+            }
+            return;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = chunkIndexes.get(i);
+            results[index] = new BookBatchItemResultDto(index, BookBatchItemResultDto.CREATED, String.valueOf(chunk.get(i).getId()), null);
+        }
+    }
+
+    private static UUID parseAuthorId(BookCreateRequestDto bookRequestDto) {
+        return bookRequestDto == null ? null : parseId(bookRequestDto.getAuthorId());
+    }
+
+    private static UUID parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static BookBatchItemResultDto failed(int index, String message) {
+        return new BookBatchItemResultDto(index, BookBatchItemResultDto.FAILED, null, message);
+    }
+}
@@ -0,0 +1,113 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.configuration.BookSearchProperties;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.catalog.response.CatalogExportRowDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.search.BookSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keyword search over book titles and descriptions backed by {@link BookSearchIndex}. The index only returns ids, the
+ * books of a page are then loaded with one query. Pages are addressed by an opaque offset cursor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookSearchService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final BookSearchIndex bookSearchIndex;
+
+    private final BookRepository bookRepository;
+
+    private final BookMapper bookMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BookSearchProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        if (!properties.isBuildOnStartup()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        bookSearchIndex.startRebuild();
+        try {
+            transactionTemplate.executeWithoutResult((status) -> {
+                try (Stream<CatalogExportRowDto> rows = bookRepository.streamExportRows()) {
+                    rows.forEach((row) -> bookSearchIndex.indexFromSnapshot(row.getBookId(), row.getTitle(), row.getDescription()));
+                }
+            });
+        } finally {
+            bookSearchIndex.finishRebuild();
+        }
+        log.info("Search index built with {} books in {} ms", bookSearchIndex.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    public PageResponseDto<BookResponseDto> searchBooks(String query, String after, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be empty");
+        }
+
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        int offset = after == null ? 0 : decodeOffset(after);
+        int wanted = Math.min(offset + pageSize + 1, properties.getMaxResults());
+        if (offset >= wanted) {
+            return new PageResponseDto<>(Collections.emptyList(), null);
+        }
+
+        List<UUID> ids = bookSearchIndex.search(query, offset, wanted - offset);
+        boolean hasNext = ids.size() > pageSize;
+        List<UUID> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+
+        Map<UUID, Book> books = bookRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<BookResponseDto> items = new ArrayList<>(pageIds.size());
+        for (UUID id : pageIds) {
+            Book book = books.get(id);
+            if (book != null) {
+                items.add(bookMapper.toResponseDto(book));
+            }
+        }
+
+        return new PageResponseDto<>(items, hasNext ? encodeOffset(offset + pageSize) : null);
+    }
+
+    private static String encodeOffset(int offset) {
+        return ENCODER.encodeToString(Integer.toString(offset).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int decodeOffset(String cursor) {
+        try {
+            int offset = Integer.parseInt(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Negative offset");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -1,68 +1,184 @@
 package com.store.bookstore.service;
 
+import com.store.bookstore.cache.CatalogCache;
 import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.request.BookUpdateRequestDto;
 import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookPatchRowDto;
 import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.dto.version.RowVersionDto;
+import com.store.bookstore.dto.version.VersionStampDto;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
 import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.exception.PreconditionFailedException;
+import com.store.bookstore.mapper.BookMapper;
 import com.store.bookstore.model.Author;
 import com.store.bookstore.model.Book;
 import com.store.bookstore.repository.AuthorRepository;
 import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.repository.FieldSelection;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "bookstore.service", histogram = true)
 public class BookService {
 
     private final AuthorRepository authorRepository;
 
-    private final ModelMapper modelMapper;
+    private final BookMapper bookMapper;
 
     private final BookRepository bookRepository;
 
-    public BookResponseDto getBookWithoutAuthors(String id){
-        Book book = bookRepository
-                .findById(UUID.fromString(id))
-                .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + id));
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+
+    private final CatalogCache catalogCache;
 
-        return modelMapper.map(book, BookResponseDto.class);
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookResponseDto getBookWithoutAuthors(String id){
+        return catalogCache.getBook(UUID.fromString(id), (bookId) -> {
+            return bookRepository
+                    .findResponseById(bookId)
+                    .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + id));
+        });
     }
 
-    @Transactional
     public BookFullResponseDto getBookWithAuthors(String id){
-        Book book = bookRepository
-                .findById(UUID.fromString(id))
+        return catalogCache.getFullBook(UUID.fromString(id), (bookId) -> {
+            Book book = bookRepository
+                    .findWithAuthorById(bookId)
+                    .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + id));
+
+            return bookMapper.toFullResponseDto(book);
+        });
+    }
+
+    @ReadOnlyTransactional
+    public PageResponseDto<BookResponseDto> getBooksWithoutAuthors(String after, Integer limit) {
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        List<BookResponseDto> books = findBookPage(after, pageSize);
+
+        return KeysetPagination.toPage(books, pageSize, (book) -> UUID.fromString(book.getId()), Function.identity());
+    }
+
+    @ReadOnlyTransactional
+    public PageResponseDto<BookFullResponseDto> getBooksWithAuthors(String after, Integer limit) {
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        List<Book> books = findBookPageWithAuthors(after, pageSize);
+
+        return KeysetPagination.toPage(books, pageSize, Book::getId, bookMapper::toFullResponseDto);
+    }
+
+    /**
+     * Sparse variants of the reads above: only the requested {@code fields} are selected, bypassing the cache. A
+     * {@code null} field list returns the full view.
+     */
+    public BookResponseDto getBookWithoutAuthors(String id, String fields) {
+        if (fields == null) {
+            return getBookWithoutAuthors(id);
+        }
+
+        FieldSelection selection = FieldSelection.parse(fields, BookResponseDto.class);
+        return sparseFieldsetRepository.findBooks(selection, UUID.fromString(id), null, Limit.unlimited()).stream()
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + id));
+    }
 
-        return modelMapper.map(book, BookFullResponseDto.class);
+    public BookFullResponseDto getBookWithAuthors(String id, String fields) {
+        if (fields == null) {
+            return getBookWithAuthors(id);
+        }
+
+        FieldSelection selection = FieldSelection.parse(fields, BookFullResponseDto.class);
+        return sparseFieldsetRepository.findFullBooks(selection, UUID.fromString(id), null, Limit.unlimited()).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + id));
     }
 
-    public List<BookResponseDto> getBooksWithoutAuthors() {
-        List<Book> books = bookRepository.findAll();
+    @ReadOnlyTransactional
+    public PageResponseDto<BookResponseDto> getBooksWithoutAuthors(String after, Integer limit, String fields) {
+        if (fields == null) {
+            return getBooksWithoutAuthors(after, limit);
+        }
+
+        FieldSelection selection = FieldSelection.parse(fields, BookResponseDto.class);
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        List<BookResponseDto> books = sparseFieldsetRepository.findBooks(selection, null, decodeAfter(after), KeysetPagination.lookahead(pageSize));
 
-        if (books.isEmpty()){
-            return null;
+        return KeysetPagination.toPage(books, pageSize, (book) -> UUID.fromString(book.getId()), Function.identity());
+    }
+
+    @ReadOnlyTransactional
+    public PageResponseDto<BookFullResponseDto> getBooksWithAuthors(String after, Integer limit, String fields) {
+        if (fields == null) {
+            return getBooksWithAuthors(after, limit);
         }
 
-        return books.stream().map((book) -> modelMapper.map(book, BookResponseDto.class)).collect(Collectors.toList());
+        FieldSelection selection = FieldSelection.parse(fields, BookFullResponseDto.class);
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        List<BookFullResponseDto> books = sparseFieldsetRepository.findFullBooks(selection, null, decodeAfter(after), KeysetPagination.lookahead(pageSize));
+
+        return KeysetPagination.toPage(books, pageSize, (book) -> UUID.fromString(book.getId()), Function.identity());
     }
 
-    @Transactional
-    public List<BookFullResponseDto> getBooksWithAuthors() {
-        List<Book> books = bookRepository.findAll();
+    /**
+     * Versions of the reads above for conditional GETs, taken from the cached response when there is one and otherwise
+     * read without the rows themselves, so a request that turns out not modified loads nothing else. A page stamp also
+     * covers the lookahead row, which decides the next cursor. The book version is {@code null} when there is no such
+     * book.
+     */
+    public RowVersionDto getBookVersion(String id) {
+        UUID bookId = UUID.fromString(id);
+        BookResponseDto cached = catalogCache.peekBook(bookId);
+        if (cached != null) {
+            return new RowVersionDto(cached.getId(), cached.getVersion(), cached.getUpdatedAt());
+        }
+
+        return bookRepository.findVersionById(bookId).orElse(null);
+    }
+
+    public VersionStampDto getFullBookVersion(String id) {
+        UUID bookId = UUID.fromString(id);
+        BookFullResponseDto cached = catalogCache.peekFullBook(bookId);
+        if (cached != null) {
+            return VersionStampDto.ofRows(List.of(cached));
+        }
+
+        return VersionStampDto.ofRows(bookRepository.findFullVersionById(bookId).stream().toList());
+    }
 
-        if (books.isEmpty()){
-            return null;
+    @ReadOnlyTransactional
+    public VersionStampDto getBookPageVersion(String after, Integer limit) {
+        Limit lookahead = KeysetPagination.lookahead(KeysetPagination.resolveLimit(limit));
+        if (after == null) {
+            return VersionStampDto.ofRows(bookRepository.findVersionsByOrderByIdAsc(lookahead));
         }
 
-        return books.stream().map((book) -> modelMapper.map(book, BookFullResponseDto.class)).collect(Collectors.toList());
+        return VersionStampDto.ofRows(bookRepository.findVersionsByIdGreaterThanOrderByIdAsc(KeysetPagination.decodeCursor(after), lookahead));
+    }
+
+    @ReadOnlyTransactional
+    public VersionStampDto getFullBookPageVersion(String after, Integer limit) {
+        Limit lookahead = KeysetPagination.lookahead(KeysetPagination.resolveLimit(limit));
+        if (after == null) {
+            return VersionStampDto.ofRows(bookRepository.findFullVersionsByOrderByIdAsc(lookahead));
+        }
+
+        return VersionStampDto.ofRows(bookRepository.findFullVersionsByIdGreaterThanOrderByIdAsc(KeysetPagination.decodeCursor(after), lookahead));
     }
 
     @Transactional
@@ -71,14 +187,11 @@ public class BookService {
                 .findById(UUID.fromString(bookRequestDto.getAuthorId()))
                 .orElseThrow(() -> new EntityNotFoundException("Can't create book without author. Author not found with ID: " + bookRequestDto.getAuthorId()));
 
-        Book book = new Book();
-
-        book.setTitle(bookRequestDto.getTitle());
-        book.setDescription(bookRequestDto.getDescription());
-        book.setPageCount(bookRequestDto.getPageCount());
+        Book book = bookMapper.toEntity(bookRequestDto);
         book.setAuthor(author);
 
         bookRepository.save(book);
+        eventPublisher.publishEvent(new BookChangedEvent(ChangeType.CREATED, book.getId(), author.getId(), book.getTitle(), book.getDescription()));
     }
 
     @Transactional
@@ -88,18 +201,74 @@ public class BookService {
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + id));
 
         book.setTitle(bookRequestDto.getTitle());
-        book.setTitle("ABC");
         book.setDescription(bookRequestDto.getDescription());
         book.setPageCount(bookRequestDto.getPageCount());
 
         bookRepository.save(book);
+        eventPublisher.publishEvent(new BookChangedEvent(ChangeType.UPDATED, book.getId(), authorIdOf(book), book.getTitle(), book.getDescription()));
+    }
+
+    /**
+     * Applies the non-null fields of the request with a single UPDATE, without loading the book. With an
+     * {@code expectedVersion} the book is only updated while it is still at that version.
+     */
+    @Transactional
+    public void patchBook(String id, BookUpdateRequestDto bookRequestDto, Long expectedVersion) {
+        UUID bookId = UUID.fromString(id);
+        BookPatchRowDto patched = bookRepository.patch(bookId, bookRequestDto.getTitle(), bookRequestDto.getDescription(),
+                bookRequestDto.getPageCount(), expectedVersion, Instant.now()).orElse(null);
+
+        if (patched == null) {
+            if (expectedVersion != null && bookRepository.existsById(bookId)) {
+                throw new PreconditionFailedException("Book was modified, current version is not " + expectedVersion);
+            }
+            throw new EntityNotFoundException("Book not found with ID: " + id);
+        }
+
+        // The UPDATE returns the owner and both texts, including the one the patch left alone
+        if (bookRequestDto.getTitle() == null && bookRequestDto.getDescription() == null) {
+            eventPublisher.publishEvent(new BookChangedEvent(ChangeType.UPDATED, bookId, patched.getAuthorId()));
+            return;
+        }
+        eventPublisher.publishEvent(new BookChangedEvent(ChangeType.UPDATED, bookId, patched.getAuthorId(), patched.getTitle(),
+                patched.getDescription()));
     }
 
+    /**
+     * Deletes with a single DELETE; only the author id is read beforehand for the change event.
+     */
+    @Transactional
     public void deleteBook(String id) {
-        Book book = bookRepository
-                .findById(UUID.fromString(id))
-                .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + id));
+        UUID bookId = UUID.fromString(id);
+        UUID authorId = bookRepository.findAuthorIdById(bookId).orElse(null);
+
+        if (bookRepository.deleteRowById(bookId, authorId) == 0) {
+            throw new EntityNotFoundException("Book not found with ID: " + id);
+        }
+        eventPublisher.publishEvent(new BookChangedEvent(ChangeType.DELETED, bookId, authorId));
+    }
+
+    private List<BookResponseDto> findBookPage(String after, int pageSize) {
+        if (after == null) {
+            return bookRepository.findResponsesByOrderByIdAsc(KeysetPagination.lookahead(pageSize));
+        }
+
+        return bookRepository.findResponsesByIdGreaterThanOrderByIdAsc(KeysetPagination.decodeCursor(after), KeysetPagination.lookahead(pageSize));
+    }
+
+    private List<Book> findBookPageWithAuthors(String after, int pageSize) {
+        if (after == null) {
+            return bookRepository.findWithAuthorAllByOrderByIdAsc(KeysetPagination.lookahead(pageSize));
+        }
+
+        return bookRepository.findWithAuthorByIdGreaterThanOrderByIdAsc(KeysetPagination.decodeCursor(after), KeysetPagination.lookahead(pageSize));
+    }
+
+    private static UUID decodeAfter(String after) {
+        return after == null ? null : KeysetPagination.decodeCursor(after);
+    }
 
-        bookRepository.deleteById(UUID.fromString(id));
+    private static UUID authorIdOf(Book book) {
+        return book.getAuthor() == null ? null : book.getAuthor().getId();
     }
 }
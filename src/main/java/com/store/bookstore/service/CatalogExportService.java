@@ -0,0 +1,212 @@
+package com.store.bookstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.store.bookstore.configuration.CatalogExportProperties;
+import com.store.bookstore.dto.catalog.response.CatalogExportJobResponseDto;
+import com.store.bookstore.dto.catalog.response.CatalogExportRowDto;
+import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.export.ExportFormat;
+import com.store.bookstore.export.ExportJob;
+import com.store.bookstore.export.ExportStatus;
+import com.store.bookstore.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs full-catalog exports in the background. Books are streamed with their authors as unmanaged rows and written
+ * straight into a gzip file, so heap usage does not depend on the catalog size. The file is written under a
+ * {@code .part} name and renamed once complete. Jobs are kept in memory, the oldest finished ones are dropped together
+ * with their files once more than {@code bookstore.export.retained-jobs} exist.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BookRepository bookRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final CatalogExportProperties properties;
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+            .build();
+
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolExecutor(properties.getConcurrency(), properties.getConcurrency(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), new CustomizableThreadFactory("catalog-export-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public CatalogExportJobResponseDto startExport(String format) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        UUID id = UUID.randomUUID();
+        Path file = properties.getDirectory().resolve("catalog-" + id + "." + exportFormat.getExtension() + ".gz");
+        ExportJob job = new ExportJob(id, exportFormat, file);
+
+        removeFinishedJobs();
+        jobs.put(id, job);
+        try {
+            executor.execute(() -> runExport(job));
+        } catch (RejectedExecutionException e) {
+            job.fail("Export queue is full, try again later");
+        }
+
+        return toResponseDto(job);
+    }
+
+    public CatalogExportJobResponseDto getExport(String id) {
+        return toResponseDto(findJob(id));
+    }
+
+    /**
+     * File written by a completed export job, for download.
+     */
+    public Path getExportFile(String id) {
+        ExportJob job = findJob(id);
+        if (job.getStatus() != ExportStatus.COMPLETED || !Files.exists(job.getFile())) {
+            throw new EntityNotFoundException("Export file not found for job with ID: " + id);
+        }
+
+        return job.getFile();
+    }
+
+    public List<CatalogExportJobResponseDto> getExports() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(ExportJob::getCreatedAt).reversed())
+                .map(this::toResponseDto)
+                .toList();
+    }
+
+    private void runExport(ExportJob job) {
+        Path part = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+        try {
+            job.start(bookRepository.count());
+            log.info("Export {} started, {} books to write to {}", job.getId(), job.getTotalRows(), job.getFile());
+
+            Files.createDirectories(part.toAbsolutePath().getParent());
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(part), BUFFER_SIZE);
+                 SequenceWriter writer = writerFor(job.getFormat()).writeValues(out)) {
+                transactionTemplate.executeWithoutResult((status) -> {
+                    try (Stream<CatalogExportRowDto> rows = bookRepository.streamExportRows()) {
+                        rows.forEach((row) -> write(writer, row, job));
+                    }
+                });
+            }
+
+            Files.move(part, job.getFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.complete(Files.size(job.getFile()));
+            log.info("Export {} completed, {} books written to {}", job.getId(), job.getRowsWritten().get(), job.getFile());
+        } catch (IOException | RuntimeException e) {
+            log.error("Export {} failed after {} books", job.getId(), job.getRowsWritten().get(), e);
+            job.fail(e.getMessage());
+            deleteFile(part);
+        }
+    }
+
+    private static void write(SequenceWriter writer, CatalogExportRowDto row, ExportJob job) {
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        job.rowWritten();
+    }
+
+    private ObjectWriter writerFor(ExportFormat format) {
+        if (format == ExportFormat.CSV) {
+            return csvMapper.writerFor(CatalogExportRowDto.class)
+                    .with(csvMapper.schemaFor(CatalogExportRowDto.class).withHeader());
+        }
+        return objectMapper.writerFor(CatalogExportRowDto.class).withRootValueSeparator("\n");
+    }
+
+    private void removeFinishedJobs() {
+        List<ExportJob> finished = jobs.values().stream()
+                .filter(ExportJob::isFinished)
+                .sorted(Comparator.comparing(ExportJob::getCreatedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - properties.getRetainedJobs(); i++) {
+            jobs.remove(finished.get(i).getId());
+            deleteFile(finished.get(i).getFile());
+        }
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Can't delete export file {}", file, e);
+        }
+    }
+
+    private ExportJob findJob(String id) {
+        ExportJob job = jobs.get(parseId(id));
+        if (job == null) {
+            throw new EntityNotFoundException("Export job not found with ID: " + id);
+        }
+        return job;
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid export job ID: " + id);
+        }
+    }
+
+    private CatalogExportJobResponseDto toResponseDto(ExportJob job) {
+        long rowsWritten = job.getRowsWritten().get();
+        boolean completed = job.getStatus() == ExportStatus.COMPLETED;
+        Double progress = null;
+        if (completed) {
+            progress = 1.0;
+        } else if (job.getTotalRows() > 0) {
+            progress = Math.min(1.0, (double) rowsWritten / job.getTotalRows());
+        }
+
+        return new CatalogExportJobResponseDto(job.getId().toString(), job.getFormat().getExtension(), job.getStatus().name(),
+                rowsWritten, job.getTotalRows(), progress, job.getFile().getFileName().toString(),
+                completed ? "/catalog/export/" + job.getId() + "/file" : null, completed ? job.getBytesWritten() : null,
+                job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt(), job.getError());
+    }
+}
@@ -0,0 +1,239 @@
+package com.store.bookstore.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.store.bookstore.configuration.CatalogImportProperties;
+import com.store.bookstore.dto.catalog.request.CatalogImportRowDto;
+import com.store.bookstore.dto.catalog.response.CatalogImportResponseDto;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports catalog dumps of one book per row, read incrementally from the request body. Rows are committed in chunks
+ * of {@code bookstore.import.chunk-size}, so memory stays bounded by one chunk plus the author lookup. Authors are
+ * deduplicated by (name, surname): known ones come from an in-memory LRU lookup, the rest of a chunk is resolved
+ * with one query and created if still missing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogImportService {
+
+    private final AuthorRepository authorRepository;
+
+    private final BookRepository bookRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper;
+
+    private final CatalogImportProperties properties;
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    public CatalogImportResponseDto importNdjson(InputStream body) {
+        try {
+            return importRows(objectMapper.readerFor(CatalogImportRowDto.class).readValues(body));
+        } catch (IOException e) {
+            throw new InvalidRequestException("Can't read import: " + e.getMessage());
+        }
+    }
+
+    public CatalogImportResponseDto importCsv(InputStream body) {
+        try {
+            return importRows(csvMapper.readerFor(CatalogImportRowDto.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(body));
+        } catch (IOException e) {
+            throw new InvalidRequestException("Can't read import: " + e.getMessage());
+        }
+    }
+
+    private CatalogImportResponseDto importRows(MappingIterator<CatalogImportRowDto> rows) {
+        ImportProgress progress = new ImportProgress();
+        Map<String, UUID> authorIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+                return size() > properties.getAuthorCacheSize();
+            }
+        };
+        List<CatalogImportRowDto> chunk = new ArrayList<>(properties.getChunkSize());
+
+        try (rows) {
+            while (rows.hasNextValue()) {
+                CatalogImportRowDto row;
+                try {
+                    row = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    progress.rowsRead++;
+                    progress.rowsFailed++;
+                    log.debug("Skipping import row {}: {}", progress.rowsRead, e.getOriginalMessage());
+                    continue;
+                }
+
+                progress.rowsRead++;
+                if (!isValid(row)) {
+                    progress.rowsFailed++;
+                } else {
+                    chunk.add(row);
+                    if (chunk.size() == properties.getChunkSize()) {
+                        importChunk(chunk, authorIds, progress);
+                        chunk.clear();
+                    }
+                }
+
+                if (progress.rowsRead % properties.getProgressInterval() == 0) {
+                    log.info("Catalog import in progress: {} rows read, {} books created, {} rows/s",
+                            progress.rowsRead, progress.booksCreated, progress.rowsPerSecond());
+                }
+            }
+        } catch (IOException e) {
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, authorIds, progress);
+            }
+            throw new InvalidRequestException("Malformed import after row " + progress.rowsRead + ", "
+                    + progress.booksCreated + " books were imported before it: " + e.getMessage());
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, authorIds, progress);
+        }
+
+        log.info("Catalog import finished: {} rows read, {} failed, {} authors and {} books created in {} ms ({} rows/s)",
+                progress.rowsRead, progress.rowsFailed, progress.authorsCreated, progress.booksCreated,
+                progress.elapsedMillis(), progress.rowsPerSecond());
+        return new CatalogImportResponseDto(progress.rowsRead, progress.rowsFailed, progress.authorsCreated,
+                progress.booksCreated, progress.elapsedMillis(), progress.rowsPerSecond());
+    }
+
+    private void importChunk(List<CatalogImportRowDto> chunk, Map<String, UUID> authorIds, ImportProgress progress) {
+        List<Author> newAuthors = new ArrayList<>();
+        List<Book> books = new ArrayList<>();
+
+        try {
+            transactionTemplate.executeWithoutResult((status) -> {
+                Map<String, Author> chunkAuthors = findUnknownAuthors(chunk, authorIds);
+
+                for (CatalogImportRowDto row : chunk) {
+                    String key = authorKey(row.getName(), row.getSurname());
+                    Author author = chunkAuthors.get(key);
+                    if (author == null) {
+                        UUID authorId = authorIds.get(key);
+                        if (authorId != null) {
+                            author = authorRepository.getReferenceById(authorId);
+                        } else {
+                            author = new Author();
+                            author.setName(row.getName());
+                            author.setSurname(row.getSurname());
+                            newAuthors.add(author);
+                        }
+                        chunkAuthors.put(key, author);
+                    }
+
+                    if (row.getTitle() != null) {
+                        books.add(new Book(null, row.getTitle(), row.getDescription(), row.getPageCount(), author, null, null));
+                    }
+                }
+
+                authorRepository.saveAll(newAuthors);
+                bookRepository.saveAll(books);
+
+                for (Author author : newAuthors) {
+                    eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.CREATED, author.getId(), author.getName(), author.getSurname()));
+                }
+                for (Book book : books) {
+                    eventPublisher.publishEvent(new BookChangedEvent(ChangeType.CREATED, book.getId(), book.getAuthor().getId(),
+                            book.getTitle(), book.getDescription()));
+                }
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Catalog import chunk of {} rows ending at row {} was rolled back", chunk.size(), progress.rowsRead, e);
+            progress.rowsFailed += chunk.size();
+            return;
+        }
+
+        for (Author author : newAuthors) {
+            authorIds.put(authorKey(author.getName(), author.getSurname()), author.getId());
+        }
+        progress.authorsCreated += newAuthors.size();
+        progress.booksCreated += books.size();
+    }
+
+    /**
+     * Loads the authors of the chunk that are not in the lookup yet with a single query by name and surname.
+     */
+    private Map<String, Author> findUnknownAuthors(List<CatalogImportRowDto> chunk, Map<String, UUID> authorIds) {
+        Set<String> names = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (CatalogImportRowDto row : chunk) {
+            String key = authorKey(row.getName(), row.getSurname());
+            if (!authorIds.containsKey(key)) {
+                names.add(row.getName());
+                keys.add(key);
+            }
+        }
+
+        Map<String, Author> authors = new HashMap<>();
+        if (keys.isEmpty()) {
+            return authors;
+        }
+
+        for (Author author : authorRepository.findByNameKeyIn(names, keys)) {
+            String key = authorKey(author.getName(), author.getSurname());
+            authors.put(key, author);
+            authorIds.put(key, author.getId());
+        }
+        return authors;
+    }
+
+    private static boolean isValid(CatalogImportRowDto row) {
+        return row != null && row.getName() != null && !row.getName().isBlank()
+                && row.getSurname() != null && !row.getSurname().isBlank();
+    }
+
+    private static String authorKey(String name, String surname) {
+        return name + AuthorRepository.NAME_KEY_SEPARATOR + surname;
+    }
+
+    private static final class ImportProgress {
+        private final long startedAt = System.nanoTime();
+        private long rowsRead;
+        private long rowsFailed;
+        private long authorsCreated;
+        private long booksCreated;
+
+        private long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        }
+
+        private long rowsPerSecond() {
+            return rowsRead * 1_000 / Math.max(1, elapsedMillis());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.exception.InvalidRequestException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for keyset (seek) pagination over UUID primary keys.
+ * <p>
+ * Pages are read with {@code WHERE id > :after ORDER BY id LIMIT :limit + 1}, so every page is an index range scan
+ * regardless of how deep the client has paged. The extra row only tells whether a next page exists. Past the last
+ * row the page is empty and has no next cursor, never a 404.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetPagination() {
+    }
+
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_LIMIT + ", got: " + limit);
+        }
+        return limit;
+    }
+
+    /**
+     * Limit to pass to the repository: one row more than the page size to detect whether a next page exists.
+     */
+    public static Limit lookahead(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public static UUID decodeCursor(String cursor) {
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+            if (bytes.length != 16) {
+                throw new IllegalArgumentException("Unexpected cursor length");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static String encodeCursor(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public static <E, D> PageResponseDto<D> toPage(List<E> rows, int pageSize, Function<E, UUID> idExtractor, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<D> items = pageRows.stream().map(mapper).collect(Collectors.toList());
+        String nextCursor = hasNext ? encodeCursor(idExtractor.apply(pageRows.get(pageRows.size() - 1))) : null;
+
+        return new PageResponseDto<>(items, nextCursor);
+    }
+}
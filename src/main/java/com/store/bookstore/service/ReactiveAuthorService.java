@@ -0,0 +1,67 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.repository.ReactiveAuthorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link AuthorService}, returning the same DTOs and pages.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveAuthorService {
+
+    private final ReactiveAuthorRepository authorRepository;
+
+    public Mono<AuthorResponseDto> getAuthorWithoutBooks(String id) {
+        return Mono.defer(() -> authorRepository.findById(UUID.fromString(id)))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Author not found with ID: " + id)));
+    }
+
+    public Mono<AuthorFullResponseDto> getAuthorWithBooks(String id) {
+        return Mono.defer(() -> authorRepository.findFullById(UUID.fromString(id)))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Author not found with ID: " + id)));
+    }
+
+    public Mono<PageResponseDto<AuthorResponseDto>> getAuthorsWithoutBooks(String after, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = KeysetPagination.resolveLimit(limit);
+            return authorRepository.findAfter(cursor(after), pageSize + 1)
+                    .collectList()
+                    .map((authors) -> KeysetPagination.toPage(authors, pageSize, (author) -> UUID.fromString(author.getId()), Function.identity()));
+        });
+    }
+
+    public Mono<PageResponseDto<AuthorFullResponseDto>> getAuthorsWithBooks(String after, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = KeysetPagination.resolveLimit(limit);
+            return authorRepository.findFullAfter(cursor(after), pageSize + 1)
+                    .collectList()
+                    .map((authors) -> KeysetPagination.toPage(authors, pageSize, (author) -> UUID.fromString(author.getId()), Function.identity()));
+        });
+    }
+
+    /**
+     * Every author after the cursor, in id order, emitted as the subscriber requests them.
+     */
+    public Flux<AuthorResponseDto> streamAuthorsWithoutBooks(String after) {
+        return Flux.defer(() -> authorRepository.findAfter(cursor(after), null));
+    }
+
+    public Flux<AuthorFullResponseDto> streamAuthorsWithBooks(String after) {
+        return Flux.defer(() -> authorRepository.findFullAfter(cursor(after), null));
+    }
+
+    private static UUID cursor(String after) {
+        return after == null ? null : KeysetPagination.decodeCursor(after);
+    }
+}
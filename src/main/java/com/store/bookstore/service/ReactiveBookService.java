@@ -0,0 +1,67 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.repository.ReactiveBookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link BookService}, returning the same DTOs and pages.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveBookService {
+
+    private final ReactiveBookRepository bookRepository;
+
+    public Mono<BookResponseDto> getBookWithoutAuthors(String id) {
+        return Mono.defer(() -> bookRepository.findById(UUID.fromString(id)))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Book not found with ID: " + id)));
+    }
+
+    public Mono<BookFullResponseDto> getBookWithAuthors(String id) {
+        return Mono.defer(() -> bookRepository.findFullById(UUID.fromString(id)))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Book not found with ID: " + id)));
+    }
+
+    public Mono<PageResponseDto<BookResponseDto>> getBooksWithoutAuthors(String after, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = KeysetPagination.resolveLimit(limit);
+            return bookRepository.findAfter(cursor(after), pageSize + 1)
+                    .collectList()
+                    .map((books) -> KeysetPagination.toPage(books, pageSize, (book) -> UUID.fromString(book.getId()), Function.identity()));
+        });
+    }
+
+    public Mono<PageResponseDto<BookFullResponseDto>> getBooksWithAuthors(String after, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = KeysetPagination.resolveLimit(limit);
+            return bookRepository.findFullAfter(cursor(after), pageSize + 1)
+                    .collectList()
+                    .map((books) -> KeysetPagination.toPage(books, pageSize, (book) -> UUID.fromString(book.getId()), Function.identity()));
+        });
+    }
+
+    /**
+     * Every book after the cursor, in id order, emitted as the subscriber requests them.
+     */
+    public Flux<BookResponseDto> streamBooksWithoutAuthors(String after) {
+        return Flux.defer(() -> bookRepository.findAfter(cursor(after), null));
+    }
+
+    public Flux<BookFullResponseDto> streamBooksWithAuthors(String after) {
+        return Flux.defer(() -> bookRepository.findFullAfter(cursor(after), null));
+    }
+
+    private static UUID cursor(String after) {
+        return after == null ? null : KeysetPagination.decodeCursor(after);
+    }
+}
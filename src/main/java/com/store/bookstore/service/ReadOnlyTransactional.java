@@ -0,0 +1,18 @@
+package com.store.bookstore.service;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.*;
+
+/**
+ * Runs a service method in a read-only transaction. Its statements share one connection, which is taken from a read
+ * replica when replicas are configured and the request is not pinned to the primary.
+ * <p>
+ * The services otherwise use {@code jakarta.transaction.Transactional}, which has no read-only flag.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+}
@@ -0,0 +1,85 @@
+package com.store.bookstore.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(1_000);
+
+    @Test
+    void testTryAcquire_RejectsAtTheLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, Duration.ofMillis(100), 0.5);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(0, FAST);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void testRelease_SlowRequestBacksOffOncePerBurst() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 20, Duration.ofMillis(100), 0.5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+
+        // All five were running when the first one came back slow
+        for (int i = 0; i < 5; i++) {
+            limit.release(0, SLOW + i);
+        }
+        assertEquals(5, limit.getLimit());
+
+        assertTrue(limit.tryAcquire());
+        limit.release(SLOW + 10, 2 * SLOW + 10);
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void testRelease_NeverBelowMinimum() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 2, 20, Duration.ofMillis(100), 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(i * SLOW * 2, i * SLOW * 2 + SLOW);
+        }
+
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void testRelease_FastRequestsGrowTheLimitWhileItIsUsed() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 1, 6, Duration.ofMillis(100), 0.5);
+
+        // A single request at a time never uses half of the limit
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(0, FAST);
+        }
+        assertEquals(4, limit.getLimit());
+
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(limit.tryAcquire());
+            }
+            for (int i = 0; i < 3; i++) {
+                limit.release(0, FAST);
+            }
+        }
+        assertEquals(6, limit.getLimit());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(10, 0, 20, Duration.ofMillis(100), 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(10, 5, 4, Duration.ofMillis(100), 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(10, 1, 20, Duration.ofMillis(100), 1.0));
+    }
+}
@@ -0,0 +1,119 @@
+package com.store.bookstore.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.bookstore.configuration.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionFilterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        // Declared before the narrower budgets, which must still win
+        properties.getBudgets().put("catalog", budget(List.of("/books", "/books/**", "/authors", "/authors/**")));
+        properties.getBudgets().put("full", budget(List.of("/authors/full", "/books/full")));
+        AdmissionControlProperties.Budget bulk = budget(List.of("/books/batch", "/books"));
+        bulk.setMethods(List.of("post", "DELETE"));
+        properties.getBudgets().put("bulk", bulk);
+        filter = new AdmissionFilter(properties, objectMapper);
+    }
+
+    @Test
+    void testFilter_RejectsOverTheLimitWithRetryAfter() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/books/full"), response,
+                (req, resp) -> filter.doFilter(new MockHttpServletRequest("GET", "/books/full"), nested, (r, s) -> fail("Admitted over the limit")));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(503, nested.getStatus());
+        assertEquals("1", nested.getHeader(HttpHeaders.RETRY_AFTER));
+        Map<?, ?> body = objectMapper.readValue(nested.getContentAsByteArray(), Map.class);
+        assertEquals(503, body.get("status"));
+        assertEquals("/books/full", body.get("path"));
+    }
+
+    @Test
+    void testFilter_BudgetsAreSeparate() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/authors/full"), new MockHttpServletResponse(),
+                (req, resp) -> filter.doFilter(new MockHttpServletRequest("GET", "/books/1"), nested, (r, s) -> s.getWriter().write("[]")));
+
+        assertEquals(200, nested.getStatus());
+        assertEquals("[]", nested.getContentAsString());
+    }
+
+    @Test
+    void testFilter_BulkWritesHaveTheirOwnBudget() throws Exception {
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        MockHttpServletResponse batch = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/books"), new MockHttpServletResponse(), (req, resp) -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/books"), read, (r, s) -> { });
+            filter.doFilter(new MockHttpServletRequest("POST", "/books/batch"), batch, (r, s) -> fail("Admitted over the limit"));
+        });
+
+        assertEquals(200, read.getStatus());
+        assertEquals(503, batch.getStatus());
+    }
+
+    @Test
+    void testFilter_UnmatchedRoutesAreNotLimited() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/authors/full"), new MockHttpServletResponse(),
+                (req, resp) -> filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), nested, (r, s) -> { }));
+
+        assertEquals(200, nested.getStatus());
+    }
+
+    @Test
+    void testFilter_ReleasesAfterFailure() throws Exception {
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/books/full"),
+                new MockHttpServletResponse(), (req, resp) -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/books/full"), response, (req, resp) -> { });
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void testBindTo_PublishesLimitAndRejections() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/books/full"), new MockHttpServletResponse(),
+                (req, resp) -> filter.doFilter(new MockHttpServletRequest("GET", "/books/full"), new MockHttpServletResponse(), (r, s) -> { }));
+
+        assertEquals(1, registry.get("bookstore.admission.limit").tag("budget", "full").gauge().value());
+        assertEquals(1, registry.get("bookstore.admission.rejected").tag("budget", "full").functionCounter().count());
+        assertEquals(0, registry.get("bookstore.admission.rejected").tag("budget", "catalog").functionCounter().count());
+    }
+
+    private static AdmissionControlProperties.Budget budget(List<String> paths) {
+        AdmissionControlProperties.Budget budget = new AdmissionControlProperties.Budget();
+        budget.setPaths(paths);
+        budget.setInitialLimit(1);
+        budget.setMaxLimit(1);
+        return budget;
+    }
+}
@@ -0,0 +1,88 @@
+package com.store.bookstore.cache;
+
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorNameFilterTest {
+
+    private AuthorNameFilterProperties properties;
+
+    private AuthorNameFilter authorNameFilter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuthorNameFilterProperties();
+        properties.setExpectedAuthors(10_000);
+        authorNameFilter = new AuthorNameFilter(properties);
+    }
+
+    @Test
+    void testEverythingMightBeTakenUntilLoaded() {
+        assertTrue(authorNameFilter.mightContain("John", "Doe"));
+
+        authorNameFilter.startLoad(0);
+        assertTrue(authorNameFilter.mightContain("John", "Doe"));
+
+        authorNameFilter.finishLoad();
+        assertFalse(authorNameFilter.mightContain("John", "Doe"));
+    }
+
+    @Test
+    void testAddedNamesAreNeverMissed() {
+        authorNameFilter.startLoad(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            authorNameFilter.add("Name" + i, "Surname" + i);
+        }
+        authorNameFilter.finishLoad();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(authorNameFilter.mightContain("Name" + i, "Surname" + i));
+        }
+    }
+
+    @Test
+    void testFalsePositivesStayNearTheConfiguredRate() {
+        authorNameFilter.startLoad(0);
+        for (int i = 0; i < 10_000; i++) {
+            authorNameFilter.add("Name" + i, "Surname" + i);
+        }
+        authorNameFilter.finishLoad();
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (authorNameFilter.mightContain("Other" + i, "Surname" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 100_000 * properties.getFalsePositiveRate() * 2, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testNameAndSurnameAreKeptApart() {
+        authorNameFilter.startLoad(0);
+        authorNameFilter.add("Ann", "Elise");
+        authorNameFilter.finishLoad();
+
+        assertTrue(authorNameFilter.mightContain("Ann", "Elise"));
+        assertFalse(authorNameFilter.mightContain("AnnE", "lise"));
+    }
+
+    @Test
+    void testWrittenNamesAreAddedFromEvents() {
+        authorNameFilter.startLoad(0);
+        authorNameFilter.finishLoad();
+
+        authorNameFilter.onAuthorChanged(new AuthorChangedEvent(ChangeType.CREATED, UUID.randomUUID(), "John", "Doe"));
+        authorNameFilter.onAuthorChanged(new AuthorChangedEvent(ChangeType.UPDATED, UUID.randomUUID(), "Jane", "Roe"));
+
+        assertTrue(authorNameFilter.mightContain("John", "Doe"));
+        assertTrue(authorNameFilter.mightContain("Jane", "Roe"));
+    }
+}
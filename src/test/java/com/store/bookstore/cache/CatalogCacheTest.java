@@ -0,0 +1,123 @@
+package com.store.bookstore.cache;
+
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogCacheTest {
+
+    private CatalogCache catalogCache;
+
+    private PlatformTransactionManager transactionManager;
+
+    private UUID authorId;
+    private UUID bookId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        catalogCache = new CatalogCache(new CatalogCacheProperties(), new TransactionTemplate(transactionManager));
+        authorId = UUID.randomUUID();
+        bookId = UUID.randomUUID();
+        loads = new AtomicInteger();
+
+        loadAll();
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testHitsAreNotReloaded() {
+        loadAll();
+
+        assertEquals(4, loads.get());
+        assertEquals(1, catalogCache.stats().get("books").getHitCount());
+        assertEquals(1, catalogCache.stats().get("books").getMissCount());
+    }
+
+    @Test
+    void testHitsOpenNoTransaction() {
+        loadAll();
+
+        verify(transactionManager, times(4)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void testBookChange_EvictsBookAndOwner() {
+        catalogCache.onBookChanged(new BookChangedEvent(ChangeType.UPDATED, bookId, authorId));
+        loadAll();
+
+        // book, full book and the author's full view, but not the plain author
+        assertEquals(7, loads.get());
+    }
+
+    @Test
+    void testBookChange_WithoutAuthor_EvictsOwnerListingTheBook() {
+        catalogCache.onBookChanged(new BookChangedEvent(ChangeType.DELETED, bookId, null));
+        loadAll();
+
+        assertEquals(7, loads.get());
+    }
+
+    @Test
+    void testBookCreated_EvictsOwnerOnly() {
+        catalogCache.onBookChanged(new BookChangedEvent(ChangeType.CREATED, UUID.randomUUID(), authorId));
+        loadAll();
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testAuthorChange_EvictsAuthorAndTheirFullBooks() {
+        catalogCache.onAuthorChanged(new AuthorChangedEvent(ChangeType.UPDATED, authorId));
+        loadAll();
+
+        // author, full author and the full book embedding the author's name
+        assertEquals(7, loads.get());
+    }
+
+    @Test
+    void testDisabled_AlwaysLoads() {
+        CatalogCacheProperties properties = new CatalogCacheProperties();
+        properties.setMaximumSize(0);
+        catalogCache = new CatalogCache(properties, new TransactionTemplate(transactionManager));
+
+        loadAll();
+        loadAll();
+
+        assertEquals(12, loads.get());
+    }
+
+    private void loadAll() {
+        BookResponseDto book = new BookResponseDto(bookId.toString(), "Title", "Description", 100);
+        AuthorResponseDto author = new AuthorResponseDto(authorId.toString(), "John", "Doe");
+
+        catalogCache.getBook(bookId, (id) -> count(book));
+        catalogCache.getFullBook(bookId, (id) -> count(new BookFullResponseDto(bookId.toString(), "Title", "Description", 100, author)));
+        catalogCache.getAuthor(authorId, (id) -> count(author));
+        catalogCache.getFullAuthor(authorId, (id) -> count(new AuthorFullResponseDto(authorId.toString(), "John", "Doe", List.of(book))));
+    }
+
+    private <T> T count(T value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
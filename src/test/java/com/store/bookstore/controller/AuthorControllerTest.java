@@ -1,9 +1,18 @@
 package com.store.bookstore.controller;
 
+import com.store.bookstore.dto.author.response.AuthorBooksMergeResponseDto;
 import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
 import com.store.bookstore.dto.author.request.AuthorCreateRequestDto;
+import com.store.bookstore.dto.author.request.AuthorUpdateRequestDto;
 import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.dto.version.VersionStampDto;
+import com.store.bookstore.exception.PreconditionFailedException;
 import com.store.bookstore.service.AuthorService;
+import com.store.bookstore.service.AuthorSuggestService;
 import io.swagger.v3.oas.annotations.Operation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,7 +22,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -25,9 +38,14 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AuthorControllerTest {
 
+    private static final Instant UPDATED_AT = Instant.parse("2024-05-01T10:15:30Z");
+
     @Mock
     private AuthorService authorService;
 
+    @Mock
+    private AuthorSuggestService authorSuggestService;
+
     @InjectMocks
     private AuthorController authorController;
 
@@ -36,9 +54,16 @@ class AuthorControllerTest {
     private AuthorCreateRequestDto authorCreateRequestDto;
     private String authorId;
 
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+    private ServletWebRequest webRequest;
+
     @BeforeEach
     void setUp() {
-        authorId = "12345";
+        servletRequest = new MockHttpServletRequest("GET", "/");
+        servletResponse = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(servletRequest, servletResponse);
+        authorId = UUID.randomUUID().toString();
         authorResponseDto = new AuthorResponseDto(authorId, "John", "Doe");
         authorFullResponseDto = new AuthorFullResponseDto(authorId, "John", "Doe", null);
         authorCreateRequestDto = new AuthorCreateRequestDto(authorId, "John", "Doe", null);
@@ -46,58 +71,94 @@ class AuthorControllerTest {
 
     @Test
     void testGetAuthor_Success() {
-        when(authorService.getAuthorWithoutBooks(authorId)).thenReturn(authorResponseDto);
+        when(authorService.getAuthorWithoutBooks(authorId, null)).thenReturn(authorResponseDto);
 
-        ResponseEntity<AuthorResponseDto> response = authorController.getAuthor(authorId);
+        ResponseEntity<AuthorResponseDto> response = authorController.getAuthor(authorId, null, webRequest);
 
-        verify(authorService, times(1)).getAuthorWithoutBooks(authorId);
+        verify(authorService, times(1)).getAuthorWithoutBooks(authorId, null);
         assertEquals(authorResponseDto, response.getBody());
     }
 
     @Test
     void testGetAuthor_NotFound() {
-        when(authorService.getAuthorWithoutBooks(authorId)).thenThrow(new RuntimeException("Author not found"));
+        when(authorService.getAuthorWithoutBooks(authorId, null)).thenThrow(new RuntimeException("Author not found"));
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
-            authorController.getAuthor(authorId);
+            authorController.getAuthor(authorId, null, webRequest);
         });
 
         assertEquals("Author not found", exception.getMessage());
-        verify(authorService, times(1)).getAuthorWithoutBooks(authorId);
+        verify(authorService, times(1)).getAuthorWithoutBooks(authorId, null);
     }
 
     @Test
     void testGetAuthorFullInfo_Success() {
-        when(authorService.getAuthorWithBooks(authorId)).thenReturn(authorFullResponseDto);
+        when(authorService.getAuthorWithBooks(authorId, null)).thenReturn(authorFullResponseDto);
 
-        ResponseEntity<AuthorFullResponseDto> response = authorController.getAuthorFullInfo(authorId);
+        ResponseEntity<AuthorFullResponseDto> response = authorController.getAuthorFullInfo(authorId, null, webRequest);
 
-        verify(authorService, times(1)).getAuthorWithBooks(authorId);
+        verify(authorService, times(1)).getAuthorWithBooks(authorId, null);
         assertEquals(authorFullResponseDto, response.getBody());
     }
 
+    @Test
+    void testGetAuthorFullInfo_NotModified() {
+        BookResponseDto book = new BookResponseDto(UUID.randomUUID().toString(), "Title", "Description", 100, 2L, UPDATED_AT);
+        authorFullResponseDto = new AuthorFullResponseDto(authorId, "John", "Doe", List.of(book), 5L, UPDATED_AT.minusSeconds(60));
+        when(authorService.getFullAuthorVersion(authorId)).thenReturn(VersionStampDto.ofRows(List.of(authorFullResponseDto)));
+        servletRequest.addHeader("If-None-Match", "W/\"" + VersionStampDto.ofRows(List.of(authorFullResponseDto)).toETag() + "\"");
+
+        ResponseEntity<AuthorFullResponseDto> response = authorController.getAuthorFullInfo(authorId, null, webRequest);
+
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verify(authorService, never()).getAuthorWithBooks(any(), any());
+    }
+
+    @Test
+    void testGetAuthor_MissingVersionStamp() {
+        when(authorService.getAuthorWithoutBooks(authorId, null)).thenReturn(authorResponseDto);
+        servletRequest.addHeader("If-None-Match", "*");
+
+        ResponseEntity<AuthorResponseDto> response = authorController.getAuthor(authorId, null, webRequest);
+
+        assertEquals(authorResponseDto, response.getBody());
+        assertNull(servletResponse.getHeader("ETag"));
+    }
+
     @Test
     void testGetAuthors_Success() {
-        List<AuthorResponseDto> authorList = Arrays.asList(authorResponseDto);
-        when(authorService.getAuthorsWithoutBooks()).thenReturn(authorList);
+        PageResponseDto<AuthorResponseDto> authorList = new PageResponseDto<>(Arrays.asList(authorResponseDto), null);
+        when(authorService.getAuthorsWithoutBooks(null, null, null)).thenReturn(authorList);
 
-        ResponseEntity<List<AuthorResponseDto>> response = authorController.getAuthors();
+        ResponseEntity<PageResponseDto<AuthorResponseDto>> response = authorController.getAuthors(null, null, null, webRequest);
 
-        verify(authorService, times(1)).getAuthorsWithoutBooks();
+        verify(authorService, times(1)).getAuthorsWithoutBooks(null, null, null);
         assertEquals(authorList, response.getBody());
     }
 
     @Test
     void testGetFullAuthors_Success() {
-        List<AuthorFullResponseDto> fullAuthorList = Arrays.asList(authorFullResponseDto);
-        when(authorService.getAuthorsWithBooks()).thenReturn(fullAuthorList);
+        PageResponseDto<AuthorFullResponseDto> fullAuthorList = new PageResponseDto<>(Arrays.asList(authorFullResponseDto), null);
+        when(authorService.getAuthorsWithBooks(null, 20, null)).thenReturn(fullAuthorList);
 
-        ResponseEntity<List<AuthorFullResponseDto>> response = authorController.getFullAuthors();
+        ResponseEntity<PageResponseDto<AuthorFullResponseDto>> response = authorController.getFullAuthors(null, 20, null, webRequest);
 
-        verify(authorService, times(1)).getAuthorsWithBooks();
+        verify(authorService, times(1)).getAuthorsWithBooks(null, 20, null);
         assertEquals(fullAuthorList, response.getBody());
     }
 
+    @Test
+    void testSuggestAuthors_Success() {
+        List<AuthorSuggestionResponseDto> suggestions = List.of(new AuthorSuggestionResponseDto(authorId, "John", "Doe", 3L));
+        when(authorSuggestService.suggestAuthors("jo", 5)).thenReturn(suggestions);
+
+        ResponseEntity<List<AuthorSuggestionResponseDto>> response = authorController.suggestAuthors("jo", 5);
+
+        verify(authorSuggestService, times(1)).suggestAuthors("jo", 5);
+        assertEquals(suggestions, response.getBody());
+    }
+
     @Test
     void testCreateAuthor_Success() {
         when(authorService.createAuthor(authorCreateRequestDto)).thenReturn(authorFullResponseDto);
@@ -118,6 +179,40 @@ class AuthorControllerTest {
         assertEquals(authorFullResponseDto, response.getBody());
     }
 
+    @Test
+    void testMergeAuthorBooks_Success() {
+        List<BookCreateRequestDto> books = List.of(new BookCreateRequestDto("Title", "Description", 100, null));
+        AuthorBooksMergeResponseDto merge = new AuthorBooksMergeResponseDto(1, 0, 0, 0, List.of());
+        when(authorService.mergeAuthorBooks(authorId, books)).thenReturn(merge);
+
+        ResponseEntity<AuthorBooksMergeResponseDto> response = authorController.mergeAuthorBooks(authorId, books);
+
+        verify(authorService, times(1)).mergeAuthorBooks(authorId, books);
+        assertEquals(merge, response.getBody());
+    }
+
+    @Test
+    void testPatchAuthor_IfMatchVersion() {
+        AuthorUpdateRequestDto patch = new AuthorUpdateRequestDto("Jane", null);
+        servletRequest.addHeader("If-Match", "\"author-" + authorId + "-7\"");
+
+        ResponseEntity<String> response = authorController.patchAuthor(authorId, patch, webRequest);
+
+        verify(authorService, times(1)).patchAuthor(authorId, patch, 7L);
+        assertEquals("Author updated", response.getBody());
+    }
+
+    @Test
+    void testPatchAuthor_FullViewIfMatch() {
+        authorFullResponseDto.setVersion(7L);
+        authorFullResponseDto.setUpdatedAt(UPDATED_AT);
+        servletRequest.addHeader("If-Match", "\"" + VersionStampDto.ofRows(List.of(authorFullResponseDto)).toETag() + "\"");
+
+        assertThrows(PreconditionFailedException.class,
+                () -> authorController.patchAuthor(authorId, new AuthorUpdateRequestDto("Jane", null), webRequest));
+        verify(authorService, never()).patchAuthor(any(), any(), any());
+    }
+
     @Test
     void testDeleteAuthor_Success() {
         doNothing().when(authorService).deleteAuthor(authorId);
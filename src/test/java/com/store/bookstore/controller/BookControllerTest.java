@@ -2,8 +2,18 @@ package com.store.bookstore.controller;
 
 import com.store.bookstore.dto.author.response.AuthorResponseDto;
 import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.request.BookUpdateRequestDto;
+import com.store.bookstore.dto.book.response.BookBatchDeleteResponseDto;
+import com.store.bookstore.dto.book.response.BookBatchItemResultDto;
+import com.store.bookstore.dto.book.response.BookBatchResponseDto;
 import com.store.bookstore.dto.book.response.BookFullResponseDto;
 import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.dto.version.RowVersionDto;
+import com.store.bookstore.dto.version.VersionStampDto;
+import com.store.bookstore.exception.PreconditionFailedException;
+import com.store.bookstore.service.BookBatchService;
+import com.store.bookstore.service.BookSearchService;
 import com.store.bookstore.service.BookService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,7 +22,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -24,9 +38,17 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class BookControllerTest {
 
+    private static final Instant UPDATED_AT = Instant.parse("2024-05-01T10:15:30Z");
+
     @Mock
     private BookService bookService;
 
+    @Mock
+    private BookBatchService bookBatchService;
+
+    @Mock
+    private BookSearchService bookSearchService;
+
     @InjectMocks
     private BookController bookController;
 
@@ -36,8 +58,15 @@ class BookControllerTest {
     private String bookId;
     private UUID authorId;
 
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+    private ServletWebRequest webRequest;
+
     @BeforeEach
     void setUp() {
+        servletRequest = new MockHttpServletRequest("GET", "/");
+        servletResponse = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(servletRequest, servletResponse);
         bookId = UUID.randomUUID().toString();
         authorId = UUID.randomUUID();
         bookResponseDto = new BookResponseDto(bookId, "Sample Title", "Sample Description", 300);
@@ -47,55 +76,117 @@ class BookControllerTest {
 
     @Test
     void testGetBook_Success() {
-        when(bookService.getBookWithoutAuthors(bookId)).thenReturn(bookResponseDto);
+        when(bookService.getBookWithoutAuthors(bookId, null)).thenReturn(bookResponseDto);
 
-        ResponseEntity<BookResponseDto> response = bookController.getBook(bookId);
+        ResponseEntity<BookResponseDto> response = bookController.getBook(bookId, null, webRequest);
 
-        verify(bookService, times(1)).getBookWithoutAuthors(bookId);
+        verify(bookService, times(1)).getBookWithoutAuthors(bookId, null);
         assertEquals(bookResponseDto, response.getBody());
     }
 
     @Test
     void testGetBook_NotFound() {
-        when(bookService.getBookWithoutAuthors(bookId)).thenThrow(new RuntimeException("Book not found"));
+        when(bookService.getBookWithoutAuthors(bookId, null)).thenThrow(new RuntimeException("Book not found"));
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
-            bookController.getBook(bookId);
+            bookController.getBook(bookId, null, webRequest);
         });
 
         assertEquals("Book not found", exception.getMessage());
-        verify(bookService, times(1)).getBookWithoutAuthors(bookId);
+        verify(bookService, times(1)).getBookWithoutAuthors(bookId, null);
+    }
+
+    @Test
+    void testGetBook_NotModified() {
+        when(bookService.getBookVersion(bookId)).thenReturn(new RowVersionDto(bookId, 3L, UPDATED_AT));
+        servletRequest.addHeader("If-None-Match", "\"book-" + bookId + "-3\"");
+
+        ResponseEntity<BookResponseDto> response = bookController.getBook(bookId, null, webRequest);
+
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verify(bookService, never()).getBookWithoutAuthors(any(), any());
+    }
+
+    @Test
+    void testGetBook_Modified() {
+        when(bookService.getBookVersion(bookId)).thenReturn(new RowVersionDto(bookId, 4L, UPDATED_AT));
+        when(bookService.getBookWithoutAuthors(bookId, null)).thenReturn(bookResponseDto);
+        servletRequest.addHeader("If-None-Match", "\"book-" + bookId + "-3\"");
+
+        ResponseEntity<BookResponseDto> response = bookController.getBook(bookId, null, webRequest);
+
+        assertEquals(bookResponseDto, response.getBody());
+        assertEquals("\"book-" + bookId + "-4\"", servletResponse.getHeader("ETag"));
+        assertNotNull(servletResponse.getHeader("Last-Modified"));
+    }
+
+    @Test
+    void testGetBook_ETagPerRepresentation() {
+        when(bookService.getBookVersion(bookId)).thenReturn(new RowVersionDto(bookId, 3L, UPDATED_AT));
+        when(bookService.getBookWithoutAuthors(bookId, null)).thenReturn(bookResponseDto);
+        servletRequest.addHeader("Accept", "application/json;q=0.5, application/cbor");
+        servletRequest.addHeader("If-None-Match", "\"book-" + bookId + "-3\"");
+
+        ResponseEntity<BookResponseDto> response = bookController.getBook(bookId, null, webRequest);
+
+        assertEquals(bookResponseDto, response.getBody());
+        assertEquals("\"book-" + bookId + "-3-cbor\"", servletResponse.getHeader("ETag"));
+        assertEquals("Accept", servletResponse.getHeader("Vary"));
+    }
+
+    @Test
+    void testGetBooks_NotModifiedSince() {
+        when(bookService.getBookPageVersion(null, null)).thenReturn(VersionStampDto.ofRows(List.of(new RowVersionDto(bookId, 0L, UPDATED_AT))));
+        servletRequest.addHeader("If-Modified-Since", "Wed, 01 May 2024 10:15:30 GMT");
+
+        ResponseEntity<PageResponseDto<BookResponseDto>> response = bookController.getBooks(null, null, null, webRequest);
+
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verify(bookService, never()).getBooksWithoutAuthors(any(), any(), any());
     }
 
     @Test
     void testGetFullBook_Success() {
-        when(bookService.getBookWithAuthors(bookId)).thenReturn(bookFullResponseDto);
+        when(bookService.getBookWithAuthors(bookId, null)).thenReturn(bookFullResponseDto);
 
-        ResponseEntity<BookFullResponseDto> response = bookController.getFullBook(bookId);
+        ResponseEntity<BookFullResponseDto> response = bookController.getFullBook(bookId, null, webRequest);
 
-        verify(bookService, times(1)).getBookWithAuthors(bookId);
+        verify(bookService, times(1)).getBookWithAuthors(bookId, null);
         assertEquals(bookFullResponseDto, response.getBody());
     }
 
     @Test
     void testGetBooks_Success() {
-        List<BookResponseDto> bookResponseDtos = Arrays.asList(bookResponseDto);
-        when(bookService.getBooksWithoutAuthors()).thenReturn(bookResponseDtos);
+        PageResponseDto<BookResponseDto> bookResponseDtos = new PageResponseDto<>(Arrays.asList(bookResponseDto), null);
+        when(bookService.getBooksWithoutAuthors(null, null, null)).thenReturn(bookResponseDtos);
 
-        ResponseEntity<List<BookResponseDto>> response = bookController.getBooks();
+        ResponseEntity<PageResponseDto<BookResponseDto>> response = bookController.getBooks(null, null, null, webRequest);
 
-        verify(bookService, times(1)).getBooksWithoutAuthors();
+        verify(bookService, times(1)).getBooksWithoutAuthors(null, null, null);
         assertEquals(bookResponseDtos, response.getBody());
     }
 
+    @Test
+    void testGetBooks_WithCursor() {
+        PageResponseDto<BookResponseDto> bookResponseDtos = new PageResponseDto<>(Arrays.asList(bookResponseDto), "nextCursor");
+        when(bookService.getBooksWithoutAuthors("cursor", 10, null)).thenReturn(bookResponseDtos);
+
+        ResponseEntity<PageResponseDto<BookResponseDto>> response = bookController.getBooks("cursor", 10, null, webRequest);
+
+        verify(bookService, times(1)).getBooksWithoutAuthors("cursor", 10, null);
+        assertEquals("nextCursor", response.getBody().getNextCursor());
+    }
+
     @Test
     void testGetFullBooks_Success() {
-        List<BookFullResponseDto> bookFullResponseDtos = Arrays.asList(bookFullResponseDto);
-        when(bookService.getBooksWithAuthors()).thenReturn(bookFullResponseDtos);
+        PageResponseDto<BookFullResponseDto> bookFullResponseDtos = new PageResponseDto<>(Arrays.asList(bookFullResponseDto), null);
+        when(bookService.getBooksWithAuthors(null, null, null)).thenReturn(bookFullResponseDtos);
 
-        ResponseEntity<List<BookFullResponseDto>> response = bookController.getFullBooks();
+        ResponseEntity<PageResponseDto<BookFullResponseDto>> response = bookController.getFullBooks(null, null, null, webRequest);
 
-        verify(bookService, times(1)).getBooksWithAuthors();
+        verify(bookService, times(1)).getBooksWithAuthors(null, null, null);
         assertEquals(bookFullResponseDtos, response.getBody());
     }
 
@@ -109,6 +200,28 @@ class BookControllerTest {
         assertEquals("Book created", response.getBody());
     }
 
+    @Test
+    void testAddBooks_Success() {
+        BookBatchResponseDto bookBatchResponseDto = new BookBatchResponseDto(1, 0, List.of(new BookBatchItemResultDto(0, BookBatchItemResultDto.CREATED, bookId, null)));
+        when(bookBatchService.createBooks(List.of(bookCreateRequestDto))).thenReturn(bookBatchResponseDto);
+
+        ResponseEntity<BookBatchResponseDto> response = bookController.addBooks(List.of(bookCreateRequestDto));
+
+        verify(bookBatchService, times(1)).createBooks(List.of(bookCreateRequestDto));
+        assertEquals(bookBatchResponseDto, response.getBody());
+    }
+
+    @Test
+    void testSearchBooks_Success() {
+        PageResponseDto<BookResponseDto> page = new PageResponseDto<>(List.of(bookResponseDto), null);
+        when(bookSearchService.searchBooks("sample", null, 10)).thenReturn(page);
+
+        ResponseEntity<PageResponseDto<BookResponseDto>> response = bookController.searchBooks("sample", null, 10);
+
+        verify(bookSearchService, times(1)).searchBooks("sample", null, 10);
+        assertEquals(page, response.getBody());
+    }
+
     @Test
     void testUpdateBook_Success() {
         doNothing().when(bookService).updateBook(bookId, bookCreateRequestDto);
@@ -119,6 +232,62 @@ class BookControllerTest {
         assertEquals("Book updated", response.getBody());
     }
 
+    @Test
+    void testPatchBook_Unconditional() {
+        BookUpdateRequestDto patch = new BookUpdateRequestDto(null, "New title", null, null);
+
+        ResponseEntity<String> response = bookController.patchBook(bookId, patch, webRequest);
+
+        verify(bookService, times(1)).patchBook(bookId, patch, null);
+        assertEquals("Book updated", response.getBody());
+    }
+
+    @Test
+    void testPatchBook_IfMatchVersion() {
+        BookUpdateRequestDto patch = new BookUpdateRequestDto(null, null, null, 120);
+        servletRequest.addHeader("If-Match", "\"book-" + bookId + "-15-cbor\"");
+
+        bookController.patchBook(bookId, patch, webRequest);
+
+        verify(bookService, times(1)).patchBook(bookId, patch, 41L);
+    }
+
+    @Test
+    void testPatchBook_UnknownIfMatch() {
+        servletRequest.addHeader("If-Match", "\"not a version\"");
+
+        assertThrows(PreconditionFailedException.class,
+                () -> bookController.patchBook(bookId, new BookUpdateRequestDto(), webRequest));
+        verify(bookService, never()).patchBook(any(), any(), any());
+    }
+
+    @Test
+    void testPatchBook_WeakIfMatch() {
+        servletRequest.addHeader("If-Match", "W/\"book-" + bookId + "-15\"");
+
+        assertThrows(PreconditionFailedException.class,
+                () -> bookController.patchBook(bookId, new BookUpdateRequestDto(), webRequest));
+        verify(bookService, never()).patchBook(any(), any(), any());
+    }
+
+    @Test
+    void testPatchBook_AuthorIfMatch() {
+        servletRequest.addHeader("If-Match", "\"author-" + bookId + "-15\"");
+
+        assertThrows(PreconditionFailedException.class,
+                () -> bookController.patchBook(bookId, new BookUpdateRequestDto(), webRequest));
+        verify(bookService, never()).patchBook(any(), any(), any());
+    }
+
+    @Test
+    void testPatchBook_OtherBookIfMatch() {
+        servletRequest.addHeader("If-Match", "\"book-" + UUID.randomUUID() + "-15\"");
+
+        assertThrows(PreconditionFailedException.class,
+                () -> bookController.patchBook(bookId, new BookUpdateRequestDto(), webRequest));
+        verify(bookService, never()).patchBook(any(), any(), any());
+    }
+
     @Test
     void testDeleteBook_Success() {
         doNothing().when(bookService).deleteBook(bookId);
@@ -128,4 +297,15 @@ class BookControllerTest {
         verify(bookService, times(1)).deleteBook(bookId);
         assertEquals("Book deleted", response.getBody());
     }
+
+    @Test
+    void testDeleteBooks_Success() {
+        BookBatchDeleteResponseDto bookBatchDeleteResponseDto = new BookBatchDeleteResponseDto(1, 0, List.of(new BookBatchItemResultDto(0, BookBatchItemResultDto.DELETED, bookId, null)));
+        when(bookBatchService.deleteBooks(List.of(bookId))).thenReturn(bookBatchDeleteResponseDto);
+
+        ResponseEntity<BookBatchDeleteResponseDto> response = bookController.deleteBooks(List.of(bookId));
+
+        verify(bookBatchService, times(1)).deleteBooks(List.of(bookId));
+        assertEquals(bookBatchDeleteResponseDto, response.getBody());
+    }
 }
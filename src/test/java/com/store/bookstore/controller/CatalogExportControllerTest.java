@@ -0,0 +1,85 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.dto.catalog.response.CatalogExportJobResponseDto;
+import com.store.bookstore.service.CatalogExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogExportControllerTest {
+
+    @Mock
+    private CatalogExportService catalogExportService;
+
+    @InjectMocks
+    private CatalogExportController catalogExportController;
+
+    private CatalogExportJobResponseDto catalogExportJobResponseDto;
+    private String jobId;
+
+    @BeforeEach
+    void setUp() {
+        jobId = UUID.randomUUID().toString();
+        catalogExportJobResponseDto = new CatalogExportJobResponseDto();
+        catalogExportJobResponseDto.setId(jobId);
+        catalogExportJobResponseDto.setStatus("QUEUED");
+    }
+
+    @Test
+    void testStartExport_Success() {
+        when(catalogExportService.startExport("csv")).thenReturn(catalogExportJobResponseDto);
+
+        ResponseEntity<CatalogExportJobResponseDto> response = catalogExportController.startExport("csv");
+
+        verify(catalogExportService, times(1)).startExport("csv");
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(catalogExportJobResponseDto, response.getBody());
+    }
+
+    @Test
+    void testGetExport_Success() {
+        when(catalogExportService.getExport(jobId)).thenReturn(catalogExportJobResponseDto);
+
+        ResponseEntity<CatalogExportJobResponseDto> response = catalogExportController.getExport(jobId);
+
+        verify(catalogExportService, times(1)).getExport(jobId);
+        assertEquals(catalogExportJobResponseDto, response.getBody());
+    }
+
+    @Test
+    void testDownloadExport_Success() {
+        Path file = Path.of("exports", "catalog-" + jobId + ".csv.gz");
+        when(catalogExportService.getExportFile(jobId)).thenReturn(file);
+
+        ResponseEntity<Resource> response = catalogExportController.downloadExport(jobId);
+
+        assertEquals("application/gzip", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"catalog-" + jobId + ".csv.gz\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals(file.getFileName().toString(), response.getBody().getFilename());
+    }
+
+    @Test
+    void testGetExports_Success() {
+        when(catalogExportService.getExports()).thenReturn(List.of(catalogExportJobResponseDto));
+
+        ResponseEntity<List<CatalogExportJobResponseDto>> response = catalogExportController.getExports();
+
+        verify(catalogExportService, times(1)).getExports();
+        assertEquals(List.of(catalogExportJobResponseDto), response.getBody());
+    }
+}
@@ -0,0 +1,50 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.dto.catalog.response.CatalogImportResponseDto;
+import com.store.bookstore.service.CatalogImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportControllerTest {
+
+    @Mock
+    private CatalogImportService catalogImportService;
+
+    @InjectMocks
+    private CatalogImportController catalogImportController;
+
+    private final CatalogImportResponseDto catalogImportResponseDto = new CatalogImportResponseDto(10, 1, 2, 9, 5, 2000);
+
+    @Test
+    void testImportNdjson_Success() {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(catalogImportService.importNdjson(body)).thenReturn(catalogImportResponseDto);
+
+        ResponseEntity<CatalogImportResponseDto> response = catalogImportController.importNdjson(body);
+
+        verify(catalogImportService, times(1)).importNdjson(body);
+        assertEquals(catalogImportResponseDto, response.getBody());
+    }
+
+    @Test
+    void testImportCsv_Success() {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(catalogImportService.importCsv(body)).thenReturn(catalogImportResponseDto);
+
+        ResponseEntity<CatalogImportResponseDto> response = catalogImportController.importCsv(body);
+
+        verify(catalogImportService, times(1)).importCsv(body);
+        assertEquals(catalogImportResponseDto, response.getBody());
+    }
+}
@@ -0,0 +1,161 @@
+package com.store.bookstore.controller;
+
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.dto.version.VersionStampDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import com.store.bookstore.service.AuthorService;
+import com.store.bookstore.service.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A conditional GET that turns out not modified must cost one statement reading row versions, whatever the size of the
+ * response it spares, and the stamps read that way must match the ones of the cached responses. The catalog cache is
+ * off, so every stamp comes from the database.
+ */
+@DataJpaTest(properties = {"bookstore.cache.maximum-size=0", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({AuthorMapper.class, BookMapper.class, CatalogCache.class, CatalogCacheProperties.class, AuthorNameFilter.class, AuthorNameFilterProperties.class, AuthorService.class, BookService.class,
+        SparseFieldsetRepository.class})
+class ConditionalGetTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    private BookController bookController;
+    private AuthorController authorController;
+    private Statistics statistics;
+    private List<Author> authors;
+
+    @BeforeEach
+    void setUp() {
+        bookController = new BookController(bookService, null, null);
+        authorController = new AuthorController(authorService, null);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        authors = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Author author = entityManager.persist(Author.builder().name("Name" + i).surname("Surname" + i).build());
+            authors.add(author);
+            for (int j = 0; j < 3; j++) {
+                entityManager.persist(Book.builder().title("Title" + i + "-" + j).description("Description").pageCount(100 + j).author(author).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testGetBook_NotModifiedIsOneStatement() {
+        String bookId = firstBookId();
+
+        assertNotModifiedInOneStatement((request) -> bookController.getBook(bookId, null, request));
+    }
+
+    @Test
+    void testGetFullBook_NotModifiedIsOneStatement() {
+        String bookId = firstBookId();
+
+        assertNotModifiedInOneStatement((request) -> bookController.getFullBook(bookId, null, request));
+    }
+
+    @Test
+    void testGetBooks_NotModifiedIsOneStatement() {
+        assertNotModifiedInOneStatement((request) -> bookController.getBooks(null, 10, null, request));
+        assertNotModifiedInOneStatement((request) -> bookController.getFullBooks(null, 10, null, request));
+    }
+
+    @Test
+    void testGetAuthor_NotModifiedIsOneStatement() {
+        String authorId = authors.get(0).getId().toString();
+
+        assertNotModifiedInOneStatement((request) -> authorController.getAuthor(authorId, null, request));
+        assertNotModifiedInOneStatement((request) -> authorController.getAuthorFullInfo(authorId, null, request));
+    }
+
+    @Test
+    void testGetAuthors_NotModifiedIsOneStatement() {
+        assertNotModifiedInOneStatement((request) -> authorController.getAuthors(null, 2, null, request));
+        assertNotModifiedInOneStatement((request) -> authorController.getFullAuthors(null, 2, null, request));
+    }
+
+    @Test
+    void testGetFullAuthors_PageLimitsAuthorsNotBooks() {
+        String after = authorService.getAuthorsWithBooks(null, 2).getNextCursor();
+
+        VersionStampDto firstPage = authorService.getFullAuthorPageVersion(null, 2);
+        VersionStampDto nextPage = authorService.getFullAuthorPageVersion(after, 2);
+
+        // Two authors and the lookahead one, with three books each
+        assertEquals(12, firstPage.getCount());
+        assertEquals(12, nextPage.getCount());
+        assertNotEquals(firstPage.toETag(), nextPage.toETag());
+    }
+
+    @Test
+    void testVersions_MatchCachedResponses() {
+        String authorId = authors.get(0).getId().toString();
+        String bookId = firstBookId();
+
+        assertEquals(VersionStampDto.ofRows(List.of(authorService.getAuthorWithBooks(authorId, null))).toETag(),
+                authorService.getFullAuthorVersion(authorId).toETag());
+        assertEquals(VersionStampDto.ofRows(List.of(bookService.getBookWithAuthors(bookId, null))).toETag(),
+                bookService.getFullBookVersion(bookId).toETag());
+        assertEquals(bookService.getBookWithoutAuthors(bookId, null).getVersion(), bookService.getBookVersion(bookId).getVersion());
+    }
+
+    private String firstBookId() {
+        return bookService.getBooksWithoutAuthors(null, 1, null).getItems().get(0).getId();
+    }
+
+    private void assertNotModifiedInOneStatement(Function<ServletWebRequest, ResponseEntity<?>> get) {
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        ResponseEntity<?> first = get.apply(new ServletWebRequest(new MockHttpServletRequest("GET", ""), firstResponse));
+        String eTag = firstResponse.getHeader("ETag");
+        assertNotNull(first);
+        assertNotNull(eTag);
+        entityManager.clear();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "");
+        request.addHeader("If-None-Match", eTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        statistics.clear();
+        ResponseEntity<?> conditional = get.apply(new ServletWebRequest(request, response));
+
+        assertNull(conditional);
+        assertEquals(304, response.getStatus());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,22 @@
+package com.store.bookstore.query;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.*;
+
+/**
+ * Fails the annotated test when it executes more SQL statements than {@link #value()}. Counting covers the test method
+ * only, not {@code @BeforeEach} setup, and needs the data source to be proxied by
+ * {@link com.store.bookstore.configuration.QueryTrackingConfig}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * Maximum number of statements the test may execute.
+     */
+    int value();
+}
@@ -0,0 +1,37 @@
+package com.store.bookstore.query;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tracks the statements of each test method and fails tests exceeding their {@link QueryBudget}.
+ */
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryTracker.start(MAX_DISTINCT_STATEMENTS);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryStats stats = QueryTracker.stop();
+        int budget = findBudget(context);
+        if (stats != null && stats.getStatementCount() > budget) {
+            fail("Query budget of " + budget + " statements exceeded: " + stats.getStatementCount() + " statements" + stats.describe());
+        }
+    }
+
+    private static int findBudget(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .map(QueryBudget::value)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,83 @@
+package com.store.bookstore.query;
+
+import com.store.bookstore.configuration.QueryBudgetProperties;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+
+    private final QueryBudgetProperties properties = new QueryBudgetProperties();
+
+    @Test
+    void testFilter_ExposesHeaders() throws Exception {
+        properties.setExposeHeaders(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryBudgetFilter(properties).doFilter(new MockHttpServletRequest("GET", "/books"), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                QueryTracker.record("select * from book", TimeUnit.MILLISECONDS.toNanos(3));
+                QueryTracker.record("select * from author", TimeUnit.MILLISECONDS.toNanos(2));
+                resp.getWriter().write("[]");
+            }
+        }));
+
+        assertEquals("2", response.getHeader(QueryBudgetFilter.COUNT_HEADER));
+        assertEquals("5.00", response.getHeader(QueryBudgetFilter.TIME_HEADER));
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    void testFilter_ExposesHeadersWithoutBody() throws Exception {
+        properties.setExposeHeaders(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryBudgetFilter(properties).doFilter(new MockHttpServletRequest("DELETE", "/books/1"), response,
+                (req, resp) -> QueryTracker.record("delete from book where id=?", 0));
+
+        assertEquals("1", response.getHeader(QueryBudgetFilter.COUNT_HEADER));
+    }
+
+    @Test
+    void testFilter_HeadersDisabledByDefault() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryBudgetFilter(properties).doFilter(new MockHttpServletRequest("GET", "/books"), response,
+                (req, resp) -> QueryTracker.record("select * from book", 0));
+
+        assertNull(response.getHeader(QueryBudgetFilter.COUNT_HEADER));
+    }
+
+    @Test
+    void testFilter_StopsTrackingAfterRequest() throws Exception {
+        new QueryBudgetFilter(properties).doFilter(new MockHttpServletRequest("GET", "/books"), new MockHttpServletResponse(),
+                (req, resp) -> QueryTracker.record("select * from book", 0));
+
+        assertNull(QueryTracker.stop());
+    }
+
+    @Test
+    void testStats_GroupsIdenticalStatements() {
+        QueryStats stats = QueryTracker.start(1);
+        QueryTracker.record("select * from author where id=?", 10);
+        QueryTracker.record("select * from author where id=?", 20);
+        QueryTracker.record("select * from book", 5);
+        QueryTracker.stop();
+
+        assertEquals(3, stats.getStatementCount());
+        assertEquals(35, stats.getTotalTime().toNanos());
+        assertEquals(1, stats.getStatements().size());
+        assertEquals(2, stats.getStatements().iterator().next().getCount());
+        assertTrue(stats.describe().contains("1x further statements not listed"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.store.bookstore.replica;
+
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.configuration.PersistenceConfig;
+import com.store.bookstore.configuration.ReadReplicaProperties;
+import com.store.bookstore.configuration.SecondLevelCacheConfig;
+import com.store.bookstore.configuration.SecondLevelCacheProperties;
+import com.store.bookstore.dto.author.request.AuthorCreateRequestDto;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import com.store.bookstore.service.AuthorService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing between two embedded databases standing in for a primary and its replica. Replication is simulated by
+ * copying the primary into the replica, so anything written since the last copy is replication lag.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "bookstore.read-replicas.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "bookstore.read-replicas.username=sa",
+        "bookstore.read-replicas.password="})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PersistenceConfig.class, ReadReplicaProperties.class, AuthorMapper.class, BookMapper.class, CatalogCache.class,
+        CatalogCacheProperties.class, AuthorNameFilter.class, AuthorNameFilterProperties.class, AuthorService.class,
+        SparseFieldsetRepository.class, SecondLevelCacheConfig.class, SecondLevelCacheProperties.class})
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary";
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testDataSource_RoutesThroughReplicaPool() {
+        ReadWriteRoutingDataSource routing = assertInstanceOf(ReadWriteRoutingDataSource.class, dataSource);
+
+        assertEquals(1, routing.getReplicaPool().healthyReplicas());
+    }
+
+    @Test
+    void testReadOnlyService_ReadsFromReplica() throws SQLException {
+        authorService.createAuthor(new AuthorCreateRequestDto(null, "Name", "Surname", null));
+
+        long primaryCount = ReplicaRouting.onPrimary(() -> authorRepository.count());
+
+        assertEquals(1, primaryCount);
+        assertEquals(0, authorRepository.count());
+        assertTrue(authorService.getAuthorsWithoutBooks(null, null).getItems().isEmpty());
+
+        replicate();
+
+        assertEquals(1, authorService.getAuthorsWithoutBooks(null, null).getItems().size());
+    }
+
+    @Test
+    void testReadOnlyService_PinnedReadsFromPrimary() {
+        authorService.createAuthor(new AuthorCreateRequestDto(null, "Name", "Surname", null));
+
+        assertEquals(1, ReplicaRouting.onPrimary(() -> authorService.getAuthorsWithoutBooks(null, null)).getItems().size());
+    }
+
+    @Test
+    void testCatalogCache_LoadsFromPrimary() {
+        AuthorFullResponseDto created = authorService.createAuthor(new AuthorCreateRequestDto(null, "Name", "Surname", null));
+
+        assertEquals("Name", authorService.getAuthorWithoutBooks(created.getId()).getName());
+    }
+
+    @Test
+    void testSecondLevelCache_FilledFromPrimaryOnly() throws SQLException {
+        UUID id = UUID.fromString(authorService.createAuthor(new AuthorCreateRequestDto(null, "Name", "Surname", null)).getId());
+        replicate();
+        entityManagerFactory.getCache().evictAll();
+
+        assertTrue(authorRepository.findById(id).isPresent());
+        assertEquals(1, authorService.getAuthorsWithBooks(null, null).getItems().size());
+        assertFalse(entityManagerFactory.getCache().contains(Author.class, id));
+
+        assertTrue(ReplicaRouting.onPrimary(() -> authorRepository.findById(id)).isPresent());
+        assertTrue(entityManagerFactory.getCache().contains(Author.class, id));
+    }
+
+    /**
+     * Replaces the replica's schema and data with a copy of the primary.
+     */
+    private static void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
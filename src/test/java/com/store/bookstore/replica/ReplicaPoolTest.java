@@ -0,0 +1,131 @@
+package com.store.bookstore.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReplicaPoolTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replica1Connection;
+
+    @Mock
+    private Connection replica2Connection;
+
+    private ReplicaPool replicaPool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        // Checks only run when called by the tests
+        replicaPool = new ReplicaPool(primary, List.of(replica1, replica2), Duration.ofHours(1), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        replicaPool.close();
+    }
+
+    @Test
+    void testGetConnection_RoundRobin() throws SQLException {
+        assertSame(replica1Connection, replicaPool.getConnection());
+        assertSame(replica2Connection, replicaPool.getConnection());
+        assertSame(replica1Connection, replicaPool.getConnection());
+    }
+
+    @Test
+    void testGetConnection_FailingReplicaIsSkippedUntilHealthy() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+
+        assertSame(replica2Connection, replicaPool.getConnection());
+        assertSame(replica2Connection, replicaPool.getConnection());
+        assertEquals(1, replicaPool.healthyReplicas());
+        verify(replica1, times(1)).getConnection();
+
+        doReturn(replica1Connection).when(replica1).getConnection();
+        replicaPool.checkHealth();
+
+        assertEquals(2, replicaPool.healthyReplicas());
+        assertSame(replica1Connection, replicaPool.getConnection());
+    }
+
+    @Test
+    void testGetConnection_ExhaustedReplicaStaysHealthy() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out"));
+
+        assertSame(replica2Connection, replicaPool.getConnection());
+        replicaPool.checkHealth();
+
+        assertEquals(2, replicaPool.healthyReplicas());
+        verify(replica1, times(2)).getConnection();
+    }
+
+    @Test
+    void testGetConnection_UnreachableReplicaIsMarkedDown() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out",
+                new SQLException("Connection refused")));
+
+        assertSame(replica2Connection, replicaPool.getConnection());
+
+        assertEquals(1, replicaPool.healthyReplicas());
+    }
+
+    @Test
+    void testGetConnection_AllReplicasDownFallsBackToPrimary() throws SQLException {
+        when(replica1Connection.isValid(anyInt())).thenReturn(false);
+        when(replica2.getConnection()).thenThrow(new SQLException("down"));
+        replicaPool.checkHealth();
+
+        assertEquals(0, replicaPool.healthyReplicas());
+        assertSame(primaryConnection, replicaPool.getConnection());
+        verify(primaryConnection).setReadOnly(true);
+    }
+
+    @Test
+    void testGetConnection_PinnedThreadReadsFromPrimary() {
+        Connection connection = ReplicaRouting.onPrimary(() -> {
+            try {
+                return replicaPool.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        assertSame(primaryConnection, connection);
+        assertFalse(ReplicaRouting.isPinnedToPrimary());
+    }
+}
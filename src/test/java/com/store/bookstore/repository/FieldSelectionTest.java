@@ -0,0 +1,51 @@
+package com.store.bookstore.repository;
+
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    @Test
+    void testParse_ScalarFields() {
+        FieldSelection selection = FieldSelection.parse("title, pageCount,id", BookResponseDto.class);
+
+        assertEquals(Set.of("title", "pageCount"), selection.getFields());
+        assertTrue(selection.contains("id"));
+        assertFalse(selection.contains("description"));
+        assertFalse(selection.isRelationSelected());
+    }
+
+    @Test
+    void testParse_NestedRelationField() {
+        FieldSelection selection = FieldSelection.parse("name,books.title", AuthorFullResponseDto.class);
+
+        assertEquals(Set.of("name"), selection.getFields());
+        assertEquals("books", selection.getRelation());
+        assertTrue(selection.isRelationSelected());
+        assertEquals(Set.of("title"), selection.getRelationFields());
+        assertTrue(selection.containsRelationField("id"));
+    }
+
+    @Test
+    void testParse_RelationNameSelectsAllItsFields() {
+        FieldSelection selection = FieldSelection.parse("title,author", BookFullResponseDto.class);
+
+        assertEquals(Set.of("name", "surname"), selection.getRelationFields());
+    }
+
+    @Test
+    void testParse_UnknownField() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> FieldSelection.parse("title,author.name", BookResponseDto.class));
+        assertEquals("Unknown field: author.name", ex.getMessage());
+
+        assertThrows(InvalidRequestException.class, () -> FieldSelection.parse("books.isbn", AuthorFullResponseDto.class));
+    }
+}
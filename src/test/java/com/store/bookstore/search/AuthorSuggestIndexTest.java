@@ -0,0 +1,166 @@
+package com.store.bookstore.search;
+
+import com.store.bookstore.configuration.AuthorSuggestProperties;
+import com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorSuggestIndexTest {
+
+    private AuthorSuggestIndex authorSuggestIndex;
+
+    private UUID tolkien;
+    private UUID tolstoy;
+    private UUID toni;
+
+    @BeforeEach
+    void setUp() {
+        AuthorSuggestProperties properties = new AuthorSuggestProperties();
+        properties.setMaxSuggestions(3);
+        authorSuggestIndex = new AuthorSuggestIndex(properties);
+
+        tolkien = UUID.randomUUID();
+        tolstoy = UUID.randomUUID();
+        toni = UUID.randomUUID();
+        authorSuggestIndex.put(tolkien, "John", "Tolkien", 5);
+        authorSuggestIndex.put(tolstoy, "Leo", "Tolstoy", 9);
+        authorSuggestIndex.put(toni, "Toni", "Morrison", 2);
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("emile zola", AuthorSuggestIndex.normalize("  Émile   ZOLA "));
+        assertEquals("", AuthorSuggestIndex.normalize(null));
+    }
+
+    @Test
+    void testSuggest_ByNameOrSurnameRankedByBookCount() {
+        assertEquals(List.of(tolstoy, tolkien, toni), ids(authorSuggestIndex.suggest("to", 10)));
+        assertEquals(List.of(tolstoy, tolkien), ids(authorSuggestIndex.suggest("tol", 10)));
+        assertEquals(List.of(tolkien), ids(authorSuggestIndex.suggest("john t", 10)));
+        assertEquals(List.of(tolkien), ids(authorSuggestIndex.suggest("Tolkien J", 10)));
+        assertEquals(List.of(toni), ids(authorSuggestIndex.suggest("morr", 10)));
+        assertEquals(List.of(tolstoy), ids(authorSuggestIndex.suggest("to", 1)));
+        assertTrue(authorSuggestIndex.suggest("tox", 10).isEmpty());
+        assertTrue(authorSuggestIndex.suggest(" ", 10).isEmpty());
+
+        AuthorSuggestionResponseDto suggestion = authorSuggestIndex.suggest("leo", 10).get(0);
+        assertEquals(new AuthorSuggestionResponseDto(tolstoy.toString(), "Leo", "Tolstoy", 9L), suggestion);
+    }
+
+    @Test
+    void testSuggest_KeepsOnlyTopAuthorsPerPrefix() {
+        UUID tove = UUID.randomUUID();
+        authorSuggestIndex.put(tove, "Tove", "Jansson", 7);
+
+        assertEquals(List.of(tolstoy, tove, tolkien), ids(authorSuggestIndex.suggest("to", 10)));
+
+        authorSuggestIndex.remove(tolstoy);
+
+        assertEquals(List.of(tove, tolkien, toni), ids(authorSuggestIndex.suggest("to", 10)));
+        assertTrue(authorSuggestIndex.suggest("leo", 10).isEmpty());
+    }
+
+    @Test
+    void testOnBookChanged_UpdatesRanking() {
+        for (int i = 0; i < 5; i++) {
+            authorSuggestIndex.onBookChanged(new BookChangedEvent(ChangeType.CREATED, UUID.randomUUID(), tolkien));
+        }
+
+        assertEquals(List.of(tolkien, tolstoy, toni), ids(authorSuggestIndex.suggest("to", 10)));
+        assertEquals(10L, authorSuggestIndex.suggest("john", 10).get(0).getBookCount());
+
+        for (int i = 0; i < 9; i++) {
+            authorSuggestIndex.onBookChanged(new BookChangedEvent(ChangeType.DELETED, UUID.randomUUID(), tolstoy));
+        }
+
+        assertEquals(List.of(tolkien, toni, tolstoy), ids(authorSuggestIndex.suggest("to", 10)));
+    }
+
+    @Test
+    void testOnAuthorChanged_RenamesAndDeletes() {
+        UUID created = UUID.randomUUID();
+        authorSuggestIndex.onBookChanged(new BookChangedEvent(ChangeType.CREATED, UUID.randomUUID(), created));
+        authorSuggestIndex.onAuthorChanged(new AuthorChangedEvent(ChangeType.CREATED, created, "Tom", "Sawyer"));
+        authorSuggestIndex.onAuthorChanged(new AuthorChangedEvent(ChangeType.UPDATED, tolkien, "Ronald", "Reuel"));
+        authorSuggestIndex.onAuthorChanged(new AuthorChangedEvent(ChangeType.DELETED, toni));
+
+        assertEquals(List.of(tolstoy, created), ids(authorSuggestIndex.suggest("to", 10)));
+        assertEquals(1L, authorSuggestIndex.suggest("sawyer", 10).get(0).getBookCount());
+        assertEquals(List.of(tolkien), ids(authorSuggestIndex.suggest("reuel", 10)));
+        assertEquals(5L, authorSuggestIndex.suggest("ronald", 10).get(0).getBookCount());
+        assertEquals(3, authorSuggestIndex.size());
+    }
+
+    @Test
+    void testRebuild_ReportsAuthorsChangedMeanwhile() {
+        authorSuggestIndex.startRebuild();
+        authorSuggestIndex.onAuthorChanged(new AuthorChangedEvent(ChangeType.DELETED, toni));
+        authorSuggestIndex.indexFromSnapshot(toni, "Toni", "Morrison", 2);
+        authorSuggestIndex.indexFromSnapshot(tolstoy, "Leo", "Tolstoy", 10);
+
+        assertEquals(Set.of(toni), authorSuggestIndex.finishRebuild());
+        assertTrue(authorSuggestIndex.suggest("morrison", 10).isEmpty());
+        assertEquals(10L, authorSuggestIndex.suggest("leo", 10).get(0).getBookCount());
+    }
+
+    @Test
+    void testSuggest_MatchesBruteForceAfterRandomChanges() {
+        Random random = new Random(7);
+        String[] syllables = {"an", "be", "ca", "da", "el", "fa", "ka", "ma", "ri", "so"};
+        Map<UUID, String[]> authors = new HashMap<>();
+        Map<UUID, Long> counts = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            int action = random.nextInt(10);
+            if (action < 6 || ids.isEmpty()) {
+                UUID id = UUID.randomUUID();
+                String name = syllables[random.nextInt(10)] + syllables[random.nextInt(10)];
+                String surname = syllables[random.nextInt(10)] + syllables[random.nextInt(10)] + syllables[random.nextInt(10)];
+                long count = random.nextInt(20);
+                authorSuggestIndex.put(id, name, surname, count);
+                authors.put(id, new String[]{name, surname});
+                counts.put(id, count);
+                ids.add(id);
+            } else if (action < 9) {
+                UUID id = ids.get(random.nextInt(ids.size()));
+                boolean created = random.nextBoolean() || counts.get(id) == 0;
+                authorSuggestIndex.onBookChanged(new BookChangedEvent(created ? ChangeType.CREATED : ChangeType.DELETED, UUID.randomUUID(), id));
+                counts.merge(id, created ? 1L : -1L, Long::sum);
+            } else {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                authorSuggestIndex.remove(id);
+                authors.remove(id);
+                counts.remove(id);
+            }
+        }
+
+        for (String prefix : List.of("a", "an", "ka", "mari", "so", "be ca", "daso ma", "rika", "elel e")) {
+            List<UUID> expected = authors.entrySet().stream()
+                    .filter((entry) -> {
+                        String[] author = entry.getValue();
+                        return (author[0] + " " + author[1]).startsWith(prefix) || (author[1] + " " + author[0]).startsWith(prefix);
+                    })
+                    .sorted(Comparator.comparing((Map.Entry<UUID, String[]> entry) -> counts.get(entry.getKey())).reversed()
+                            .thenComparing((entry) -> entry.getValue()[0] + " " + entry.getValue()[1])
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(3)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            assertEquals(expected, ids(authorSuggestIndex.suggest(prefix, 3)), "prefix " + prefix);
+        }
+    }
+
+    private static List<UUID> ids(List<AuthorSuggestionResponseDto> suggestions) {
+        return suggestions.stream().map((suggestion) -> UUID.fromString(suggestion.getId())).toList();
+    }
+}
@@ -0,0 +1,127 @@
+package com.store.bookstore.search;
+
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex bookSearchIndex;
+
+    private UUID dune;
+    private UUID foundation;
+    private UUID hyperion;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex();
+
+        dune = UUID.randomUUID();
+        foundation = UUID.randomUUID();
+        hyperion = UUID.randomUUID();
+        bookSearchIndex.index(dune, "Dune", "A desert planet, spice and politics.");
+        bookSearchIndex.index(foundation, "Foundation", "The fall of a galactic empire and the plan to save it.");
+        bookSearchIndex.index(hyperion, "Hyperion", "Pilgrims travel to a distant planet in a galactic war.");
+    }
+
+    @Test
+    void testTokenize() {
+        assertEquals(List.of("hello", "world", "2nd", "édition"), BookSearchIndex.tokenize("Hello, WORLD! The 2nd Édition x"));
+        assertTrue(BookSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void testSearch_RanksByRelevance() {
+        // Both mention it once, the shorter Foundation document ranks first
+        assertEquals(List.of(foundation, hyperion), bookSearchIndex.search("galactic", 0, 10));
+        assertEquals(List.of(dune, hyperion), bookSearchIndex.search("desert planet", 0, 10));
+        assertEquals(List.of(foundation), bookSearchIndex.search("FOUNDATION", 0, 10));
+        assertTrue(bookSearchIndex.search("the and", 0, 10).isEmpty());
+        assertTrue(bookSearchIndex.search("unicorn", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_TitleOutweighsDescription() {
+        UUID planetTitle = UUID.randomUUID();
+        bookSearchIndex.index(planetTitle, "Planet", "A story.");
+
+        assertEquals(planetTitle, bookSearchIndex.search("planet", 0, 10).get(0));
+    }
+
+    @Test
+    void testSearch_Paging() {
+        assertEquals(List.of(foundation), bookSearchIndex.search("galactic", 0, 1));
+        assertEquals(List.of(hyperion), bookSearchIndex.search("galactic", 1, 1));
+        assertTrue(bookSearchIndex.search("galactic", 2, 1).isEmpty());
+    }
+
+    @Test
+    void testOnBookChanged_UpdatesAndDeletes() {
+        bookSearchIndex.onBookChanged(new BookChangedEvent(ChangeType.UPDATED, dune, null, "Dune", "Sandworms."));
+        bookSearchIndex.onBookChanged(new BookChangedEvent(ChangeType.DELETED, hyperion, null));
+
+        assertTrue(bookSearchIndex.search("planet", 0, 10).isEmpty());
+        assertEquals(List.of(dune), bookSearchIndex.search("sandworms", 0, 10));
+        assertEquals(2, bookSearchIndex.size());
+    }
+
+    @Test
+    void testOnBookChanged_TextClearedOrLeftAlone() {
+        bookSearchIndex.onBookChanged(new BookChangedEvent(ChangeType.UPDATED, dune, null));
+        bookSearchIndex.onBookChanged(new BookChangedEvent(ChangeType.UPDATED, hyperion, null, null, null));
+
+        assertEquals(List.of(dune), bookSearchIndex.search("desert", 0, 10));
+        assertTrue(bookSearchIndex.search("pilgrims", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_DeletedDocumentsDontCountTowardsRarity() {
+        UUID alpha = UUID.randomUUID();
+        UUID beta = UUID.randomUUID();
+        bookSearchIndex.index(alpha, "Alpha", null);
+        bookSearchIndex.index(beta, "Beta", null);
+        for (int i = 0; i < 5; i++) {
+            UUID replaced = UUID.randomUUID();
+            bookSearchIndex.index(replaced, "Alpha", null);
+            bookSearchIndex.remove(replaced);
+        }
+
+        // Equally rare among live books, so the older one ranks first
+        assertEquals(List.of(alpha, beta), bookSearchIndex.search("alpha beta", 0, 10));
+    }
+
+    @Test
+    void testRebuild_SkipsBooksChangedMeanwhile() {
+        bookSearchIndex.startRebuild();
+        bookSearchIndex.onBookChanged(new BookChangedEvent(ChangeType.DELETED, dune, null));
+        bookSearchIndex.indexFromSnapshot(dune, "Dune", "A desert planet.");
+        bookSearchIndex.finishRebuild();
+
+        assertTrue(bookSearchIndex.search("desert", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testCompaction_KeepsLiveDocuments() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            bookSearchIndex.index(id, "Book " + i, "filler text");
+        }
+        for (int i = 0; i < 2_000; i++) {
+            bookSearchIndex.remove(ids.get(i));
+        }
+
+        assertEquals(1_003, bookSearchIndex.size());
+        assertEquals(1_000, bookSearchIndex.search("filler", 0, 5_000).size());
+        assertEquals(List.of(ids.get(2_500)), bookSearchIndex.search("2500", 0, 10));
+        assertEquals(List.of(foundation, hyperion), bookSearchIndex.search("galactic", 0, 10));
+    }
+}
@@ -1,27 +1,48 @@
 package com.store.bookstore.service;
 
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.configuration.CatalogCacheProperties;
 import com.store.bookstore.dto.author.request.AuthorCreateRequestDto;
+import com.store.bookstore.dto.author.response.AuthorBooksMergeResponseDto;
 import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
 import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
 import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.event.AuthorChangedEvent;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
 import com.store.bookstore.exception.EntityAlreadyExistsException;
 import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
 import com.store.bookstore.model.Author;
 import com.store.bookstore.model.Book;
 import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.ui.ModelMap;
 
+import java.sql.SQLException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,10 +53,24 @@ class AuthorServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
-    private ModelMapper modelMapper = new ModelMapper();
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private SparseFieldsetRepository sparseFieldsetRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuthorMapper authorMapper = new AuthorMapper(new BookMapper());
 
     private AuthorService authorService;
 
+    private AuthorNameFilter authorNameFilter;
+
     private Author authorWithoutBooks;
     private Author authorWithBooks;
     private UUID authorId;
@@ -47,17 +82,20 @@ class AuthorServiceTest {
 
     @BeforeEach
     void setUp() {
-        authorService = new AuthorService(authorRepository, modelMapper);
+        AuthorNameFilterProperties authorNameFilterProperties = new AuthorNameFilterProperties();
+        authorNameFilter = new AuthorNameFilter(authorNameFilterProperties);
+        authorService = new AuthorService(authorRepository, authorMapper, bookRepository, sparseFieldsetRepository, new CatalogCache(new CatalogCacheProperties(), new TransactionTemplate(transactionManager)),
+                authorNameFilter, authorNameFilterProperties, eventPublisher);
 
         book1Id = UUID.randomUUID();
         book2Id = UUID.randomUUID();
-        Book book1 = new Book(book1Id, "Sample Title", "Sample Description", 300, null);
-        Book book2 = new Book(book2Id, "Sample Title 2", "Sample Description 2", 400, null);
+        Book book1 = new Book(book1Id, "Sample Title", "Sample Description", 300, null, null, null);
+        Book book2 = new Book(book2Id, "Sample Title 2", "Sample Description 2", 400, null, null, null);
         books = Arrays.asList(book1, book2);
 
         authorId = UUID.randomUUID();
-        authorWithoutBooks = new Author(authorId, "John", "Doe", null);
-        authorWithBooks = new Author(authorId, "John", "Doe", books);
+        authorWithoutBooks = new Author(authorId, "John", "Doe", null, null, null);
+        authorWithBooks = new Author(authorId, "John", "Doe", books, null, null);
 
 //        authorCreateRequestDto = new AuthorCreateRequestDto();
 //        authorCreateRequestDto.setName("John");
@@ -71,24 +109,35 @@ class AuthorServiceTest {
     void testGetAuthorWithoutBooks_Success() {
         AuthorResponseDto authorResponseDto = new AuthorResponseDto(authorId.toString(), "John", "Doe");
 
-        when(authorRepository.findById(authorId)).thenReturn(Optional.of(authorWithoutBooks));
+        when(authorRepository.findResponseById(authorId)).thenReturn(Optional.of(authorMapper.toResponseDto(authorWithoutBooks)));
 
         AuthorResponseDto result = authorService.getAuthorWithoutBooks(authorId.toString());
 
-        verify(authorRepository, times(1)).findById(authorId);
+        verify(authorRepository, times(1)).findResponseById(authorId);
         assertEquals(authorResponseDto, result);
     }
 
+    @Test
+    void testGetAuthorWithoutBooks_Cached() {
+        when(authorRepository.findResponseById(authorId)).thenReturn(Optional.of(authorMapper.toResponseDto(authorWithoutBooks)));
+
+        AuthorResponseDto first = authorService.getAuthorWithoutBooks(authorId.toString());
+        AuthorResponseDto second = authorService.getAuthorWithoutBooks(authorId.toString());
+
+        verify(authorRepository, times(1)).findResponseById(authorId);
+        assertSame(first, second);
+    }
+
     @Test
     void testGetAuthorWithoutBooks_NotFound() {
-        when(authorRepository.findById(authorId)).thenReturn(Optional.empty());
+        when(authorRepository.findResponseById(authorId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> {
             authorService.getAuthorWithoutBooks(authorId.toString());
         });
 
         assertEquals("Author not found with ID: " + authorId, exception.getMessage());
-        verify(authorRepository, times(1)).findById(authorId);
+        verify(authorRepository, times(1)).findResponseById(authorId);
     }
 
     @Test
@@ -98,24 +147,57 @@ class AuthorServiceTest {
                 new BookResponseDto(book2Id.toString(), "Sample Title 2", "Sample Description 2", 400)
         ));
 
-        when(authorRepository.findById(authorId)).thenReturn(Optional.of(authorWithBooks));
+        when(authorRepository.findWithBooksById(authorId)).thenReturn(Optional.of(authorWithBooks));
 
         AuthorFullResponseDto result = authorService.getAuthorWithBooks(authorId.toString());
 
-        verify(authorRepository, times(1)).findById(authorId);
+        verify(authorRepository, times(1)).findWithBooksById(authorId);
         assertEquals(authorFullResponseDto, result);
     }
 
     @Test
     void testGetAuthorWithBooks_NotFound() {
-        when(authorRepository.findById(authorId)).thenReturn(Optional.empty());
+        when(authorRepository.findWithBooksById(authorId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> {
             authorService.getAuthorWithBooks(authorId.toString());
         });
 
         assertEquals("Author not found with ID: " + authorId, exception.getMessage());
-        verify(authorRepository, times(1)).findById(authorId);
+        verify(authorRepository, times(1)).findWithBooksById(authorId);
+    }
+
+    @Test
+    void testGetAuthorsWithoutBooks_Success() {
+        AuthorResponseDto secondAuthor = new AuthorResponseDto(UUID.randomUUID().toString(), "Jane", "Roe");
+
+        when(authorRepository.findResponsesByOrderByIdAsc(Limit.of(2))).thenReturn(Arrays.asList(authorMapper.toResponseDto(authorWithoutBooks), secondAuthor));
+
+        PageResponseDto<AuthorResponseDto> result = authorService.getAuthorsWithoutBooks(null, 1);
+
+        assertEquals(List.of(new AuthorResponseDto(authorId.toString(), "John", "Doe")), result.getItems());
+        assertEquals(KeysetPagination.encodeCursor(authorId), result.getNextCursor());
+    }
+
+    @Test
+    void testGetAuthorsWithBooks_AfterCursor() {
+        when(authorRepository.findByIdGreaterThanOrderByIdAsc(authorId, Limit.of(KeysetPagination.DEFAULT_LIMIT + 1))).thenReturn(List.of(authorWithBooks));
+
+        PageResponseDto<AuthorFullResponseDto> result = authorService.getAuthorsWithBooks(KeysetPagination.encodeCursor(authorId), null);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(2, result.getItems().get(0).getBooks().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetAuthorsWithoutBooks_EmptyList() {
+        when(authorRepository.findResponsesByOrderByIdAsc(any(Limit.class))).thenReturn(Collections.emptyList());
+
+        PageResponseDto<AuthorResponseDto> result = authorService.getAuthorsWithoutBooks(null, null);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
@@ -126,7 +208,7 @@ class AuthorServiceTest {
 
         authorService.createAuthor(authorCreateRequestDto);
 
-        verify(authorRepository, times(1)).save(argThat(author ->
+        verify(authorRepository, times(1)).saveAndFlush(argThat(author ->
                 author.getName().equals("John") &&
                         author.getSurname().equals("Doe") &&
                         (author.getBooks().isEmpty())
@@ -144,14 +226,43 @@ class AuthorServiceTest {
         });
 
         assertEquals("Author already exists with name: John and surname: Doe", exception.getMessage());
-        verify(authorRepository, times(0)).save(any());
+        verify(authorRepository, times(0)).saveAndFlush(any());
+    }
+
+    @Test
+    void testCreateAuthor_NewNameSkipsExistenceQuery() {
+        authorNameFilter.startLoad(0);
+        authorNameFilter.add("Jane", "Doe");
+        authorNameFilter.finishLoad();
+        AuthorCreateRequestDto authorCreateRequestDto = new AuthorCreateRequestDto(null, "John", "Doe", Collections.emptyList());
+
+        authorService.createAuthor(authorCreateRequestDto);
+
+        verify(authorRepository, never()).existsByNameAndSurname(any(), any());
+        verify(authorRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void testCreateAuthor_UniqueViolationIsConflict() {
+        authorNameFilter.startLoad(0);
+        authorNameFilter.finishLoad();
+        AuthorCreateRequestDto authorCreateRequestDto = new AuthorCreateRequestDto(null, "John", "Doe", Collections.emptyList());
+        when(authorRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), ConstraintViolationException.ConstraintKind.UNIQUE, "uk_author")));
+
+        Exception exception = assertThrows(EntityAlreadyExistsException.class, () -> {
+            authorService.createAuthor(authorCreateRequestDto);
+        });
+
+        assertEquals("Author already exists with name: John and surname: Doe", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void testUpdateAuthor_Success() {
         AuthorCreateRequestDto authorCreateRequestDto = new AuthorCreateRequestDto(UUID.randomUUID().toString(), "John", "Doe", Collections.emptyList());
 
-        when(authorRepository.findById(authorId)).thenReturn(Optional.of(authorWithoutBooks));
+        when(authorRepository.findWithBooksById(authorId)).thenReturn(Optional.of(authorWithoutBooks));
 
         authorService.updateAuthor(authorId.toString(), authorCreateRequestDto);
 
@@ -164,6 +275,7 @@ class AuthorServiceTest {
 
     @Test
     void testUpdateAuthor_NotFound() {
+        AuthorCreateRequestDto authorCreateRequestDto = new AuthorCreateRequestDto(null, "John", "Doe", null);
         when(authorRepository.findById(authorId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -175,25 +287,83 @@ class AuthorServiceTest {
         verify(authorRepository, times(0)).save(any());
     }
 
+    @Test
+    void testMergeAuthorBooks_KeepsMatchedBooks() {
+        Author author = new Author(authorId, "John", "Doe", new ArrayList<>(books), null, null);
+        when(authorRepository.findWithBooksById(authorId)).thenReturn(Optional.of(author));
+
+        AuthorBooksMergeResponseDto merge = authorService.mergeAuthorBooks(authorId.toString(), List.of(
+                new BookCreateRequestDto("Renamed", "Sample Description 2", 400, null, book2Id.toString()),
+                new BookCreateRequestDto("New Title", "New Description", 100, null)));
+
+        assertEquals(1, merge.getInserted());
+        assertEquals(1, merge.getUpdated());
+        assertEquals(1, merge.getDeleted());
+        assertEquals(0, merge.getUnchanged());
+        assertEquals(2, author.getBooks().size());
+        assertSame(books.get(1), author.getBooks().get(0));
+        assertEquals("Renamed", books.get(1).getTitle());
+        verify(bookRepository, times(1)).save(argThat(book -> book.getTitle().equals("New Title") && book.getAuthor() == author));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && bookEvent.getType() == ChangeType.DELETED && bookEvent.getBookId().equals(book1Id)));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && bookEvent.getType() == ChangeType.UPDATED && bookEvent.getBookId().equals(book2Id)));
+    }
+
+    @Test
+    void testMergeAuthorBooks_MatchesByTitle() {
+        Author author = new Author(authorId, "John", "Doe", new ArrayList<>(books), null, null);
+        when(authorRepository.findWithBooksById(authorId)).thenReturn(Optional.of(author));
+
+        AuthorBooksMergeResponseDto merge = authorService.mergeAuthorBooks(authorId.toString(), List.of(
+                new BookCreateRequestDto("Sample Title", "Sample Description", 300, null),
+                new BookCreateRequestDto("Sample Title 2", "Sample Description 2", 400, null)));
+
+        assertEquals(2, merge.getUnchanged());
+        assertEquals(0, merge.getInserted() + merge.getUpdated() + merge.getDeleted());
+        assertEquals(List.of(book1Id.toString(), book2Id.toString()), merge.getBooks().stream().map(BookResponseDto::getId).toList());
+        verify(bookRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testMergeAuthorBooks_ForeignBookId() {
+        Author author = new Author(authorId, "John", "Doe", new ArrayList<>(books), null, null);
+        when(authorRepository.findWithBooksById(authorId)).thenReturn(Optional.of(author));
+
+        assertThrows(InvalidRequestException.class, () -> authorService.mergeAuthorBooks(authorId.toString(),
+                List.of(new BookCreateRequestDto("Title", null, null, null, UUID.randomUUID().toString()))));
+        assertEquals(2, author.getBooks().size());
+    }
+
     @Test
     void testDeleteAuthor_Success() {
-        when(authorRepository.findById(authorId)).thenReturn(Optional.of(authorWithBooks));
+        when(bookRepository.findIdsByAuthorId(authorId)).thenReturn(List.of(book1Id, book2Id));
+        when(authorRepository.deleteRowById(authorId)).thenReturn(1);
 
         authorService.deleteAuthor(authorId.toString());
 
-        verify(authorRepository, times(1)).delete(authorWithBooks);
+        verify(bookRepository, times(1)).deleteRowsByAuthorId(authorId, List.of(book1Id, book2Id));
+        verify(authorRepository, never()).findWithBooksById(any());
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof AuthorChangedEvent authorEvent && authorEvent.getType() == ChangeType.DELETED && authorEvent.getAuthorId().equals(authorId)));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && bookEvent.getType() == ChangeType.DELETED && bookEvent.getBookId().equals(book1Id)));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && bookEvent.getType() == ChangeType.DELETED && bookEvent.getBookId().equals(book2Id)));
     }
 
     @Test
     void testDeleteAuthor_NotFound() {
-        when(authorRepository.findById(authorId)).thenReturn(Optional.empty());
+        when(bookRepository.findIdsByAuthorId(authorId)).thenReturn(List.of());
+        when(authorRepository.deleteRowById(authorId)).thenReturn(0);
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> {
             authorService.deleteAuthor(authorId.toString());
         });
 
         assertEquals("Author not found with ID: " + authorId, exception.getMessage());
-        verify(authorRepository, times(1)).findById(authorId);
-        verify(authorRepository, times(0)).delete(any());
+        verify(bookRepository, never()).deleteRowsByAuthorId(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
@@ -0,0 +1,65 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.configuration.AuthorSuggestProperties;
+import com.store.bookstore.dto.author.response.AuthorSuggestionResponseDto;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.search.AuthorSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorSuggestServiceTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuthorSuggestIndex authorSuggestIndex;
+
+    private AuthorSuggestService authorSuggestService;
+
+    private AuthorSuggestionResponseDto tolkien;
+
+    @BeforeEach
+    void setUp() {
+        AuthorSuggestProperties properties = new AuthorSuggestProperties();
+        authorSuggestIndex = new AuthorSuggestIndex(properties);
+        authorSuggestService = new AuthorSuggestService(authorSuggestIndex, authorRepository,
+                new TransactionTemplate(transactionManager), properties);
+
+        tolkien = new AuthorSuggestionResponseDto(UUID.randomUUID().toString(), "John", "Tolkien", 5L);
+    }
+
+    @Test
+    void testBuildIndex() {
+        when(authorRepository.streamSuggestionRows()).thenReturn(Stream.of(tolkien));
+
+        authorSuggestService.buildIndex();
+
+        assertEquals(List.of(tolkien), authorSuggestService.suggestAuthors("tolk", null));
+        verify(authorRepository, never()).findSuggestionRowsByIdIn(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testSuggestAuthors_InvalidRequest() {
+        assertThrows(InvalidRequestException.class, () -> authorSuggestService.suggestAuthors("", null));
+        assertThrows(InvalidRequestException.class, () -> authorSuggestService.suggestAuthors("to", 11));
+        assertThrows(InvalidRequestException.class, () -> authorSuggestService.suggestAuthors("to", 0));
+    }
+}
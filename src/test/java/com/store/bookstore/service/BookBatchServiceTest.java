@@ -0,0 +1,171 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.configuration.BookBatchProperties;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.response.BookBatchDeleteResponseDto;
+import com.store.bookstore.dto.book.response.BookBatchItemResultDto;
+import com.store.bookstore.dto.book.response.BookBatchResponseDto;
+import com.store.bookstore.dto.book.response.BookOwnerRowDto;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookBatchServiceTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BookBatchService bookBatchService;
+
+    private Author author;
+    private UUID authorId;
+
+    @BeforeEach
+    void setUp() {
+        BookBatchProperties properties = new BookBatchProperties();
+        properties.setChunkSize(2);
+        properties.setMaxItems(10);
+
+        bookBatchService = new BookBatchService(authorRepository, bookRepository, new BookMapper(),
+                new TransactionTemplate(transactionManager), eventPublisher, properties);
+
+        authorId = UUID.randomUUID();
+        author = new Author(authorId, "John", "Doe", Collections.emptyList(), null, null);
+    }
+
+    @Test
+    void testCreateBooks_ResolvesAuthorsOnceAndSavesInChunks() {
+        when(authorRepository.findAllById(Set.of(authorId))).thenReturn(List.of(author));
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        List<BookCreateRequestDto> books = List.of(book("A"), book("B"), book("C"), book("D"), book("E"));
+
+        BookBatchResponseDto result = bookBatchService.createBooks(books);
+
+        assertEquals(5, result.getCreated());
+        assertEquals(0, result.getFailed());
+        result.getResults().forEach(item -> assertNotNull(item.getId()));
+        verify(authorRepository, times(1)).findAllById(Set.of(authorId));
+        verify(bookRepository, times(3)).saveAll(anyList());
+        verify(transactionManager, times(3)).commit(any());
+        verify(eventPublisher, times(5)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testCreateBooks_ReportsInvalidItems() {
+        UUID unknownAuthorId = UUID.randomUUID();
+        when(authorRepository.findAllById(Set.of(authorId, unknownAuthorId))).thenReturn(List.of(author));
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        List<BookCreateRequestDto> books = Arrays.asList(
+                book("A"),
+                new BookCreateRequestDto("B", "Description", 100, "not-a-uuid"),
+                new BookCreateRequestDto("C", "Description", 100, unknownAuthorId.toString()),
+                null);
+
+        BookBatchResponseDto result = bookBatchService.createBooks(books);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertEquals(BookBatchItemResultDto.CREATED, result.getResults().get(0).getStatus());
+        assertEquals("Invalid author ID: not-a-uuid", result.getResults().get(1).getMessage());
+        assertEquals("Can't create book without author. Author not found with ID: " + unknownAuthorId, result.getResults().get(2).getMessage());
+        assertEquals(BookBatchItemResultDto.FAILED, result.getResults().get(3).getStatus());
+    }
+
+    @Test
+    void testCreateBooks_FailedChunkDoesNotAffectOthers() {
+        when(authorRepository.findAllById(Set.of(authorId))).thenReturn(List.of(author));
+        when(bookRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        BookBatchResponseDto result = bookBatchService.createBooks(List.of(book("A"), book("B"), book("C")));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals("Chunk rolled back: value too long", result.getResults().get(0).getMessage());
+        assertEquals(BookBatchItemResultDto.CREATED, result.getResults().get(2).getStatus());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void testCreateBooks_TooManyItems() {
+        List<BookCreateRequestDto> books = Collections.nCopies(11, book("A"));
+
+        assertThrows(InvalidRequestException.class, () -> bookBatchService.createBooks(books));
+        verifyNoInteractions(authorRepository, bookRepository);
+    }
+
+    @Test
+    void testDeleteBooks_OneDeletePerChunk() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(bookRepository.findOwnersByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> !id.equals(missing)).map(id -> new BookOwnerRowDto(id, authorId)).toList();
+        });
+
+        BookBatchDeleteResponseDto result = bookBatchService.deleteBooks(
+                List.of(first.toString(), "not-a-uuid", second.toString(), missing.toString(), first.toString()));
+
+        assertEquals(2, result.getDeleted());
+        assertEquals(3, result.getFailed());
+        assertEquals(BookBatchItemResultDto.DELETED, result.getResults().get(0).getStatus());
+        assertEquals("Invalid book ID: not-a-uuid", result.getResults().get(1).getMessage());
+        assertEquals("Book not found with ID: " + missing, result.getResults().get(3).getMessage());
+        assertEquals("Duplicate book ID: " + first, result.getResults().get(4).getMessage());
+        verify(bookRepository, times(1)).deleteRowsByIdIn(List.of(first, second));
+        verify(bookRepository, times(2)).findOwnersByIdIn(anyCollection());
+        verify(bookRepository, times(1)).deleteRowsByIdIn(any());
+        verify(eventPublisher, times(2)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && bookEvent.getType() == ChangeType.DELETED && authorId.equals(bookEvent.getAuthorId())));
+    }
+
+    @Test
+    void testDeleteBooks_TooManyItems() {
+        List<String> ids = Collections.nCopies(11, UUID.randomUUID().toString());
+
+        assertThrows(InvalidRequestException.class, () -> bookBatchService.deleteBooks(ids));
+        verifyNoInteractions(bookRepository);
+    }
+
+    private BookCreateRequestDto book(String title) {
+        return new BookCreateRequestDto(title, "Description", 100, authorId.toString());
+    }
+
+    private static List<Book> assignIds(List<Book> books) {
+        books.forEach(book -> book.setId(UUID.randomUUID()));
+        return books;
+    }
+}
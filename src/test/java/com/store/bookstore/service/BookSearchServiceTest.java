@@ -0,0 +1,101 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.configuration.BookSearchProperties;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.catalog.response.CatalogExportRowDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.search.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookSearchIndex bookSearchIndex;
+
+    private BookSearchService bookSearchService;
+
+    private Book first;
+    private Book second;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex();
+        bookSearchService = new BookSearchService(bookSearchIndex, bookRepository, new BookMapper(),
+                new TransactionTemplate(transactionManager), new BookSearchProperties());
+
+        first = new Book(UUID.randomUUID(), "Spice Road", "Spice trade across the desert.", 300, null, null, null);
+        second = new Book(UUID.randomUUID(), "Desert Nights", "Stories.", 200, null, null, null);
+        bookSearchIndex.index(first.getId(), first.getTitle(), first.getDescription());
+        bookSearchIndex.index(second.getId(), second.getTitle(), second.getDescription());
+    }
+
+    @Test
+    void testSearchBooks_PagesInRankOrder() {
+        when(bookRepository.findAllById(List.of(second.getId()))).thenReturn(List.of(second));
+        when(bookRepository.findAllById(List.of(first.getId()))).thenReturn(List.of(first));
+
+        PageResponseDto<BookResponseDto> page = bookSearchService.searchBooks("desert", null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Desert Nights", page.getItems().get(0).getTitle());
+        assertNotNull(page.getNextCursor());
+
+        PageResponseDto<BookResponseDto> next = bookSearchService.searchBooks("desert", page.getNextCursor(), 1);
+
+        assertEquals("Spice Road", next.getItems().get(0).getTitle());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testSearchBooks_SkipsBooksDeletedMeanwhile() {
+        when(bookRepository.findAllById(anyIterable())).thenReturn(List.of(first));
+
+        PageResponseDto<BookResponseDto> page = bookSearchService.searchBooks("desert", null, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Spice Road", page.getItems().get(0).getTitle());
+    }
+
+    @Test
+    void testSearchBooks_InvalidRequest() {
+        assertThrows(InvalidRequestException.class, () -> bookSearchService.searchBooks(" ", null, null));
+        assertThrows(InvalidRequestException.class, () -> bookSearchService.searchBooks("desert", "not-a-cursor", null));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void testBuildIndex() {
+        UUID bookId = UUID.randomUUID();
+        when(bookRepository.streamExportRows()).thenReturn(Stream.of(
+                new CatalogExportRowDto(bookId, "Tundra", "Snow everywhere.", 100, UUID.randomUUID(), "John", "Doe")));
+
+        bookSearchService.buildIndex();
+
+        assertEquals(List.of(bookId), bookSearchIndex.search("snow", 0, 10));
+        verify(transactionManager, times(1)).commit(any());
+    }
+}
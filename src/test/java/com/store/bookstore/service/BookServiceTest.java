@@ -1,22 +1,36 @@
 package com.store.bookstore.service;
 
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.CatalogCacheProperties;
 import com.store.bookstore.dto.author.response.AuthorResponseDto;
 import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.request.BookUpdateRequestDto;
 import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookPatchRowDto;
 import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.event.BookChangedEvent;
+import com.store.bookstore.event.ChangeType;
 import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.exception.PreconditionFailedException;
+import com.store.bookstore.mapper.BookMapper;
 import com.store.bookstore.model.Author;
 import com.store.bookstore.model.Book;
 import com.store.bookstore.repository.AuthorRepository;
 import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.repository.SparseFieldsetRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -33,7 +47,16 @@ class BookServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
-    private ModelMapper modelMapper = new ModelMapper();
+    @Mock
+    private SparseFieldsetRepository sparseFieldsetRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookMapper bookMapper = new BookMapper();
 
     private BookService bookService;
 
@@ -47,14 +70,14 @@ class BookServiceTest {
 
     @BeforeEach
     void setUp() {
-        bookService = new BookService(authorRepository, modelMapper, bookRepository);
+        bookService = new BookService(authorRepository, bookMapper, bookRepository, sparseFieldsetRepository, new CatalogCache(new CatalogCacheProperties(), new TransactionTemplate(transactionManager)), eventPublisher);
 
         authorId = UUID.randomUUID();
-        author = new Author(authorId, "John", "Doe", Collections.emptyList());
+        author = new Author(authorId, "John", "Doe", Collections.emptyList(), null, null);
 
         bookId = UUID.randomUUID();
-        bookWithoutAuthor = new Book(bookId, "Sample Title", "Sample Description", 300, null);
-        bookWithAuthor = new Book(bookId, "Sample Title", "Sample Description", 300, author);
+        bookWithoutAuthor = new Book(bookId, "Sample Title", "Sample Description", 300, null, null, null);
+        bookWithAuthor = new Book(bookId, "Sample Title", "Sample Description", 300, author, null, null);
 
         bookCreateRequestDto = new BookCreateRequestDto("Sample Title", "Sample Description", 300, authorId.toString());
     }
@@ -63,94 +86,138 @@ class BookServiceTest {
     void testGetBookWithoutAuthors_Success() {
         BookResponseDto bookResponseDto = new BookResponseDto(bookId.toString(), "Sample Title", "Sample Description", 300);
 
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(bookWithoutAuthor));
+        when(bookRepository.findResponseById(bookId)).thenReturn(Optional.of(bookMapper.toResponseDto(bookWithoutAuthor)));
 
         BookResponseDto result = bookService.getBookWithoutAuthors(bookId.toString());
 
-        verify(bookRepository, times(1)).findById(bookId);
+        verify(bookRepository, times(1)).findResponseById(bookId);
         assertEquals(bookResponseDto, result);
     }
 
+    @Test
+    void testGetBookWithoutAuthors_Cached() {
+        when(bookRepository.findResponseById(bookId)).thenReturn(Optional.of(bookMapper.toResponseDto(bookWithoutAuthor)));
+
+        BookResponseDto first = bookService.getBookWithoutAuthors(bookId.toString());
+        BookResponseDto second = bookService.getBookWithoutAuthors(bookId.toString());
+
+        verify(bookRepository, times(1)).findResponseById(bookId);
+        assertSame(first, second);
+    }
+
     @Test
     void testGetBookWithoutAuthors_NotFound() {
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.findResponseById(bookId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> {
             bookService.getBookWithoutAuthors(bookId.toString());
         });
 
         assertEquals("Book not found with ID: " + bookId, exception.getMessage());
-        verify(bookRepository, times(1)).findById(bookId);
+        verify(bookRepository, times(1)).findResponseById(bookId);
     }
 
     @Test
     void testGetBookWithAuthors_Success() {
         BookFullResponseDto bookFullResponseDto = new BookFullResponseDto(bookId.toString(), "Sample Title", "Sample Description", 300, new AuthorResponseDto(authorId.toString(), "John", "Doe"));
 
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(bookWithAuthor));
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.of(bookWithAuthor));
 
         BookFullResponseDto result = bookService.getBookWithAuthors(bookId.toString());
 
-        verify(bookRepository, times(1)).findById(bookId);
+        verify(bookRepository, times(1)).findWithAuthorById(bookId);
         assertEquals(bookFullResponseDto, result);
     }
 
     @Test
     void testGetBookWithAuthors_NotFound() {
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> {
             bookService.getBookWithAuthors(bookId.toString());
         });
 
         assertEquals("Book not found with ID: " + bookId, exception.getMessage());
-        verify(bookRepository, times(1)).findById(bookId);
+        verify(bookRepository, times(1)).findWithAuthorById(bookId);
     }
 
     @Test
     void testGetBooksWithoutAuthors() {
-        List<Book> books = Arrays.asList(bookWithoutAuthor, new Book(UUID.randomUUID(), "Another Title", "Description", 200, null));
-        List<BookResponseDto> bookResponseDtos = books.stream().map(book -> modelMapper.map(book, BookResponseDto.class)).toList();
+        List<BookResponseDto> bookResponseDtos = Arrays.asList(bookMapper.toResponseDto(bookWithoutAuthor),
+                new BookResponseDto(UUID.randomUUID().toString(), "Another Title", "Description", 200));
+
+        when(bookRepository.findResponsesByOrderByIdAsc(Limit.of(KeysetPagination.DEFAULT_LIMIT + 1))).thenReturn(bookResponseDtos);
+
+        PageResponseDto<BookResponseDto> result = bookService.getBooksWithoutAuthors(null, null);
+
+        verify(bookRepository, times(1)).findResponsesByOrderByIdAsc(Limit.of(KeysetPagination.DEFAULT_LIMIT + 1));
+        assertEquals(bookResponseDtos.size(), result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetBooksWithoutAuthors_NextPage() {
+        BookResponseDto secondBook = new BookResponseDto(UUID.randomUUID().toString(), "Another Title", "Description", 200);
+        BookResponseDto thirdBook = new BookResponseDto(UUID.randomUUID().toString(), "Third Title", "Description", 100);
+
+        when(bookRepository.findResponsesByOrderByIdAsc(Limit.of(3))).thenReturn(Arrays.asList(bookMapper.toResponseDto(bookWithoutAuthor), secondBook, thirdBook));
+        when(bookRepository.findResponsesByIdGreaterThanOrderByIdAsc(UUID.fromString(secondBook.getId()), Limit.of(3))).thenReturn(List.of(thirdBook));
 
-        when(bookRepository.findAll()).thenReturn(books);
+        PageResponseDto<BookResponseDto> firstPage = bookService.getBooksWithoutAuthors(null, 2);
+        PageResponseDto<BookResponseDto> secondPage = bookService.getBooksWithoutAuthors(firstPage.getNextCursor(), 2);
 
-        List<BookResponseDto> result = bookService.getBooksWithoutAuthors();
+        assertEquals(2, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(thirdBook.getId(), secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
 
-        verify(bookRepository, times(1)).findAll();
-        assertEquals(bookResponseDtos.size(), result.size());
+    @Test
+    void testGetBooksWithoutAuthors_InvalidCursor() {
+        assertThrows(InvalidRequestException.class, () -> bookService.getBooksWithoutAuthors("not-a-cursor", null));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void testGetBooksWithoutAuthors_InvalidLimit() {
+        assertThrows(InvalidRequestException.class, () -> bookService.getBooksWithoutAuthors(null, KeysetPagination.MAX_LIMIT + 1));
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
     void testGetBooksWithoutAuthors_EmptyList() {
-        when(bookRepository.findAll()).thenReturn(Collections.emptyList());
+        when(bookRepository.findResponsesByOrderByIdAsc(any(Limit.class))).thenReturn(Collections.emptyList());
 
-        List<BookResponseDto> result = bookService.getBooksWithoutAuthors();
+        PageResponseDto<BookResponseDto> result = bookService.getBooksWithoutAuthors(null, null);
 
-        verify(bookRepository, times(1)).findAll();
-        assertNull(result);
+        verify(bookRepository, times(1)).findResponsesByOrderByIdAsc(any(Limit.class));
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
     void testGetBooksWithAuthors() {
-        List<Book> books = Arrays.asList(bookWithAuthor, new Book(UUID.randomUUID(), "Another Title", "Description", 200, author));
-        List<BookFullResponseDto> bookFullResponseDtos = books.stream().map(book -> modelMapper.map(book, BookFullResponseDto.class)).toList();
+        List<Book> books = Arrays.asList(bookWithAuthor, new Book(UUID.randomUUID(), "Another Title", "Description", 200, author, null, null));
+        List<BookFullResponseDto> bookFullResponseDtos = books.stream().map(book -> bookMapper.toFullResponseDto(book)).toList();
 
-        when(bookRepository.findAll()).thenReturn(books);
+        when(bookRepository.findWithAuthorAllByOrderByIdAsc(any(Limit.class))).thenReturn(books);
 
-        List<BookFullResponseDto> result = bookService.getBooksWithAuthors();
+        PageResponseDto<BookFullResponseDto> result = bookService.getBooksWithAuthors(null, null);
 
-        verify(bookRepository, times(1)).findAll();
-        assertEquals(bookFullResponseDtos.size(), result.size());
+        verify(bookRepository, times(1)).findWithAuthorAllByOrderByIdAsc(any(Limit.class));
+        assertEquals(bookFullResponseDtos.size(), result.getItems().size());
     }
 
     @Test
     void testGetBooksWithAuthors_EmptyList() {
-        when(bookRepository.findAll()).thenReturn(Collections.emptyList());
+        when(bookRepository.findWithAuthorAllByOrderByIdAsc(any(Limit.class))).thenReturn(Collections.emptyList());
 
-        List<BookFullResponseDto> result = bookService.getBooksWithAuthors();
+        PageResponseDto<BookFullResponseDto> result = bookService.getBooksWithAuthors(null, null);
 
-        verify(bookRepository, times(1)).findAll();
-        assertNull(result);
+        verify(bookRepository, times(1)).findWithAuthorAllByOrderByIdAsc(any(Limit.class));
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
@@ -165,6 +232,8 @@ class BookServiceTest {
                         book.getPageCount() == 300 &&
                         book.getAuthor().equals(author)
         ));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && bookEvent.getType() == ChangeType.CREATED && bookEvent.getAuthorId().equals(authorId)));
     }
 
     @Test
@@ -209,23 +278,77 @@ class BookServiceTest {
         verify(bookRepository, times(0)).save(any());
     }
 
+    @Test
+    void testPatchBook_SingleStatement() {
+        when(bookRepository.patch(eq(bookId), eq("Updated Title"), eq("Updated Description"), isNull(), eq(3L), any()))
+                .thenReturn(Optional.of(new BookPatchRowDto(authorId, "Updated Title", "Updated Description")));
+
+        bookService.patchBook(bookId.toString(), new BookUpdateRequestDto(null, "Updated Title", "Updated Description", null), 3L);
+
+        verify(bookRepository, never()).findById(any());
+        verify(bookRepository, never()).findResponseById(any());
+        verify(bookRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && bookEvent.getType() == ChangeType.UPDATED
+                        && "Updated Title".equals(bookEvent.getTitle()) && "Updated Description".equals(bookEvent.getDescription())));
+    }
+
+    @Test
+    void testPatchBook_PartialTextPatchUsesReturnedRow() {
+        when(bookRepository.patch(eq(bookId), eq("Updated Title"), isNull(), isNull(), isNull(), any()))
+                .thenReturn(Optional.of(new BookPatchRowDto(authorId, "Updated Title", "Kept Description")));
+
+        bookService.patchBook(bookId.toString(), new BookUpdateRequestDto(null, "Updated Title", null, null), null);
+
+        verify(bookRepository, never()).findResponseById(any());
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && authorId.equals(bookEvent.getAuthorId())
+                        && "Kept Description".equals(bookEvent.getDescription())));
+    }
+
+    @Test
+    void testPatchBook_VersionChanged() {
+        when(bookRepository.patch(eq(bookId), any(), any(), any(), eq(3L), any())).thenReturn(Optional.empty());
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> bookService.patchBook(bookId.toString(), new BookUpdateRequestDto(null, null, null, 120), 3L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testPatchBook_NotFound() {
+        when(bookRepository.patch(eq(bookId), any(), any(), any(), isNull(), any())).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> bookService.patchBook(bookId.toString(), new BookUpdateRequestDto(null, null, null, 120), null));
+
+        assertEquals("Book not found with ID: " + bookId, exception.getMessage());
+        verify(bookRepository, never()).existsById(any());
+    }
+
     @Test
     void testDeleteBook_Success() {
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(bookWithAuthor));
+        when(bookRepository.findAuthorIdById(bookId)).thenReturn(Optional.of(authorId));
+        when(bookRepository.deleteRowById(bookId, authorId)).thenReturn(1);
 
         bookService.deleteBook(bookId.toString());
 
-        verify(bookRepository, times(1)).deleteById(bookId);
+        verify(bookRepository, never()).findById(any());
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof BookChangedEvent bookEvent && bookEvent.getType() == ChangeType.DELETED && authorId.equals(bookEvent.getAuthorId())));
     }
 
     @Test
     void testDeleteBook_NotFound() {
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.findAuthorIdById(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.deleteRowById(bookId, null)).thenReturn(0);
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> {
             bookService.deleteBook(bookId.toString());
         });
 
         assertEquals("Book not found with ID: " + bookId, exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
\ No newline at end of file
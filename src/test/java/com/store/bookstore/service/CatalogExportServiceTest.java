@@ -0,0 +1,165 @@
+package com.store.bookstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.bookstore.configuration.CatalogExportProperties;
+import com.store.bookstore.dto.catalog.response.CatalogExportJobResponseDto;
+import com.store.bookstore.dto.catalog.response.CatalogExportRowDto;
+import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private CatalogExportService catalogExportService;
+
+    private CatalogExportRowDto first;
+    private CatalogExportRowDto second;
+
+    private CatalogExportProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogExportProperties();
+        properties.setDirectory(directory.resolve("exports"));
+
+        catalogExportService = new CatalogExportService(bookRepository, new TransactionTemplate(transactionManager),
+                new ObjectMapper(), properties);
+        catalogExportService.start();
+
+        UUID authorId = UUID.randomUUID();
+        first = new CatalogExportRowDto(UUID.randomUUID(), "First", "Description", 100, authorId, "John", "Doe");
+        second = new CatalogExportRowDto(UUID.randomUUID(), "Second", null, null, authorId, "John", "Doe");
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogExportService.stop();
+    }
+
+    @Test
+    void testStartExport_Ndjson() throws Exception {
+        when(bookRepository.count()).thenReturn(2L);
+        when(bookRepository.streamExportRows()).thenReturn(Stream.of(first, second));
+
+        CatalogExportJobResponseDto job = awaitFinished(catalogExportService.startExport("ndjson").getId());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2L, job.getRowsWritten());
+        assertEquals(1.0, job.getProgress());
+        assertTrue(job.getBytesWritten() > 0);
+        assertEquals("catalog-" + job.getId() + ".ndjson.gz", job.getFile());
+        assertEquals("/catalog/export/" + job.getId() + "/file", job.getDownloadUrl());
+        String[] lines = read(catalogExportService.getExportFile(job.getId())).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"bookId\":\"" + first.getBookId() + "\",\"title\":\"First\""));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testStartExport_Csv() throws Exception {
+        when(bookRepository.count()).thenReturn(2L);
+        when(bookRepository.streamExportRows()).thenReturn(Stream.of(first, second));
+
+        CatalogExportJobResponseDto job = awaitFinished(catalogExportService.startExport("csv").getId());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertTrue(job.getFile().endsWith(".csv.gz"));
+        String[] lines = read(catalogExportService.getExportFile(job.getId())).split("\n");
+        assertEquals("bookId,title,description,pageCount,authorId,name,surname", lines[0]);
+        assertEquals(second.getBookId() + ",Second,,," + second.getAuthorId() + ",John,Doe", lines[2]);
+    }
+
+    @Test
+    void testStartExport_FailureRemovesPartialFile() throws Exception {
+        when(bookRepository.count()).thenReturn(2L);
+        when(bookRepository.streamExportRows()).thenThrow(new DataAccessResourceFailureException("Connection lost"));
+
+        CatalogExportJobResponseDto job = awaitFinished(catalogExportService.startExport("ndjson").getId());
+
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("Connection lost", job.getError());
+        assertNull(job.getBytesWritten());
+        assertNull(job.getDownloadUrl());
+        assertThrows(EntityNotFoundException.class, () -> catalogExportService.getExportFile(job.getId()));
+        try (Stream<Path> files = Files.list(directory.resolve("exports"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testStartExport_DropsOldestJobWithItsFile() throws Exception {
+        properties.setRetainedJobs(1);
+        when(bookRepository.count()).thenReturn(2L);
+        when(bookRepository.streamExportRows()).thenAnswer(invocation -> Stream.of(first, second));
+
+        String oldest = awaitFinished(catalogExportService.startExport("ndjson").getId()).getId();
+        Path oldestFile = catalogExportService.getExportFile(oldest);
+        awaitFinished(catalogExportService.startExport("ndjson").getId());
+        String newest = awaitFinished(catalogExportService.startExport("ndjson").getId()).getId();
+
+        assertThrows(EntityNotFoundException.class, () -> catalogExportService.getExport(oldest));
+        assertFalse(Files.exists(oldestFile));
+        assertTrue(Files.exists(catalogExportService.getExportFile(newest)));
+    }
+
+    @Test
+    void testStartExport_UnsupportedFormat() {
+        assertThrows(InvalidRequestException.class, () -> catalogExportService.startExport("xml"));
+    }
+
+    @Test
+    void testGetExport_NotFound() {
+        String id = UUID.randomUUID().toString();
+
+        assertThrows(EntityNotFoundException.class, () -> catalogExportService.getExport(id));
+    }
+
+    private CatalogExportJobResponseDto awaitFinished(String id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            CatalogExportJobResponseDto job = catalogExportService.getExport(id);
+            if ("COMPLETED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Export did not finish");
+    }
+
+    private static String read(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.store.bookstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.bookstore.configuration.CatalogImportProperties;
+import com.store.bookstore.dto.catalog.response.CatalogImportResponseDto;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CatalogImportService catalogImportService;
+
+    @BeforeEach
+    void setUp() {
+        CatalogImportProperties properties = new CatalogImportProperties();
+        properties.setChunkSize(2);
+
+        catalogImportService = new CatalogImportService(authorRepository, bookRepository,
+                new TransactionTemplate(transactionManager), eventPublisher, new ObjectMapper(), properties);
+    }
+
+    @Test
+    void testImportNdjson_DeduplicatesAuthorsAcrossChunks() {
+        Author existing = new Author(UUID.randomUUID(), "Jane", "Austen", null, null, null);
+        when(authorRepository.findByNameKeyIn(Set.of("John", "Jane"), Set.of("John\u001fDoe", "Jane\u001fAusten"))).thenReturn(List.of(existing));
+        when(authorRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        when(authorRepository.getReferenceById(any(UUID.class))).thenAnswer(invocation -> new Author(invocation.getArgument(0), null, null, null, null, null));
+
+        CatalogImportResponseDto result = catalogImportService.importNdjson(body("""
+                {"name":"John","surname":"Doe","title":"First","description":"D","pageCount":100}
+                {"name":"Jane","surname":"Austen","title":"Emma","pageCount":474}
+                {"name":"John","surname":"Doe","title":"Second","pageCount":200}
+                {"name":"Jane","surname":"Austen"}
+                """));
+
+        assertEquals(4, result.getRowsRead());
+        assertEquals(0, result.getRowsFailed());
+        assertEquals(1, result.getAuthorsCreated());
+        assertEquals(3, result.getBooksCreated());
+        verify(authorRepository, times(1)).findByNameKeyIn(anyCollection(), anyCollection());
+        verify(authorRepository, times(2)).getReferenceById(any(UUID.class));
+        verify(bookRepository, times(2)).saveAll(anyList());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCsv_SkipsInvalidRows() {
+        when(authorRepository.findByNameKeyIn(anyCollection(), anyCollection())).thenReturn(Collections.emptyList());
+        when(authorRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        CatalogImportResponseDto result = catalogImportService.importCsv(body("""
+                name,surname,title,description,pageCount
+                John,Doe,First,,
+                John,,Missing surname,,100
+                John,Doe,Bad page count,,abc
+                Jane,Austen,Emma,A novel,474
+                """));
+
+        assertEquals(4, result.getRowsRead());
+        assertEquals(2, result.getRowsFailed());
+        assertEquals(2, result.getAuthorsCreated());
+        assertEquals(2, result.getBooksCreated());
+
+        ArgumentCaptor<List<Book>> books = ArgumentCaptor.forClass(List.class);
+        verify(bookRepository).saveAll(books.capture());
+        assertNull(books.getValue().get(0).getDescription());
+        assertNull(books.getValue().get(0).getPageCount());
+        assertEquals(474, books.getValue().get(1).getPageCount());
+    }
+
+    @Test
+    void testImportNdjson_FailedChunkIsReported() {
+        when(authorRepository.findByNameKeyIn(anyCollection(), anyCollection())).thenReturn(Collections.emptyList());
+        when(authorRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        when(bookRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        CatalogImportResponseDto result = catalogImportService.importNdjson(body("""
+                {"name":"John","surname":"Doe","title":"First"}
+                {"name":"John","surname":"Doe","title":"Second"}
+                {"name":"John","surname":"Doe","title":"Third"}
+                """));
+
+        assertEquals(2, result.getRowsFailed());
+        assertEquals(1, result.getAuthorsCreated());
+        assertEquals(1, result.getBooksCreated());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(authorRepository, times(2)).findByNameKeyIn(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void testImportNdjson_Malformed() {
+        when(authorRepository.findByNameKeyIn(anyCollection(), anyCollection())).thenReturn(Collections.emptyList());
+        when(authorRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        InputStream body = body("""
+                {"name":"John","surname":"Doe","title":"First"}
+                {"name":"John",
+                """);
+
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> catalogImportService.importNdjson(body));
+        assertTrue(exception.getMessage().startsWith("Malformed import after row 1, 1 books were imported before it"));
+        verify(bookRepository, times(1)).saveAll(anyList());
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Author> assignIds(List<Author> authors) {
+        authors.forEach(author -> author.setId(UUID.randomUUID()));
+        return authors;
+    }
+}
@@ -0,0 +1,115 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.configuration.QueryBudgetProperties;
+import com.store.bookstore.configuration.QueryTrackingConfig;
+import com.store.bookstore.dto.author.request.AuthorUpdateRequestDto;
+import com.store.bookstore.dto.book.request.BookUpdateRequestDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.query.QueryBudget;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query budgets of the service calls behind the read endpoints, counted through the proxied data source.
+ */
+@DataJpaTest
+@Import({QueryTrackingConfig.class, QueryBudgetProperties.class, AuthorMapper.class, BookMapper.class, CatalogCache.class,
+        CatalogCacheProperties.class, AuthorNameFilter.class, AuthorNameFilterProperties.class, AuthorService.class, BookService.class,
+        SparseFieldsetRepository.class})
+class QueryBudgetTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    private String authorId;
+    private String bookId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 30; i++) {
+            Author author = entityManager.persist(Author.builder().name("Name" + i).surname("Surname" + i).build());
+            for (int j = 0; j < 4; j++) {
+                Book book = entityManager.persist(Book.builder().title("Title" + i + "-" + j).description("Description").pageCount(100 + j).author(author).build());
+                bookId = book.getId().toString();
+            }
+            authorId = author.getId().toString();
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @QueryBudget(2)
+    void testGetAuthorsWithBooks() {
+        assertEquals(20, authorService.getAuthorsWithBooks(null, 20).getItems().size());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void testGetBooksWithAuthors() {
+        assertEquals(100, bookService.getBooksWithAuthors(null, 100).getItems().size());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void testGetAuthorsWithoutBooks() {
+        assertEquals(20, authorService.getAuthorsWithoutBooks(null, 20).getItems().size());
+    }
+
+    @Test
+    @QueryBudget(2)
+    void testGetAuthorWithBooks_CachedAfterFirstCall() {
+        assertEquals(4, authorService.getAuthorWithBooks(authorId).getBooks().size());
+        assertEquals(4, authorService.getAuthorWithBooks(authorId).getBooks().size());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void testPatchBook() {
+        bookService.patchBook(bookId, new BookUpdateRequestDto(null, "Title", "Description", 120), 0L);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void testPatchBook_PartialText() {
+        bookService.patchBook(bookId, new BookUpdateRequestDto(null, "Title", null, null), null);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void testPatchAuthor_PartialName() {
+        authorService.patchAuthor(authorId, new AuthorUpdateRequestDto(null, "Surname"), null);
+    }
+
+    @Test
+    @QueryBudget(3)
+    void testDeleteAuthor() {
+        authorService.deleteAuthor(authorId);
+    }
+
+    @Test
+    @QueryBudget(2)
+    void testDeleteBook() {
+        bookService.deleteBook(bookId);
+    }
+}
@@ -0,0 +1,150 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.repository.ReactiveAuthorRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against an in-memory H2 database over R2DBC with the same tables Hibernate creates.
+ */
+class ReactiveAuthorServiceTest {
+
+    private DatabaseClient databaseClient;
+
+    private ReactiveAuthorService authorService;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///reactive-authors;DB_CLOSE_DELAY=-1"));
+        authorService = new ReactiveAuthorService(new ReactiveAuthorRepository(databaseClient));
+
+        Flux.concat(
+                databaseClient.sql("drop table if exists book").then(),
+                databaseClient.sql("drop table if exists author").then(),
+                databaseClient.sql("create table author (id uuid primary key, name varchar(255), surname varchar(255))").then(),
+                databaseClient.sql("create table book (id uuid primary key, title varchar(255), description varchar(255), "
+                        + "page_count integer, author_id uuid not null references author (id))").then()
+        ).blockLast();
+    }
+
+    @Test
+    void testGetAuthorWithoutBooks_Success() {
+        UUID authorId = insertAuthor(1, "John", "Doe");
+
+        StepVerifier.create(authorService.getAuthorWithoutBooks(authorId.toString()))
+                .expectNext(new AuthorResponseDto(authorId.toString(), "John", "Doe"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetAuthorWithBooks_Success() {
+        UUID authorId = insertAuthor(1, "John", "Doe");
+        UUID bookId = insertBook(authorId, 1, "Sample Title");
+
+        StepVerifier.create(authorService.getAuthorWithBooks(authorId.toString()))
+                .expectNext(new AuthorFullResponseDto(authorId.toString(), "John", "Doe",
+                        List.of(new BookResponseDto(bookId.toString(), "Sample Title", "Description", 100))))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetAuthorWithBooks_NotFound() {
+        UUID missingId = UUID.randomUUID();
+
+        StepVerifier.create(authorService.getAuthorWithBooks(missingId.toString()))
+                .expectErrorMessage("Author not found with ID: " + missingId)
+                .verify();
+    }
+
+    @Test
+    void testGetAuthorsWithBooks_Page() {
+        UUID firstAuthorId = insertAuthor(1, "John", "Doe");
+        UUID secondAuthorId = insertAuthor(2, "Jane", "Roe");
+        insertAuthor(3, "Max", "Moe");
+        insertBook(firstAuthorId, 1, "First");
+        insertBook(firstAuthorId, 2, "Second");
+
+        StepVerifier.create(authorService.getAuthorsWithBooks(null, 2))
+                .assertNext((page) -> {
+                    assertEquals(2, page.getItems().size());
+                    assertEquals(2, page.getItems().get(0).getBooks().size());
+                    assertEquals(Collections.emptyList(), page.getItems().get(1).getBooks());
+                    assertEquals(KeysetPagination.encodeCursor(secondAuthorId), page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetAuthorsWithoutBooks_EmptyList() {
+        StepVerifier.create(authorService.getAuthorsWithoutBooks(null, null))
+                .assertNext((page) -> {
+                    assertTrue(page.getItems().isEmpty());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamAuthorsWithBooks_AcrossBatches() {
+        for (int i = 1; i <= 250; i++) {
+            UUID authorId = insertAuthor(i, "Name" + i, "Surname" + i);
+            insertBook(authorId, i, "Title " + i);
+        }
+
+        StepVerifier.create(authorService.streamAuthorsWithBooks(null))
+                .thenConsumeWhile((author) -> author.getBooks().size() == 1
+                        && author.getBooks().get(0).getTitle().equals("Title " + author.getName().substring(4)))
+                .verifyComplete();
+        StepVerifier.create(authorService.streamAuthorsWithBooks(null).count())
+                .expectNext(250L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamAuthorsWithBooks_SingleConnection() {
+        for (int i = 1; i <= 150; i++) {
+            insertBook(insertAuthor(i, "Name" + i, "Surname" + i), i, "Title " + i);
+        }
+        ConnectionPool pool = (ConnectionPool) ConnectionFactories.get("r2dbc:pool:h2:mem:///reactive-authors?maxSize=1&maxAcquireTime=PT2S");
+        try {
+            ReactiveAuthorService pooledService = new ReactiveAuthorService(new ReactiveAuthorRepository(DatabaseClient.create(pool)));
+
+            StepVerifier.create(pooledService.streamAuthorsWithBooks(null).count())
+                    .expectNext(150L)
+                    .verifyComplete();
+        } finally {
+            pool.dispose();
+        }
+    }
+
+    private UUID insertAuthor(int sequence, String name, String surname) {
+        UUID id = new UUID(0, sequence);
+        databaseClient.sql("insert into author (id, name, surname) values (:id, :name, :surname)")
+                .bind("id", id).bind("name", name).bind("surname", surname)
+                .then().block();
+        return id;
+    }
+
+    private UUID insertBook(UUID authorId, int sequence, String title) {
+        UUID id = new UUID(1, sequence);
+        databaseClient.sql("insert into book (id, title, description, page_count, author_id) values (:id, :title, :description, :pageCount, :authorId)")
+                .bind("id", id).bind("title", title).bind("description", "Description").bind("pageCount", 100).bind("authorId", authorId)
+                .then().block();
+        return id;
+    }
+}
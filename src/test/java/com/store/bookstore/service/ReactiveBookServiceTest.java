@@ -0,0 +1,139 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.exception.InvalidRequestException;
+import com.store.bookstore.repository.ReactiveBookRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against an in-memory H2 database over R2DBC with the same tables Hibernate creates.
+ */
+class ReactiveBookServiceTest {
+
+    private DatabaseClient databaseClient;
+
+    private ReactiveBookService bookService;
+
+    private UUID authorId;
+    private UUID firstBookId;
+    private UUID secondBookId;
+    private UUID thirdBookId;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///reactive-books;DB_CLOSE_DELAY=-1"));
+        bookService = new ReactiveBookService(new ReactiveBookRepository(databaseClient));
+
+        Flux.concat(
+                databaseClient.sql("drop table if exists book").then(),
+                databaseClient.sql("drop table if exists author").then(),
+                databaseClient.sql("create table author (id uuid primary key, name varchar(255), surname varchar(255))").then(),
+                databaseClient.sql("create table book (id uuid primary key, title varchar(255), description varchar(255), "
+                        + "page_count integer, author_id uuid not null references author (id))").then()
+        ).blockLast();
+
+        authorId = UUID.randomUUID();
+        firstBookId = new UUID(0, 1);
+        secondBookId = new UUID(0, 2);
+        thirdBookId = new UUID(0, 3);
+        insertAuthor(authorId, "John", "Doe");
+        insertBook(firstBookId, "First", "Description 1", 100);
+        insertBook(secondBookId, "Second", "Description 2", 200);
+        insertBook(thirdBookId, "Third", null, 300);
+    }
+
+    @Test
+    void testGetBookWithoutAuthors_Success() {
+        StepVerifier.create(bookService.getBookWithoutAuthors(firstBookId.toString()))
+                .expectNext(new BookResponseDto(firstBookId.toString(), "First", "Description 1", 100))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetBookWithoutAuthors_NotFound() {
+        UUID missingId = UUID.randomUUID();
+
+        StepVerifier.create(bookService.getBookWithoutAuthors(missingId.toString()))
+                .expectErrorSatisfies((error) -> {
+                    assertInstanceOf(EntityNotFoundException.class, error);
+                    assertEquals("Book not found with ID: " + missingId, error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void testGetBookWithAuthors_Success() {
+        StepVerifier.create(bookService.getBookWithAuthors(thirdBookId.toString()))
+                .expectNext(new BookFullResponseDto(thirdBookId.toString(), "Third", null, 300,
+                        new AuthorResponseDto(authorId.toString(), "John", "Doe")))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetBooksWithoutAuthors_NextPage() {
+        StepVerifier.create(bookService.getBooksWithoutAuthors(null, 2)
+                        .flatMap((firstPage) -> {
+                            assertEquals(2, firstPage.getItems().size());
+                            assertEquals(KeysetPagination.encodeCursor(secondBookId), firstPage.getNextCursor());
+                            return bookService.getBooksWithoutAuthors(firstPage.getNextCursor(), 2);
+                        }))
+                .assertNext((secondPage) -> {
+                    assertEquals(1, secondPage.getItems().size());
+                    assertEquals(thirdBookId.toString(), secondPage.getItems().get(0).getId());
+                    assertNull(secondPage.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetBooksWithoutAuthors_InvalidCursor() {
+        StepVerifier.create(bookService.getBooksWithoutAuthors("not-a-cursor", null))
+                .expectError(InvalidRequestException.class)
+                .verify();
+    }
+
+    @Test
+    void testGetBooksWithAuthors_EmptyAfterLastBook() {
+        StepVerifier.create(bookService.getBooksWithAuthors(KeysetPagination.encodeCursor(thirdBookId), null))
+                .assertNext((page) -> {
+                    assertTrue(page.getItems().isEmpty());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamBooksWithAuthors_FollowsDemand() {
+        StepVerifier.create(bookService.streamBooksWithAuthors(KeysetPagination.encodeCursor(firstBookId)), 1)
+                .assertNext((book) -> assertEquals(secondBookId.toString(), book.getId()))
+                .thenRequest(1)
+                .assertNext((book) -> assertEquals("John", book.getAuthor().getName()))
+                .verifyComplete();
+    }
+
+    private void insertAuthor(UUID id, String name, String surname) {
+        databaseClient.sql("insert into author (id, name, surname) values (:id, :name, :surname)")
+                .bind("id", id).bind("name", name).bind("surname", surname)
+                .then().block();
+    }
+
+    private void insertBook(UUID id, String title, String description, int pageCount) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into book (id, title, description, page_count, author_id) "
+                        + "values (:id, :title, :description, :pageCount, :authorId)")
+                .bind("id", id).bind("title", title).bind("pageCount", pageCount).bind("authorId", authorId);
+        spec = description == null ? spec.bindNull("description", String.class) : spec.bind("description", description);
+        spec.then().block();
+    }
+}
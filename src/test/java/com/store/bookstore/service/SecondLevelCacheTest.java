@@ -0,0 +1,194 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.configuration.SecondLevelCacheConfig;
+import com.store.bookstore.configuration.SecondLevelCacheProperties;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.request.BookUpdateRequestDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements the second-level cache saves against the embedded database. Every call runs in a transaction and
+ * persistence context of its own, as it would in separate requests, so repeated reads can only be served by the cache.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, SecondLevelCacheProperties.class, AuthorMapper.class, BookMapper.class, CatalogCache.class, CatalogCacheProperties.class,
+        AuthorNameFilter.class, AuthorNameFilterProperties.class, AuthorService.class, BookService.class, SparseFieldsetRepository.class})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    private Statistics statistics;
+
+    private UUID authorId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Author author = authorRepository.save(Author.builder().name("Name").surname("Surname").build());
+        authorId = author.getId();
+        bookRepository.save(Book.builder().title("Title").description("Description").pageCount(100).author(author).build());
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testFindById_RepeatedReadsSkipTheDatabase() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Name", authorRepository.findById(authorId).orElseThrow().getName());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(9, statistics.getDomainDataRegionStatistics("author").getHitCount());
+    }
+
+    @Test
+    void testCreateBook_AuthorLookupIsCached() {
+        for (int i = 0; i < 10; i++) {
+            bookService.createBook(new BookCreateRequestDto("Title " + i, "Description", 100, authorId.toString()));
+        }
+
+        // One author select for the first book, then only the inserts
+        assertEquals(11, statistics.getPrepareStatementCount());
+        assertEquals(10, statistics.getEntityInsertCount());
+        assertEquals(9, statistics.getDomainDataRegionStatistics("author").getHitCount());
+    }
+
+    @Test
+    void testAuthorBooks_CreatedBookEvictsTheCachedCollection() {
+        assertEquals(1, countBooks());
+        assertEquals(1, countBooks());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("author.books").getHitCount());
+
+        bookService.createBook(new BookCreateRequestDto("Second", "Description", 100, authorId.toString()));
+
+        assertEquals(2, countBooks());
+    }
+
+    @Test
+    void testPatchBook_BulkUpdateInvalidatesTheCachedBook() {
+        UUID bookId = bookRepository.findByTitle("Title").getId();
+        assertEquals("Title", bookRepository.findById(bookId).orElseThrow().getTitle());
+
+        bookService.patchBook(bookId.toString(), new BookUpdateRequestDto(null, "Patched", null, null), null);
+
+        assertEquals("Patched", bookRepository.findById(bookId).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testPatchBook_KeepsOtherCachedEntries() {
+        UUID bookId = bookRepository.findByTitle("Title").getId();
+        bookService.createBook(new BookCreateRequestDto("Other", "Description", 100, authorId.toString()));
+        UUID otherId = bookRepository.findByTitle("Other").getId();
+        assertEquals(2, countBooks());
+        bookRepository.findById(bookId).orElseThrow();
+        bookRepository.findById(otherId).orElseThrow();
+
+        bookService.patchBook(bookId.toString(), new BookUpdateRequestDto(null, "Patched", null, null), null);
+
+        Cache cache = entityManagerFactory.getCache();
+        assertFalse(cache.contains(Book.class, bookId));
+        assertTrue(cache.contains(Book.class, otherId));
+        assertTrue(entityManagerFactory.unwrap(SessionFactory.class).getCache().containsCollection(Author.class.getName() + ".books", authorId));
+        // Cached query results over the table are refreshed
+        assertEquals(bookId, bookRepository.findByTitle("Patched").getId());
+        assertNull(bookRepository.findByTitle("Title"));
+    }
+
+    @Test
+    void testDeleteBook_EvictsTheBookAndItsAuthorsCollection() {
+        UUID bookId = bookRepository.findByTitle("Title").getId();
+        Author other = authorRepository.save(Author.builder().name("Other").surname("Author").build());
+        assertEquals(1, countBooks());
+        authorRepository.findById(other.getId()).orElseThrow();
+
+        bookService.deleteBook(bookId.toString());
+
+        assertFalse(entityManagerFactory.getCache().contains(Book.class, bookId));
+        assertTrue(entityManagerFactory.getCache().contains(Author.class, other.getId()));
+        assertEquals(0, countBooks());
+    }
+
+    @Test
+    void testDeleteAuthor_KeepsOtherAuthorsBooksCached() {
+        UUID bookId = bookRepository.findByTitle("Title").getId();
+        Author other = authorRepository.save(Author.builder().name("Other").surname("Author").build());
+        Book otherBook = bookRepository.save(Book.builder().title("Other").description("Description").pageCount(100).author(other).build());
+        transactionTemplate.execute((status) -> authorRepository.findById(other.getId()).orElseThrow().getBooks().size());
+        bookRepository.findById(otherBook.getId()).orElseThrow();
+        bookRepository.findById(bookId).orElseThrow();
+
+        authorService.deleteAuthor(authorId.toString());
+
+        Cache cache = entityManagerFactory.getCache();
+        assertFalse(cache.contains(Book.class, bookId));
+        assertFalse(cache.contains(Author.class, authorId));
+        assertTrue(cache.contains(Book.class, otherBook.getId()));
+        assertTrue(entityManagerFactory.unwrap(SessionFactory.class).getCache().containsCollection(Author.class.getName() + ".books", other.getId()));
+        assertFalse(bookRepository.existsById(bookId));
+    }
+
+    @Test
+    void testFindByName_QueryCacheSkipsTheDatabase() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(authorId, authorRepository.findByName("Name").orElseThrow().getId());
+        }
+
+        // The first lookup runs the query and caches the author, the others are served from both caches
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(9, statistics.getQueryCacheHitCount());
+    }
+
+    private int countBooks() {
+        return transactionTemplate.execute((status) -> authorRepository.findById(authorId).orElseThrow().getBooks().size());
+    }
+}
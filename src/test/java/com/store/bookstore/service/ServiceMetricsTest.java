@@ -0,0 +1,81 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.exception.EntityNotFoundException;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.repository.AuthorRepository;
+import com.store.bookstore.repository.BookRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry registry;
+
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new BookService(authorRepository, new BookMapper(), bookRepository, null,
+                new CatalogCache(new CatalogCacheProperties(), new TransactionTemplate(transactionManager)), eventPublisher));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(registry));
+        bookService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void testServiceMethodsAreTimed() {
+        UUID bookId = UUID.randomUUID();
+        when(bookRepository.findResponseById(bookId)).thenReturn(Optional.of(new BookResponseDto(bookId.toString(), "Title", null, 100)));
+
+        bookService.getBookWithoutAuthors(bookId.toString());
+        bookService.getBookWithoutAuthors(bookId.toString());
+
+        Timer timer = registry.get("bookstore.service").tag("method", "getBookWithoutAuthors").tag("exception", "none").timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void testFailedCallsAreTaggedWithException() {
+        UUID bookId = UUID.randomUUID();
+        when(bookRepository.findResponseById(bookId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> bookService.getBookWithoutAuthors(bookId.toString()));
+
+        Timer timer = registry.get("bookstore.service").tag("method", "getBookWithoutAuthors").tag("exception", "EntityNotFoundException").timer();
+        assertEquals(1, timer.count());
+    }
+}
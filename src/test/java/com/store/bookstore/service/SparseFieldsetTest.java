@@ -0,0 +1,110 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.configuration.QueryBudgetProperties;
+import com.store.bookstore.configuration.QueryTrackingConfig;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.query.QueryBudget;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sparse fieldsets read only the requested columns, through the same number of statements as the full views.
+ */
+@DataJpaTest
+@Import({QueryTrackingConfig.class, QueryBudgetProperties.class, AuthorMapper.class, BookMapper.class, CatalogCache.class,
+        CatalogCacheProperties.class, AuthorNameFilter.class, AuthorNameFilterProperties.class, AuthorService.class, BookService.class, SparseFieldsetRepository.class})
+class SparseFieldsetTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    private String authorId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            Author author = entityManager.persist(Author.builder().name("Name" + i).surname("Surname" + i).build());
+            for (int j = 0; j < 3; j++) {
+                entityManager.persist(Book.builder().title("Title" + i + "-" + j).description("Description").pageCount(100 + j).author(author).build());
+            }
+            authorId = author.getId().toString();
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @QueryBudget(2)
+    void testGetBooksWithoutAuthors_OnlySelectedFields() {
+        PageResponseDto<BookResponseDto> page = bookService.getBooksWithoutAuthors(null, 10, "title");
+
+        assertEquals(10, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        BookResponseDto book = page.getItems().get(0);
+        assertNotNull(book.getId());
+        assertNotNull(book.getTitle());
+        assertNull(book.getDescription());
+        assertNull(book.getPageCount());
+
+        PageResponseDto<BookResponseDto> next = bookService.getBooksWithoutAuthors(page.getNextCursor(), 10, "title");
+        assertEquals(5, next.getItems().size());
+    }
+
+    @Test
+    @QueryBudget(2)
+    void testGetBookWithAuthors_NestedFields() {
+        String bookId = bookService.getBooksWithoutAuthors(null, 1, "title").getItems().get(0).getId();
+
+        BookFullResponseDto book = bookService.getBookWithAuthors(bookId, "pageCount,author.surname");
+
+        assertNull(book.getTitle());
+        assertNotNull(book.getPageCount());
+        assertNotNull(book.getAuthor().getId());
+        assertNull(book.getAuthor().getName());
+        assertNotNull(book.getAuthor().getSurname());
+    }
+
+    @Test
+    @QueryBudget(2)
+    void testGetAuthorWithBooks_NestedFields() {
+        AuthorFullResponseDto author = authorService.getAuthorWithBooks(authorId, "name,books.title");
+
+        assertEquals("Name4", author.getName());
+        assertNull(author.getSurname());
+        assertEquals(3, author.getBooks().size());
+        assertTrue(author.getBooks().stream().allMatch((book) -> book.getTitle() != null && book.getPageCount() == null));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void testGetAuthorsWithBooks_RelationNotSelected() {
+        PageResponseDto<AuthorFullResponseDto> page = authorService.getAuthorsWithBooks(null, 10, "surname");
+
+        assertEquals(5, page.getItems().size());
+        assertTrue(page.getItems().stream().allMatch((author) -> author.getBooks() == null && author.getName() == null));
+    }
+}
@@ -0,0 +1,225 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.dto.author.request.AuthorCreateRequestDto;
+import com.store.bookstore.dto.author.response.AuthorBooksMergeResponseDto;
+import com.store.bookstore.dto.author.response.AuthorFullResponseDto;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.response.BookFullResponseDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.page.PageResponseDto;
+import com.store.bookstore.exception.EntityAlreadyExistsException;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the list endpoints against N+1 selects: the number of SQL statements per page must not depend on the number
+ * of authors or books on it. Author updates must only write the books that actually changed.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({AuthorMapper.class, BookMapper.class, CatalogCache.class, CatalogCacheProperties.class, AuthorNameFilter.class, AuthorNameFilterProperties.class, AuthorService.class, BookService.class,
+        SparseFieldsetRepository.class})
+class StatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorNameFilter authorNameFilter;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetAuthorsWithBooks_SmallCatalog() {
+        seed(3, 2);
+
+        PageResponseDto<AuthorFullResponseDto> page = countStatements(() -> authorService.getAuthorsWithBooks(null, null));
+
+        assertEquals(3, page.getItems().size());
+        page.getItems().forEach((author) -> assertEquals(2, author.getBooks().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetAuthorsWithBooks_LargeCatalog() {
+        seed(40, 5);
+
+        PageResponseDto<AuthorFullResponseDto> page = countStatements(() -> authorService.getAuthorsWithBooks(null, 25));
+
+        assertEquals(25, page.getItems().size());
+        page.getItems().forEach((author) -> assertEquals(5, author.getBooks().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBooksWithAuthors_SmallCatalog() {
+        seed(3, 2);
+
+        PageResponseDto<BookFullResponseDto> page = countStatements(() -> bookService.getBooksWithAuthors(null, null));
+
+        assertEquals(6, page.getItems().size());
+        page.getItems().forEach((book) -> assertNotNull(book.getAuthor().getName()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBooksWithAuthors_LargeCatalog() {
+        seed(40, 5);
+
+        PageResponseDto<BookFullResponseDto> page = countStatements(() -> bookService.getBooksWithAuthors(null, 150));
+
+        assertEquals(150, page.getItems().size());
+        page.getItems().forEach((book) -> assertNotNull(book.getAuthor().getName()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBooksWithoutAuthors_DoesNotLoadAuthors() {
+        seed(40, 5);
+
+        countStatements(() -> bookService.getBooksWithoutAuthors(null, 150));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Author.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void testMergeAuthorBooks_OneChangedTitleWritesOneRow() {
+        Author author = seed(1, 50).get(0);
+        List<BookCreateRequestDto> books = bookRequests(author);
+        books.get(7).setTitle("Changed");
+
+        AuthorBooksMergeResponseDto merge = countStatements(() -> flushed(authorService.mergeAuthorBooks(author.getId().toString(), books)));
+
+        assertEquals(1, merge.getUpdated());
+        assertEquals(49, merge.getUnchanged());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertEquals(1, statistics.getEntityStatistics(Book.class.getName()).getUpdateCount());
+        assertEquals(books.stream().map(BookCreateRequestDto::getId).collect(Collectors.toSet()),
+                merge.getBooks().stream().map(BookResponseDto::getId).collect(Collectors.toSet()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testMergeAuthorBooks_OnlyWritesDifferences() {
+        Author author = seed(1, 50).get(0);
+        List<BookCreateRequestDto> books = bookRequests(author);
+        books.remove(3);
+        books.add(new BookCreateRequestDto("Added", "Description", 10, null));
+
+        AuthorBooksMergeResponseDto merge = countStatements(() -> flushed(authorService.mergeAuthorBooks(author.getId().toString(), books)));
+
+        assertEquals(1, merge.getInserted());
+        assertEquals(1, merge.getDeleted());
+        assertEquals(49, merge.getUnchanged());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        assertEquals(0, statistics.getEntityStatistics(Book.class.getName()).getUpdateCount());
+    }
+
+    @Test
+    void testUpdateAuthor_SameBooksWriteNothing() {
+        Author author = seed(1, 20).get(0);
+        List<BookCreateRequestDto> books = bookRequests(author);
+        books.forEach((book) -> book.setId(null));
+
+        AuthorFullResponseDto updated = countStatements(() -> flushed(authorService.updateAuthor(author.getId().toString(),
+                new AuthorCreateRequestDto(null, author.getName(), author.getSurname(), books))));
+
+        assertEquals(20, updated.getBooks().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityInsertCount() + statistics.getEntityDeleteCount() + statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void testCreateAuthor_NewNameSkipsExistenceQuery() {
+        assertTrue(authorNameFilter.isLoaded());
+        List<BookCreateRequestDto> books = List.of(new BookCreateRequestDto("First", "Description", 10, null),
+                new BookCreateRequestDto("Second", "Description", 20, null));
+
+        AuthorFullResponseDto created = countStatements(() -> authorService.createAuthor(new AuthorCreateRequestDto(null, "New", "Author", books)));
+
+        assertEquals(2, created.getBooks().size());
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(3, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void testCreateAuthor_TakenNameMissedByFilterIsConflict() {
+        // Seeded without events, so the filter has never seen the name and only the unique constraint catches it
+        Author author = seed(1, 0).get(0);
+
+        assertThrows(EntityAlreadyExistsException.class, () -> countStatements(() ->
+                authorService.createAuthor(new AuthorCreateRequestDto(null, author.getName(), author.getSurname(), List.of()))));
+        assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    private List<BookCreateRequestDto> bookRequests(Author author) {
+        List<BookCreateRequestDto> books = new ArrayList<>();
+        for (BookResponseDto book : authorService.getAuthorWithBooks(author.getId().toString()).getBooks()) {
+            books.add(new BookCreateRequestDto(book.getTitle(), book.getDescription(), book.getPageCount(), null, book.getId()));
+        }
+        entityManager.clear();
+        return books;
+    }
+
+    private <T> T flushed(T result) {
+        entityManager.flush();
+        return result;
+    }
+
+    private List<Author> seed(int authors, int booksPerAuthor) {
+        List<Author> seeded = new ArrayList<>();
+        for (int i = 0; i < authors; i++) {
+            Author author = entityManager.persist(Author.builder().name("Name" + i).surname("Surname" + i).build());
+            seeded.add(author);
+            for (int j = 0; j < booksPerAuthor; j++) {
+                entityManager.persist(Book.builder().title("Title" + i + "-" + j).description("Description").pageCount(100 + j).author(author).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return seeded;
+    }
+
+    private <T> T countStatements(java.util.function.Supplier<T> call) {
+        statistics.clear();
+        return call.get();
+    }
+}
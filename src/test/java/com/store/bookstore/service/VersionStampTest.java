@@ -0,0 +1,158 @@
+package com.store.bookstore.service;
+
+import com.store.bookstore.cache.AuthorNameFilter;
+import com.store.bookstore.cache.CatalogCache;
+import com.store.bookstore.configuration.AuthorNameFilterProperties;
+import com.store.bookstore.configuration.CatalogCacheProperties;
+import com.store.bookstore.dto.author.request.AuthorUpdateRequestDto;
+import com.store.bookstore.dto.author.response.AuthorResponseDto;
+import com.store.bookstore.dto.book.request.BookCreateRequestDto;
+import com.store.bookstore.dto.book.response.BookResponseDto;
+import com.store.bookstore.dto.version.VersionStampDto;
+import com.store.bookstore.exception.PreconditionFailedException;
+import com.store.bookstore.mapper.AuthorMapper;
+import com.store.bookstore.mapper.BookMapper;
+import com.store.bookstore.model.Author;
+import com.store.bookstore.model.Book;
+import com.store.bookstore.repository.SparseFieldsetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The version stamps behind conditional GETs, taken from the responses, must change whenever the response would. The
+ * catalog cache is off, since its after-commit eviction never runs inside the test transaction.
+ */
+@DataJpaTest(properties = "bookstore.cache.maximum-size=0")
+@Import({AuthorMapper.class, BookMapper.class, CatalogCache.class, CatalogCacheProperties.class, AuthorNameFilter.class, AuthorNameFilterProperties.class, AuthorService.class, BookService.class,
+        SparseFieldsetRepository.class})
+class VersionStampTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    private String authorId;
+    private String bookId;
+
+    @BeforeEach
+    void setUp() {
+        Author author = entityManager.persist(Author.builder().name("John").surname("Doe").build());
+        Book book = entityManager.persist(Book.builder().title("Title").description("Description").pageCount(100).author(author).build());
+        entityManager.persist(Book.builder().title("Other").description("Description").pageCount(200).author(author).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        authorId = author.getId().toString();
+        bookId = book.getId().toString();
+    }
+
+    @Test
+    void testBookVersion_ChangesOnUpdate() {
+        BookResponseDto before = bookService.getBookWithoutAuthors(bookId);
+
+        bookService.updateBook(bookId, new BookCreateRequestDto("New title", "Description", 100, authorId));
+        entityManager.flush();
+
+        BookResponseDto after = bookService.getBookWithoutAuthors(bookId);
+        assertNotNull(before.getUpdatedAt());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+    }
+
+    @Test
+    void testSparseBookVersion_MatchesFullView() {
+        BookResponseDto sparse = bookService.getBookWithoutAuthors(bookId, "title");
+
+        BookResponseDto full = bookService.getBookWithoutAuthors(bookId);
+        assertEquals(full.getVersion(), sparse.getVersion());
+        assertEquals(full.getUpdatedAt(), sparse.getUpdatedAt());
+    }
+
+    @Test
+    void testFullAuthorVersion_ChangesWithBooks() {
+        VersionStampDto before = fullAuthorStamp();
+
+        bookService.updateBook(bookId, new BookCreateRequestDto("New title", "Description", 100, authorId));
+        entityManager.flush();
+        entityManager.clear();
+        VersionStampDto afterUpdate = fullAuthorStamp();
+
+        bookService.createBook(new BookCreateRequestDto("Third", "Description", 300, authorId));
+        entityManager.flush();
+        entityManager.clear();
+        VersionStampDto afterCreate = fullAuthorStamp();
+
+        assertEquals(3, before.getCount());
+        assertNotEquals(before.toETag(), afterUpdate.toETag());
+        assertEquals(4, afterCreate.getCount());
+        assertNotEquals(afterUpdate.toETag(), afterCreate.toETag());
+    }
+
+    @Test
+    void testFullBookVersion_ChangesWithAuthor() {
+        VersionStampDto before = VersionStampDto.ofRows(List.of(bookService.getBookWithAuthors(bookId)));
+
+        Author author = entityManager.find(Author.class, UUID.fromString(authorId));
+        author.setSurname("Smith");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNotEquals(before.toETag(), VersionStampDto.ofRows(List.of(bookService.getBookWithAuthors(bookId))).toETag());
+    }
+
+    @Test
+    void testPageVersion_ChangesWhenRowsMove() {
+        List<BookResponseDto> firstPage = bookService.getBooksWithoutAuthors(null, 1).getItems();
+        VersionStampDto before = VersionStampDto.ofRows(firstPage);
+
+        bookService.deleteBook(firstPage.get(0).getId());
+        entityManager.flush();
+
+        // The other book, at the same version, takes the deleted one's place on the page
+        VersionStampDto after = VersionStampDto.ofRows(bookService.getBooksWithoutAuthors(null, 1).getItems());
+        assertEquals(before.getCount(), after.getCount());
+        assertNotEquals(before.toETag(), after.toETag());
+    }
+
+    @Test
+    void testPatchAuthor_BumpsAndChecksVersion() {
+        AuthorResponseDto before = authorService.getAuthorWithoutBooks(authorId);
+
+        authorService.patchAuthor(authorId, new AuthorUpdateRequestDto(null, "Smith"), before.getVersion());
+        entityManager.clear();
+
+        AuthorResponseDto after = authorService.getAuthorWithoutBooks(authorId);
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        Author author = entityManager.find(Author.class, UUID.fromString(authorId));
+        assertEquals("John", author.getName());
+        assertEquals("Smith", author.getSurname());
+
+        assertThrows(PreconditionFailedException.class,
+                () -> authorService.patchAuthor(authorId, new AuthorUpdateRequestDto("Jane", null), before.getVersion()));
+    }
+
+    @Test
+    void testEmptyPage_HasNoVersion() {
+        String last = bookService.getBooksWithoutAuthors(null, 2).getItems().get(1).getId();
+
+        assertFalse(VersionStampDto.ofRows(bookService.getBooksWithoutAuthors(KeysetPagination.encodeCursor(UUID.fromString(last)), null)
+                .getItems()).isPresent());
+    }
+
+    private VersionStampDto fullAuthorStamp() {
+        return VersionStampDto.ofRows(List.of(authorService.getAuthorWithBooks(authorId)));
+    }
+}